@@ -0,0 +1,86 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.benchmark;
+
+import com.github.jonathanxd.interoute.backend.InterouteBackendConfigurer;
+import com.github.jonathanxd.interoute.spring.ConfigurationEpoch;
+import com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+
+public class BenchmarkConfigurer implements InterouteBackendConfigurer<SpringRestBackendConfiguration> {
+
+    private static final byte[] HELLO = "Hello world".getBytes(StandardCharsets.UTF_8);
+
+    private static RestTemplate REST_TEMPLATE = BenchmarkConfigurer.createRestTemplate();
+    private static Executor EXECUTOR;
+
+    static void setup(RestTemplate restTemplate) {
+        BenchmarkConfigurer.setup(restTemplate, null);
+    }
+
+    static void setup(RestTemplate restTemplate, Executor executor) {
+        BenchmarkConfigurer.REST_TEMPLATE = restTemplate;
+        BenchmarkConfigurer.EXECUTOR = executor;
+        ConfigurationEpoch.bump();
+    }
+
+    /**
+     * Creates a {@link RestTemplate} which never touches the network: {@code /conflict} responds
+     * with {@link HttpStatus#CONFLICT}, any other path responds with {@code Hello world}.
+     *
+     * @return {@link RestTemplate} which responds with mocked responses.
+     */
+    static RestTemplate createRestTemplate() {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            if (request.getURI().getPath().equals("/conflict")) {
+                return new MockClientHttpResponse(new byte[0], HttpStatus.CONFLICT);
+            } else {
+                return new MockClientHttpResponse(HELLO, HttpStatus.OK);
+            }
+        });
+        return restTemplate;
+    }
+
+    @NotNull
+    @Override
+    public SpringRestBackendConfiguration configure(@NotNull SpringRestBackendConfiguration configuration) {
+        return configuration.toBuilder()
+                .rootInvocationPath(() -> "")
+                .restTemplate(() -> REST_TEMPLATE)
+                .executor(EXECUTOR)
+                .build();
+    }
+}
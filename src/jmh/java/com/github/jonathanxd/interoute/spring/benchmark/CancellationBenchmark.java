@@ -0,0 +1,177 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.benchmark;
+
+import com.github.jonathanxd.interoute.Interoute;
+import com.github.jonathanxd.interoute.exception.RouterCreationException;
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.spring.http.DeadlineClientHttpRequestFactory;
+import com.github.jonathanxd.interoute.spring.http.HttpConnectionPool;
+import com.github.jonathanxd.iutils.object.result.Result;
+import com.github.jonathanxd.kores.bytecode.classloader.CodeClassLoader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Cancellation-heavy load: each operation starts {@link #SLOW_REQUESTS} slow requests, waits for a
+ * fast request and then cancels the slow requests, like a caller whose own client went away. All
+ * requests are sent to a local HTTP server and share an executor of {@link #EXECUTOR_THREADS}
+ * threads.
+ *
+ * <ul>
+ * <li>{@code deadline}: {@link DeadlineClientHttpRequestFactory}, cancelled requests disconnect
+ * and release the executor thread.</li>
+ * <li>{@code pooled}: request factory of {@link HttpConnectionPool}, cancelled requests are aborted
+ * and release the executor thread.</li>
+ * <li>{@code simple}: {@link SimpleClientHttpRequestFactory}, the interrupt of the cancelled route
+ * does not stop the blocking read, so the executor thread is kept until the slow response
+ * arrives.</li>
+ * </ul>
+ *
+ * The difference of throughput is the capacity recovered by aborting cancelled exchanges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class CancellationBenchmark {
+
+    private static final int SLOW_REQUESTS = 3;
+    private static final int EXECUTOR_THREADS = 16;
+
+    @Param({"deadline", "pooled", "simple"})
+    public String factory;
+
+    /**
+     * Latency of fast requests, slow requests take ten times longer.
+     */
+    @Param({"5"})
+    public long latencyMillis;
+
+    private DisposableServer server;
+    private HttpConnectionPool pool;
+    private BenchmarkFetch fetch;
+    private ExecutorService executor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Duration fast = Duration.ofMillis(this.latencyMillis);
+        Duration slow = fast.multipliedBy(10);
+
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> response.sendString(Mono.just("Hello world")
+                        .delayElement(request.uri().endsWith("/slow") ? slow : fast)))
+                .bindNow();
+
+        RestTemplate restTemplate = new RestTemplate(this.createRequestFactory());
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + this.server.port()));
+
+        this.executor = Executors.newFixedThreadPool(EXECUTOR_THREADS);
+        BenchmarkConfigurer.setup(restTemplate, this.executor);
+
+        Result<? extends BenchmarkFetch, RouterCreationException> router =
+                Interoute.createRouter(BenchmarkFetch.class, new CodeClassLoader());
+
+        if (router instanceof Result.Ok<?, ?>) {
+            this.fetch = ((Result.Ok<? extends BenchmarkFetch, RouterCreationException>) router).success();
+        } else {
+            throw new IllegalStateException("Failed to create benchmark router.", router.errorOrNull());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.executor.shutdownNow();
+
+        if (this.pool != null) {
+            this.pool.close();
+        }
+
+        this.server.disposeNow();
+        BenchmarkConfigurer.setup(BenchmarkConfigurer.createRestTemplate());
+    }
+
+    @Benchmark
+    public Result<String, RoutingException> cancelSlowRequests() throws ExecutionException, InterruptedException {
+        CompletableFuture<?>[] slow = new CompletableFuture<?>[SLOW_REQUESTS];
+
+        for (int i = 0; i < SLOW_REQUESTS; i++) {
+            slow[i] = this.fetch.hello("slow").execute();
+        }
+
+        try {
+            return this.fetch.hello("fast").execute().get();
+        } finally {
+            for (CompletableFuture<?> request : slow) {
+                request.cancel(true);
+            }
+        }
+    }
+
+    private ClientHttpRequestFactory createRequestFactory() {
+        switch (this.factory) {
+            case "deadline":
+                return new DeadlineClientHttpRequestFactory();
+            case "pooled":
+                this.pool = HttpConnectionPool.builder().maxConnectionsPerHost(EXECUTOR_THREADS).build();
+                return this.pool.getRequestFactory();
+            case "simple":
+                return new SimpleClientHttpRequestFactory();
+            default:
+                throw new IllegalArgumentException("Unknown request factory: " + this.factory);
+        }
+    }
+}
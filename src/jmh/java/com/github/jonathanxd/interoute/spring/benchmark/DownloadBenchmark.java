@@ -0,0 +1,153 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.benchmark;
+
+import com.github.jonathanxd.interoute.Interoute;
+import com.github.jonathanxd.interoute.exception.RouterCreationException;
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.iutils.object.result.Result;
+import com.github.jonathanxd.kores.bytecode.classloader.CodeClassLoader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Downloads the {@code /export} response of a local HTTP server ({@link #EXPORT_SIZE} bytes, set
+ * {@code -Dinteroute.benchmark.exportSize} for multi-GB bodies) into a {@code byte[]} and into a
+ * file with {@link com.github.jonathanxd.interoute.spring.annotation.Target @Target}. The server
+ * writes the body in chunks of a shared buffer and the client reads it from the connection, so
+ * only the client allocates in proportion to the body size. Compare the {@code
+ * gc.alloc.rate.norm} of both: the file download does not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class DownloadBenchmark {
+
+    /**
+     * Size of the {@code /export} response body, configured by the {@code
+     * interoute.benchmark.exportSize} system property.
+     */
+    static final long EXPORT_SIZE = Long.getLong("interoute.benchmark.exportSize", 128L * 1024 * 1024);
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private DisposableServer server;
+    private BenchmarkFetch fetch;
+    private Path target;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        byte[] bytes = new byte[CHUNK_SIZE];
+        Arrays.fill(bytes, (byte) 'x');
+        ByteBuf chunk = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(bytes));
+
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> response
+                        .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(EXPORT_SIZE))
+                        .send(DownloadBenchmark.export(chunk, EXPORT_SIZE)))
+                .bindNow();
+
+        RestTemplate restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + this.server.port()));
+        BenchmarkConfigurer.setup(restTemplate);
+
+        Result<? extends BenchmarkFetch, RouterCreationException> router =
+                Interoute.createRouter(BenchmarkFetch.class, new CodeClassLoader());
+
+        if (router instanceof Result.Ok<?, ?>) {
+            this.fetch = ((Result.Ok<? extends BenchmarkFetch, RouterCreationException>) router).success();
+        } else {
+            throw new IllegalStateException("Failed to create benchmark router.", router.errorOrNull());
+        }
+
+        this.target = Files.createTempFile("interoute-benchmark", ".download");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.target);
+        this.server.disposeNow();
+        BenchmarkConfigurer.setup(BenchmarkConfigurer.createRestTemplate());
+    }
+
+    @Benchmark
+    public Result<byte[], RoutingException> downloadToHeap() throws ExecutionException, InterruptedException {
+        return this.fetch.export().execute().get();
+    }
+
+    @Benchmark
+    public Result<Path, RoutingException> downloadToFile() throws ExecutionException, InterruptedException {
+        return this.fetch.export(this.target).execute().get();
+    }
+
+    /**
+     * Body of {@code size} bytes written as slices of {@code chunk}, which is never released.
+     */
+    private static Flux<ByteBuf> export(ByteBuf chunk, long size) {
+        return Flux.generate(() -> size, (remaining, sink) -> {
+            if (remaining <= 0) {
+                sink.complete();
+                return remaining;
+            }
+
+            int length = (int) Math.min(chunk.capacity(), remaining);
+            sink.next(chunk.slice(0, length));
+            return remaining - length;
+        });
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.benchmark;
+
+import com.github.jonathanxd.interoute.Interoute;
+import com.github.jonathanxd.interoute.exception.RouterCreationException;
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.executor.RouteExecutors;
+import com.github.jonathanxd.interoute.spring.route.RouteRequestResponse;
+import com.github.jonathanxd.iutils.object.result.Result;
+import com.github.jonathanxd.kores.bytecode.classloader.CodeClassLoader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of a generated router, compared with hand-written {@link RestTemplate}
+ * exchanges. All requests are answered by a {@link org.springframework.mock.http.client.MockClientHttpResponse}
+ * interceptor, so the numbers only contain the cost of routing and of {@link RestTemplate} itself.
+ *
+ * Run with the {@code gc} profiler (enabled in {@code build.gradle}) to get the allocation rate per
+ * call ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RouterCallBenchmark {
+
+    private RestTemplate restTemplate;
+    private BenchmarkFetch fetch;
+    private Executor executor;
+    private HttpEntity<?> entity;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.restTemplate = BenchmarkConfigurer.createRestTemplate();
+        BenchmarkConfigurer.setup(this.restTemplate);
+
+        Result<? extends BenchmarkFetch, RouterCreationException> router =
+                Interoute.createRouter(BenchmarkFetch.class, new CodeClassLoader());
+
+        if (router instanceof Result.Ok<?, ?>) {
+            this.fetch = ((Result.Ok<? extends BenchmarkFetch, RouterCreationException>) router).success();
+        } else {
+            throw new IllegalStateException("Failed to create benchmark router.", router.errorOrNull());
+        }
+
+        this.executor = RouteExecutors.defaultExecutor();
+        this.entity = new HttpEntity<>(new HttpHeaders());
+    }
+
+    /**
+     * Blocking exchange without any routing.
+     */
+    @Benchmark
+    public ResponseEntity<String> handWrittenExchange() {
+        return this.restTemplate.exchange("/hello/{name}", HttpMethod.GET, this.entity, String.class, "test");
+    }
+
+    /**
+     * Same as {@link #handWrittenExchange()}, but in the route executor, as generated routes do.
+     */
+    @Benchmark
+    public String handWrittenAsyncExchange() throws ExecutionException, InterruptedException {
+        return CompletableFuture.supplyAsync(() ->
+                        this.restTemplate.exchange("/hello/{name}", HttpMethod.GET, this.entity, String.class, "test").getBody(),
+                this.executor).get();
+    }
+
+    /**
+     * Only the generated route method, without executing the route.
+     */
+    @Benchmark
+    public Route<String> generatedRouteCreation() {
+        return this.fetch.hello("test");
+    }
+
+    @Benchmark
+    public Result<String, RoutingException> generatedRoute() throws ExecutionException, InterruptedException {
+        return this.fetch.hello("test").execute().get();
+    }
+
+    @Benchmark
+    public Result<RouteRequestResponse<String>, RoutingException> generatedSpringRoute()
+            throws ExecutionException, InterruptedException {
+        return this.fetch.springHello("test").execute().get();
+    }
+
+    /**
+     * Error status path, which goes through {@code SuppliedExecutorSpringRoute.transformException}.
+     */
+    @Benchmark
+    public Result<RouteRequestResponse<String>, RoutingException> generatedSpringRouteError()
+            throws ExecutionException, InterruptedException {
+        return this.fetch.conflict().execute().get();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.benchmark;
+
+import com.github.jonathanxd.interoute.Interoute;
+import com.github.jonathanxd.interoute.exception.RouterCreationException;
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.http.HttpConnectionPool;
+import com.github.jonathanxd.iutils.object.result.Result;
+import com.github.jonathanxd.kores.bytecode.classloader.CodeClassLoader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Calls a route of a local HTTP server through each transport, from concurrent threads:
+ *
+ * <ul>
+ * <li>{@code simple}: {@link RestTemplate} with the default {@link SimpleClientHttpRequestFactory},
+ * the exchange blocks an executor thread.</li>
+ * <li>{@code pooled}: {@link RestTemplate} with the request factory of {@link HttpConnectionPool},
+ * the exchange blocks an executor thread.</li>
+ * <li>{@code webClient}: {@link com.github.jonathanxd.interoute.spring.SpringWebClientBackend},
+ * the route completes in the event loop without blocking a thread.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class TransportBenchmark {
+
+    @Param({"simple", "pooled", "webClient"})
+    public String transport;
+
+    private DisposableServer server;
+    private HttpConnectionPool pool;
+    private Function<String, Route<String>> hello;
+
+    @Setup
+    public void setup() {
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> response.sendString(Mono.just("Hello world")))
+                .bindNow();
+
+        String root = "http://localhost:" + this.server.port();
+
+        switch (this.transport) {
+            case "simple": {
+                RestTemplate restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+                restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(root));
+                BenchmarkConfigurer.setup(restTemplate);
+                this.hello = TransportBenchmark.createRouter(BenchmarkFetch.class)::hello;
+                break;
+            }
+            case "pooled": {
+                this.pool = HttpConnectionPool.builder().maxConnectionsPerHost(32).build();
+                RestTemplate restTemplate = new RestTemplate(this.pool.getRequestFactory());
+                restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(root));
+                BenchmarkConfigurer.setup(restTemplate);
+                this.hello = TransportBenchmark.createRouter(BenchmarkFetch.class)::hello;
+                break;
+            }
+            case "webClient": {
+                BenchmarkWebClientConfigurer.setup(WebClient.create(root));
+                this.hello = TransportBenchmark.createRouter(BenchmarkWebClientFetch.class)::hello;
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown transport: " + this.transport);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (this.pool != null) {
+            this.pool.close();
+        }
+
+        this.server.disposeNow();
+        BenchmarkConfigurer.setup(BenchmarkConfigurer.createRestTemplate());
+    }
+
+    @Benchmark
+    public Result<String, RoutingException> hello() throws ExecutionException, InterruptedException {
+        return this.hello.apply("world").execute().get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T createRouter(Class<T> routerInterface) {
+        Result<? extends T, RouterCreationException> router =
+                Interoute.createRouter(routerInterface, new CodeClassLoader());
+
+        if (router instanceof Result.Ok<?, ?>) {
+            return ((Result.Ok<? extends T, RouterCreationException>) router).success();
+        } else {
+            throw new IllegalStateException("Failed to create benchmark router.", router.errorOrNull());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.benchmark;
+
+import com.github.jonathanxd.interoute.spring.util.TypeReferenceClass;
+import com.github.jonathanxd.kores.bytecode.classloader.CodeClassLoader;
+import com.github.jonathanxd.kores.type.Generic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous generated code, which constructed a new {@link ParameterizedTypeReference}
+ * (and resolved the generic superclass through reflection) on every route invocation, with the
+ * current one, which reads the instance created by {@link TypeReferenceClass} once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TypeReferenceBenchmark {
+
+    private static final ParameterizedTypeReference<List<Map<String, Integer>>> SHARED =
+            new ParameterizedTypeReference<List<Map<String, Integer>>>() {
+            };
+
+    private ParameterizedTypeReference<?> generated;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        Class<?> typeReferenceClass = TypeReferenceClass.createTypeReferenceClass(
+                Generic.type(List.class).of(Generic.type(Map.class).of(String.class, Integer.class)),
+                new CodeClassLoader()
+        );
+
+        this.generated = (ParameterizedTypeReference<?>)
+                typeReferenceClass.getField(TypeReferenceClass.INSTANCE_FIELD).get(null);
+
+        if (!SHARED.getType().equals(this.generated.getType())) {
+            throw new IllegalStateException(String.format("Generated type reference resolves to '%s', expected '%s'.",
+                    this.generated.getType(), SHARED.getType()));
+        }
+    }
+
+    @Benchmark
+    public ParameterizedTypeReference<?> newTypeReferencePerCall() {
+        return new ParameterizedTypeReference<List<Map<String, Integer>>>() {
+        };
+    }
+
+    @Benchmark
+    public ParameterizedTypeReference<?> sharedTypeReference() {
+        return SHARED;
+    }
+
+    @Benchmark
+    public ParameterizedTypeReference<?> generatedSharedTypeReference() {
+        return this.generated;
+    }
+}
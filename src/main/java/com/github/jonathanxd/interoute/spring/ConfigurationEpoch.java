@@ -0,0 +1,100 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Epoch of backend configurations.
+ *
+ * Generated routes resolve the values they need from the backend configuration (such as the {@link
+ * org.springframework.web.client.RestTemplate} and the executor) once, and keep them in a snapshot
+ * which is read on every invocation. Suppliers of the configuration are not invoked again until
+ * the epoch is {@link #bump() bumped}, so any change to the configuration, or to values provided by
+ * its suppliers, must be followed by a call to {@link #bump()}.
+ */
+public final class ConfigurationEpoch {
+
+    private static final AtomicLong EPOCH = new AtomicLong();
+    private static final Set<Listener> LISTENERS = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private ConfigurationEpoch() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the current epoch.
+     *
+     * @return Current epoch.
+     */
+    public static long current() {
+        return EPOCH.get();
+    }
+
+    /**
+     * Starts a new epoch, invalidating all configuration snapshots.
+     *
+     * @return New epoch.
+     */
+    public static long bump() {
+        long epoch = EPOCH.incrementAndGet();
+
+        synchronized (LISTENERS) {
+            for (Listener listener : LISTENERS) {
+                listener.invalidate();
+            }
+        }
+
+        return epoch;
+    }
+
+    /**
+     * Registers a listener to be notified when the epoch is bumped. Listeners are weakly
+     * referenced.
+     *
+     * @param listener Listener to register.
+     */
+    public static void register(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Holder of a configuration snapshot.
+     */
+    public interface Listener {
+
+        /**
+         * Invalidates the configuration snapshot.
+         */
+        void invalidate();
+    }
+}
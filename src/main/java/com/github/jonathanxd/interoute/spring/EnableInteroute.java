@@ -0,0 +1,81 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring;
+
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Registers a bean for every {@link com.github.jonathanxd.interoute.annotation.RouterInterface
+ * router interface} found in the scanned packages.
+ *
+ * All routers are generated concurrently, in a bounded pool, into a single shared class loader.
+ * Routers which already have a bean with the same name (such as routers created through {@link
+ * SpringInterouteConfiguration#createRouter(Class)}) are skipped.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+@Import(InterouteRouterRegistrar.class)
+public @interface EnableInteroute {
+
+    /**
+     * Alias of {@link #basePackages()}.
+     *
+     * @return Packages to scan.
+     */
+    String[] value() default {};
+
+    /**
+     * Packages to scan for router interfaces. If neither this nor {@link #basePackageClasses()} is
+     * specified, the package of the annotated class is scanned.
+     *
+     * @return Packages to scan.
+     */
+    String[] basePackages() default {};
+
+    /**
+     * Classes which packages are scanned for router interfaces.
+     *
+     * @return Classes which packages are scanned.
+     */
+    Class<?>[] basePackageClasses() default {};
+
+    /**
+     * Maximum number of routers generated concurrently, {@code 0} means the number of available
+     * processors.
+     *
+     * @return Maximum number of routers generated concurrently.
+     */
+    int parallelism() default 0;
+}
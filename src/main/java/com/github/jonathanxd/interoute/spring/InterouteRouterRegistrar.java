@@ -0,0 +1,199 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring;
+
+import com.github.jonathanxd.interoute.annotation.RouterInterface;
+import com.github.jonathanxd.kores.bytecode.classloader.CodeClassLoader;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.ResourceLoaderAware;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registrar of {@link EnableInteroute}: scans router interfaces and generates all routers
+ * concurrently into one shared {@link CodeClassLoader}.
+ */
+class InterouteRouterRegistrar implements ImportBeanDefinitionRegistrar, ResourceLoaderAware, EnvironmentAware {
+
+    private ResourceLoader resourceLoader;
+    private Environment environment;
+
+    @Override
+    public void setResourceLoader(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+        AnnotationAttributes attributes = AnnotationAttributes.fromMap(
+                importingClassMetadata.getAnnotationAttributes(EnableInteroute.class.getName()));
+
+        if (attributes == null) {
+            return;
+        }
+
+        Map<String, Class<?>> routerTypes = new LinkedHashMap<>();
+
+        for (String basePackage : this.getBasePackages(importingClassMetadata, attributes)) {
+            for (BeanDefinition candidate : this.createScanner().findCandidateComponents(basePackage)) {
+                Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), this.resourceLoader.getClassLoader());
+                String beanName = StringUtils.uncapitalize(ClassUtils.getShortName(type));
+
+                if (registry.containsBeanDefinition(beanName)) {
+                    continue;
+                }
+
+                Class<?> registered = routerTypes.putIfAbsent(beanName, type);
+
+                if (registered != null && registered != type) {
+                    throw new BeanDefinitionStoreException(String.format(
+                            "Router interfaces '%s' and '%s' have the same bean name '%s', declare one of them as a bean to resolve the conflict.",
+                            registered.getName(), type.getName(), beanName));
+                }
+            }
+        }
+
+        if (routerTypes.isEmpty()) {
+            return;
+        }
+
+        int parallelism = attributes.getNumber("parallelism").intValue();
+        Map<String, Object> routers = InterouteRouterRegistrar.createRouters(routerTypes,
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+
+        routers.forEach((beanName, router) -> {
+            GenericBeanDefinition definition = new GenericBeanDefinition();
+            definition.setBeanClass(routerTypes.get(beanName));
+            definition.setInstanceSupplier(() -> router);
+            registry.registerBeanDefinition(beanName, definition);
+        });
+    }
+
+    private static Map<String, Object> createRouters(Map<String, Class<?>> routerTypes, int parallelism) {
+        CodeClassLoader loader = new CodeClassLoader();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, routerTypes.size()), runnable -> {
+            Thread thread = new Thread(runnable, "interoute-generation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Map<String, Future<?>> futures = new LinkedHashMap<>();
+
+            routerTypes.forEach((beanName, type) ->
+                    futures.put(beanName, executor.submit(() -> SpringInterouteConfiguration.createRouter(type, loader))));
+
+            Map<String, Object> routers = new LinkedHashMap<>();
+            List<Throwable> errors = new ArrayList<>();
+
+            for (Map.Entry<String, Future<?>> future : futures.entrySet()) {
+                try {
+                    routers.put(future.getKey(), future.getValue().get());
+                } catch (ExecutionException e) {
+                    errors.add(e.getCause());
+                }
+            }
+
+            if (!errors.isEmpty()) {
+                BeanCreationException exception = new BeanCreationException("Failed to create routers.", errors.get(0));
+                errors.stream().skip(1).forEach(exception::addSuppressed);
+                throw exception;
+            }
+
+            return routers;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BeanDefinitionStoreException("Interrupted while creating routers.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ClassPathScanningCandidateComponentProvider createScanner() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false, this.environment) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isInterface() && beanDefinition.getMetadata().isIndependent();
+            }
+        };
+
+        scanner.setResourceLoader(this.resourceLoader);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RouterInterface.class));
+        return scanner;
+    }
+
+    private Set<String> getBasePackages(AnnotationMetadata importingClassMetadata, AnnotationAttributes attributes) {
+        Set<String> basePackages = new LinkedHashSet<>();
+
+        basePackages.addAll(Arrays.asList(attributes.getStringArray("value")));
+        basePackages.addAll(Arrays.asList(attributes.getStringArray("basePackages")));
+
+        for (Class<?> type : attributes.getClassArray("basePackageClasses")) {
+            basePackages.add(ClassUtils.getPackageName(type));
+        }
+
+        if (basePackages.isEmpty()) {
+            basePackages.add(ClassUtils.getPackageName(importingClassMetadata.getClassName()));
+        }
+
+        return basePackages;
+    }
+}
@@ -29,19 +29,50 @@ package com.github.jonathanxd.interoute.spring;
 
 import com.github.jonathanxd.interoute.Interoute;
 import com.github.jonathanxd.interoute.exception.RouterCreationException;
+import com.github.jonathanxd.interoute.spring.precompiled.PrecompiledRouters;
 import com.github.jonathanxd.iutils.object.result.Result;
 import com.github.jonathanxd.kores.bytecode.classloader.CodeClassLoader;
 
 import org.springframework.beans.factory.BeanCreationException;
 
+import java.util.Optional;
+
 public abstract class SpringInterouteConfiguration {
 
     public SpringInterouteConfiguration() {
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Creates the router of {@code type}. Routers generated at build time (see {@link
+     * com.github.jonathanxd.interoute.spring.annotation.PrecompiledRouter}) are loaded directly,
+     * other routers are generated now.
+     *
+     * @param type Router interface.
+     * @param <I>  Router type.
+     * @return Router instance.
+     */
     protected final <I> I createRouter(Class<I> type) {
-        CodeClassLoader loader = new CodeClassLoader();
+        return SpringInterouteConfiguration.createRouter(type, new CodeClassLoader());
+    }
+
+    /**
+     * Creates the router of {@code type}, generating it with {@code loader} if it was not
+     * generated at build time.
+     *
+     * @param type   Router interface.
+     * @param loader Class loader to load generated classes.
+     * @param <I>    Router type.
+     * @return Router instance.
+     * @throws BeanCreationException If router could not be created.
+     */
+    @SuppressWarnings("unchecked")
+    static <I> I createRouter(Class<I> type, CodeClassLoader loader) {
+        Optional<I> precompiled = PrecompiledRouters.create(type);
+
+        if (precompiled.isPresent()) {
+            return precompiled.get();
+        }
+
         Result<? extends I, RouterCreationException> router = Interoute.createRouter(type, loader);
 
         if (router instanceof Result.Ok<?, ?>) {
@@ -35,29 +35,23 @@ import com.github.jonathanxd.interoute.gen.GenerationUtil;
 import com.github.jonathanxd.interoute.gen.RouteSpec;
 import com.github.jonathanxd.interoute.gen.RouterSpec;
 import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.batch.BatchPolicy;
+import com.github.jonathanxd.interoute.spring.batch.RouteBatcher;
 import com.github.jonathanxd.interoute.spring.notation.UrlNotation;
-import com.github.jonathanxd.interoute.spring.route.SpringRoute;
-import com.github.jonathanxd.interoute.spring.util.RequestMethodUtil;
+import com.github.jonathanxd.interoute.spring.route.RestTemplateRouteBinding;
+import com.github.jonathanxd.interoute.spring.util.ConstantsClass;
 import com.github.jonathanxd.interoute.spring.util.SpringRestBackendUtil;
 import com.github.jonathanxd.iutils.object.result.Result;
 import com.github.jonathanxd.kores.Instruction;
-import com.github.jonathanxd.kores.InstructionsKt;
 import com.github.jonathanxd.kores.Types;
-import com.github.jonathanxd.kores.base.Concat;
-import com.github.jonathanxd.kores.common.VariableRef;
 import com.github.jonathanxd.kores.factory.Factories;
-import com.github.jonathanxd.kores.literal.Literals;
 import com.github.jonathanxd.kores.type.ImplicitKoresType;
-import com.github.jonathanxd.kores.type.KoresType;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.springframework.http.HttpMethod;
 
-import java.lang.reflect.Type;
 import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
  * Spring {@link org.springframework.web.client.RestTemplate} backend.
@@ -93,6 +87,9 @@ import java.util.stream.Collectors;
 @RequiresConfiguration(SpringRestBackendConfiguration.class)
 public class SpringRestBackend extends AbstractInterouteBackend<SpringRestBackendConfiguration> {
 
+    private static final String BINDING_CONSTANT = "BINDING";
+    private static final String BATCHER_CONSTANT = "BATCHER";
+
     @NotNull
     @Override
     public SpringRestBackendConfiguration createConfiguration() {
@@ -109,7 +106,8 @@ public class SpringRestBackend extends AbstractInterouteBackend<SpringRestBacken
         RouterSpec<SpringRestBackendConfiguration> newSpec =
                 new RouterSpec<>(routerSpec.getRouterInterface(),
                         routerSpec.getBackend(),
-                        new SpringRestCLBackendConfiguration(routerSpec.getConfiguration(), loader),
+                        new SpringRestCLBackendConfiguration(routerSpec.getConfiguration(), loader,
+                                routerSpec.getRouteSpecInfoList()),
                         routerSpec.getRouteSpecList(),
                         routerSpec.getRouteSpecInfoList());
 
@@ -118,68 +116,37 @@ public class SpringRestBackend extends AbstractInterouteBackend<SpringRestBacken
 
     @Override
     protected Result<Instruction, GenerationException> route(RouteSpec routeSpec, SpringRestBackendConfiguration configuration) {
+        Optional<BatchPolicy> batchPolicy = SpringRestBackendUtil.getBatchPolicy(routeSpec.getRouteSpecInfoList());
+
+        if (batchPolicy.isPresent()) {
+            return this.generateBatchedRoute(routeSpec, batchPolicy.get(), (SpringRestCLBackendConfiguration) configuration);
+        }
+
         return UrlNotation
                 .parse(routeSpec.getDestination())
                 .flatMap(
                         notation -> this.generateRouteInstanceWithInvocation(routeSpec, notation,
-                                ((SpringRestCLBackendConfiguration) configuration).getClassLoader()),
+                                (SpringRestCLBackendConfiguration) configuration),
                         destinationParseError -> Result.error(new GenerationException(destinationParseError))
                 );
     }
 
-    private Result<Instruction, GenerationException> routeTargetInstruction(RouteSpec routeSpec,
-                                                                            UrlNotation destinationNotation,
-                                                                            ClassLoader classLoader) {
-        return Result.<Instruction, GenerationException>ok(new Concat(
-                destinationNotation.getNotationList()
-                        .stream()
-                        .map(it -> it.resolve(routeSpec))
-                        .collect(Collectors.toList())
-        )).map(concat ->
-                SpringRestBackendUtil.invokeRestTemplate(
-                        SpringRestBackendUtil.getRestTemplate(),
-                        concat,
-                        GenerationUtil.createMethodTypeSpecOrigin(routeSpec),
-                        SpringRestBackendUtil.getRequestBody(routeSpec).orElse(Literals.NULL),
-                        RequestMethodUtil.getRequestMethod(routeSpec.getRouteSpecInfoList()).orElse(HttpMethod.GET),
-                        SpringRestBackendUtil.getResultType(routeSpec.getOrigin().getReturnType()),
-                        classLoader
-                )
-        ).flatMap(responseEntity -> this.transformResponseInvocation(routeSpec, responseEntity));
-
-    }
-
-    private Result<Instruction, GenerationException> transformResponseInvocation(RouteSpec routeSpec,
-                                                                                 Instruction responseEntity) {
-        KoresType concreteType = ImplicitKoresType.getConcreteType(routeSpec.getOrigin().getReturnType());
-        Type leaveType = InstructionsKt.getLeaveType(responseEntity);
-        Type resultType = SpringRestBackendUtil.getResultType(routeSpec.getOrigin().getReturnType());
-        KoresType concreteResultType = ImplicitKoresType.getConcreteType(resultType);
-
-        boolean sameReturnType = leaveType != null &&
-                ImplicitKoresType.is(
-                        ImplicitKoresType.getConcreteType(leaveType),
-                        concreteResultType
-                );
-
-        boolean springRoute = ImplicitKoresType.is(concreteType, SpringRoute.class);
-
-        if (springRoute || sameReturnType) {
-            return Result.ok(responseEntity);
-        } else {
-            return Result.ok(SpringRestBackendUtil.responseEntityToValue(responseEntity, resultType));
-        }
-    }
-
     private Result<Instruction, GenerationException> generateRouteInstanceWithInvocation(RouteSpec routeSpec,
                                                                                          UrlNotation destinationNotation,
-                                                                                         ClassLoader classLoader) {
-        return this.routeTargetInstruction(routeSpec, destinationNotation, classLoader)
-                .map(instruction ->
-                        this.generateRouteCreationInstruction(
-                                instruction,
-                                SpringRestBackendUtil.createUrlDestination(routeSpec),
-                                routeSpec
+                                                                                         SpringRestCLBackendConfiguration configuration) {
+        Class<?> constants = new ConstantsClass()
+                .constant(BINDING_CONSTANT, RestTemplateRouteBinding.class,
+                        SpringRestBackendUtil.createRestTemplateRouteBinding(routeSpec,
+                                configuration.getRouterSpecInfoList(), configuration.getClassLoader()))
+                .generate(configuration.getClassLoader());
+
+        return Result.<Instruction, GenerationException>ok(destinationNotation.resolveUrl(routeSpec, configuration.getUriTemplateMode()))
+                .map(url ->
+                        SpringRestBackendUtil.invokeRestTemplateRouteBinding(
+                                ConstantsClass.access(constants, BINDING_CONSTANT, RestTemplateRouteBinding.class),
+                                url,
+                                SpringRestBackendUtil.getRequestBody(routeSpec).orElse(null),
+                                SpringRestBackendUtil.getTarget(routeSpec).orElse(null)
                         )
                 )
                 .map(instruction -> {
@@ -191,21 +158,31 @@ public class SpringRestBackend extends AbstractInterouteBackend<SpringRestBacken
                 });
     }
 
-    private Instruction generateRouteCreationInstruction(Instruction routeTargetInvocation,
-                                                         Instruction destination,
-                                                         RouteSpec routeSpec) {
-        return SpringRestBackendUtil.createExecutorRoute(
-                this.getVariables(routeSpec),
-                routeTargetInvocation,
-                destination,
-                routeSpec
-        );
-    }
+    /**
+     * Generates the route of a single-item route annotated with {@link
+     * com.github.jonathanxd.interoute.spring.annotation.Batch}, which joins a batch of the bulk
+     * route instead of sending its own request.
+     */
+    private Result<Instruction, GenerationException> generateBatchedRoute(RouteSpec routeSpec,
+                                                                          BatchPolicy policy,
+                                                                          SpringRestCLBackendConfiguration configuration) {
+        if (routeSpec.getOrigin().getParameters().size() != 1
+                || ImplicitKoresType.is(GenerationUtil.getRouteOriginReturnType(routeSpec), Types.VOID)
+                || SpringRestBackendUtil.isSpringRoute(routeSpec)
+                || SpringRestBackendUtil.isResponseEntityResult(routeSpec)) {
+            return Result.error(new GenerationException(new IllegalArgumentException(String.format(
+                    "Batched route '%s' must have exactly one parameter and result in the item.",
+                    routeSpec.getOrigin().getName()))));
+        }
 
-    private List<VariableRef> getVariables(RouteSpec routeSpec) {
-        return GenerationUtil.getRouteOriginParameters(routeSpec).stream()
-                .map(p -> new VariableRef(p.getType(), p.getName()))
-                .collect(Collectors.toList());
+        Class<?> constants = new ConstantsClass()
+                .constant(BATCHER_CONSTANT, RouteBatcher.class, SpringRestBackendUtil.createRouteBatcher(routeSpec, policy))
+                .generate(configuration.getClassLoader());
+
+        return Result.ok(Factories.returnValue(Route.class, SpringRestBackendUtil.invokeRouteBatcher(
+                ConstantsClass.access(constants, BATCHER_CONSTANT, RouteBatcher.class),
+                routeSpec
+        )));
     }
 
 }
@@ -29,26 +29,70 @@ package com.github.jonathanxd.interoute.spring;
 
 import com.github.jonathanxd.interoute.backend.InterouteBackendConfiguration;
 import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.spring.cache.ResponseCache;
+import com.github.jonathanxd.interoute.spring.cache.RevalidationCache;
+import com.github.jonathanxd.interoute.spring.executor.RouteExecutors;
+import com.github.jonathanxd.interoute.spring.http.HttpConnectionPool;
+import com.github.jonathanxd.interoute.spring.limit.ConcurrencyLimiter;
+import com.github.jonathanxd.interoute.spring.route.SingleFlight;
 import com.github.jonathanxd.interoute.spring.uni.HeadersProvider;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 public class SpringRestBackendConfiguration implements InterouteBackendConfiguration {
     private final Supplier<String> rootInvocationPath;
     private final Supplier<RestTemplate> restTemplate;
     private final Map<Origin, HeadersProvider> headersProviderMap;
+    private final UriTemplateMode uriTemplateMode;
+    private final Executor executor;
+    private final Map<Origin, Executor> routeExecutorMap;
+    private final MeterRegistry meterRegistry;
+    private final ResponseCache responseCache;
+    private final RevalidationCache revalidationCache;
+    private final SingleFlight singleFlight;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final Duration defaultTimeout;
+    private final HttpConnectionPool connectionPool;
 
     public SpringRestBackendConfiguration(Supplier<String> rootInvocationPath,
                                           Supplier<RestTemplate> restTemplate,
                                           Map<Origin, HeadersProvider> headersProviderMap) {
-        this.rootInvocationPath = rootInvocationPath;
-        this.restTemplate = restTemplate;
-        this.headersProviderMap = headersProviderMap;
+        this(new Builder()
+                .rootInvocationPath(rootInvocationPath)
+                .restTemplate(restTemplate)
+                .headersProviderMap(headersProviderMap));
+    }
+
+    /**
+     * Creates the configuration with the values of {@code builder}. Unlike {@link Builder#build()},
+     * meters of the caches, the limiter and the connection pool are not bound to the registry.
+     *
+     * @param builder Values of the configuration.
+     */
+    protected SpringRestBackendConfiguration(Builder builder) {
+        this.rootInvocationPath = builder.rootInvocationPath;
+        this.restTemplate = builder.restTemplate;
+        this.headersProviderMap = builder.headersProviderMap;
+        this.uriTemplateMode = builder.uriTemplateMode;
+        this.executor = builder.executor;
+        this.routeExecutorMap = builder.routeExecutorMap;
+        this.meterRegistry = builder.meterRegistry;
+        this.responseCache = builder.responseCache;
+        this.revalidationCache = builder.revalidationCache;
+        this.singleFlight = builder.singleFlight;
+        this.concurrencyLimiter = builder.concurrencyLimiter;
+        this.defaultTimeout = builder.defaultTimeout;
+        this.connectionPool = builder.connectionPool;
     }
 
     public static Builder builder() {
@@ -63,7 +107,18 @@ public class SpringRestBackendConfiguration implements InterouteBackendConfigura
         return this.rootInvocationPath;
     }
 
+    /**
+     * Gets the rest template which sends requests of the router, or the {@link
+     * HttpConnectionPool#getRestTemplate() rest template of the connection pool} if there is no
+     * rest template configured.
+     *
+     * @return Rest template of the router.
+     */
     public RestTemplate getRestTemplate() {
+        if (this.restTemplate == null && this.connectionPool != null) {
+            return this.connectionPool.getRestTemplate();
+        }
+
         return this.restTemplate.get();
     }
 
@@ -79,6 +134,120 @@ public class SpringRestBackendConfiguration implements InterouteBackendConfigura
         return Optional.ofNullable(this.headersProviderMap.get(origin)).map(HeadersProvider::get);
     }
 
+    /**
+     * Gets the mode used to build urls of routes. This is only read when the router is generated.
+     *
+     * @return Mode used to build urls of routes.
+     */
+    public UriTemplateMode getUriTemplateMode() {
+        return this.uriTemplateMode;
+    }
+
+    /**
+     * Gets the executor of routes of the router, or {@code null} if the {@link
+     * RouteExecutors#defaultExecutor() default executor} is used.
+     *
+     * @return Executor of routes of the router.
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    public Map<Origin, Executor> getRouteExecutorMap() {
+        return this.routeExecutorMap;
+    }
+
+    /**
+     * Gets the executor which runs the blocking exchange of the route of {@code origin}. Resolved
+     * in the following order: executor of the route, executor of the router, {@link
+     * RouteExecutors#defaultExecutor() default executor}.
+     *
+     * @param origin Origin of the route.
+     * @return Executor which runs the blocking exchange of the route.
+     */
+    public Executor getExecutor(Origin origin) {
+        Executor routeExecutor = this.getRouteExecutorMap().get(origin);
+
+        if (routeExecutor != null) {
+            return routeExecutor;
+        }
+
+        Executor executor = this.getExecutor();
+
+        return executor != null ? executor : RouteExecutors.defaultExecutor();
+    }
+
+    /**
+     * Gets the registry of route metrics, or {@code null} if routes are not instrumented. This is
+     * only read when the {@link ConfigurationEpoch configuration snapshot} of a route is resolved.
+     *
+     * @return Registry of route metrics.
+     * @see com.github.jonathanxd.interoute.spring.metrics.RouteMetrics
+     */
+    public MeterRegistry getMeterRegistry() {
+        return this.meterRegistry;
+    }
+
+    /**
+     * Gets the cache of responses of {@link com.github.jonathanxd.interoute.spring.annotation.CacheResponse}
+     * routes, or {@code null} if responses are not cached.
+     *
+     * @return Cache of responses.
+     */
+    public ResponseCache getResponseCache() {
+        return this.responseCache;
+    }
+
+    /**
+     * Gets the cache of responses revalidated with {@code ETag} and {@code Last-Modified} by
+     * {@code GET} routes, or {@code null} if requests are not conditional.
+     *
+     * @return Cache of revalidated responses.
+     */
+    public RevalidationCache getRevalidationCache() {
+        return this.revalidationCache;
+    }
+
+    /**
+     * Gets the in-flight requests which identical requests of {@code GET}, {@code HEAD} and {@code
+     * OPTIONS} routes join, or {@code null} if requests are not coalesced.
+     *
+     * @return In-flight requests.
+     */
+    public SingleFlight getSingleFlight() {
+        return this.singleFlight;
+    }
+
+    /**
+     * Gets the adaptive concurrency limits of requests by host, or {@code null} if requests are not
+     * limited.
+     *
+     * @return Concurrency limits of requests by host.
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return this.concurrencyLimiter;
+    }
+
+    /**
+     * Gets the timeout of routes without {@link com.github.jonathanxd.interoute.spring.annotation.Timeout},
+     * or {@code null} if these routes have no timeout.
+     *
+     * @return Default timeout of routes.
+     */
+    public Duration getDefaultTimeout() {
+        return this.defaultTimeout;
+    }
+
+    /**
+     * Gets the pool of keep-alive connections of the router, or {@code null} if connections are
+     * managed by the configured rest template.
+     *
+     * @return Pool of connections of the router.
+     */
+    public HttpConnectionPool getConnectionPool() {
+        return this.connectionPool;
+    }
+
     public Builder toBuilder() {
         return new Builder(this);
     }
@@ -87,6 +256,16 @@ public class SpringRestBackendConfiguration implements InterouteBackendConfigura
         private Supplier<String> rootInvocationPath;
         private Supplier<RestTemplate> restTemplate;
         private Map<Origin, HeadersProvider> headersProviderMap;
+        private UriTemplateMode uriTemplateMode = UriTemplateMode.TEMPLATE;
+        private Executor executor;
+        private Map<Origin, Executor> routeExecutorMap = Collections.emptyMap();
+        private MeterRegistry meterRegistry;
+        private ResponseCache responseCache;
+        private RevalidationCache revalidationCache;
+        private SingleFlight singleFlight;
+        private ConcurrencyLimiter concurrencyLimiter;
+        private Duration defaultTimeout;
+        private HttpConnectionPool connectionPool;
 
         Builder() {
         }
@@ -95,6 +274,16 @@ public class SpringRestBackendConfiguration implements InterouteBackendConfigura
             this.rootInvocationPath = defaults.rootInvocationPath;
             this.restTemplate = defaults.restTemplate;
             this.headersProviderMap = defaults.getHeadersProviderMap();
+            this.uriTemplateMode = defaults.getUriTemplateMode();
+            this.executor = defaults.getExecutor();
+            this.routeExecutorMap = defaults.getRouteExecutorMap();
+            this.meterRegistry = defaults.getMeterRegistry();
+            this.responseCache = defaults.getResponseCache();
+            this.revalidationCache = defaults.getRevalidationCache();
+            this.singleFlight = defaults.getSingleFlight();
+            this.concurrencyLimiter = defaults.getConcurrencyLimiter();
+            this.defaultTimeout = defaults.getDefaultTimeout();
+            this.connectionPool = defaults.getConnectionPool();
         }
 
         public Builder rootInvocationPath(Supplier<String> rootInvocationPath) {
@@ -112,12 +301,159 @@ public class SpringRestBackendConfiguration implements InterouteBackendConfigura
             return this;
         }
 
+        public Builder uriTemplateMode(UriTemplateMode uriTemplateMode) {
+            this.uriTemplateMode = uriTemplateMode;
+            return this;
+        }
+
+        /**
+         * Sets the executor of the blocking exchange of all routes of the router.
+         *
+         * @param executor Executor of routes, or {@code null} to use the {@link
+         *                 RouteExecutors#defaultExecutor() default executor}.
+         * @return This builder.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Runs each route in a new virtual thread, if supported by the runtime, or in the {@link
+         * RouteExecutors#defaultExecutor() default executor} otherwise.
+         *
+         * @return This builder.
+         */
+        public Builder virtualThreadExecutor() {
+            return this.executor(RouteExecutors.virtualThreadPerTaskOrDefault());
+        }
+
+        /**
+         * Sets executors of specific routes, which takes precedence over the {@link
+         * #executor(Executor) executor of the router}.
+         *
+         * @param routeExecutorMap Executors of routes.
+         * @return This builder.
+         */
+        public Builder routeExecutorMap(Map<Origin, Executor> routeExecutorMap) {
+            this.routeExecutorMap = routeExecutorMap;
+            return this;
+        }
+
+        /**
+         * Sets the registry of latency, in-flight, status and byte meters of routes. Micrometer is
+         * an optional dependency, and is only used when a registry is set.
+         *
+         * @param meterRegistry Registry of route metrics, or {@code null} to not instrument
+         *                      routes.
+         * @return This builder.
+         * @see com.github.jonathanxd.interoute.spring.metrics.RouteMetrics
+         */
+        public Builder meterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        /**
+         * Sets the cache of responses of routes annotated with {@link
+         * com.github.jonathanxd.interoute.spring.annotation.CacheResponse}. Without a cache,
+         * responses are never cached. The cache could be shared by multiple routers.
+         *
+         * @param responseCache Cache of responses, or {@code null} to not cache responses.
+         * @return This builder.
+         */
+        public Builder responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Sets the cache of responses of {@code GET} routes which are revalidated with {@code
+         * ETag} and {@code Last-Modified}. Without a cache, requests are never conditional.
+         *
+         * @param revalidationCache Cache of revalidated responses, or {@code null} to not send
+         *                          conditional requests.
+         * @return This builder.
+         */
+        public Builder revalidationCache(RevalidationCache revalidationCache) {
+            this.revalidationCache = revalidationCache;
+            return this;
+        }
+
+        /**
+         * Coalesces identical concurrent requests of {@code GET}, {@code HEAD} and {@code OPTIONS}
+         * routes: a request with the same method, url and headers of a request in flight is not
+         * sent, it completes with the result of the request in flight. Routes with body, streamed
+         * responses or downloads are never coalesced.
+         *
+         * @param singleFlight In-flight requests, or {@code null} to not coalesce requests.
+         * @return This builder.
+         */
+        public Builder singleFlight(SingleFlight singleFlight) {
+            this.singleFlight = singleFlight;
+            return this;
+        }
+
+        /**
+         * Limits concurrent requests to each host with an adaptive limit, requests over the limit
+         * fail with {@link com.github.jonathanxd.interoute.spring.limit.ConcurrencyLimitException}
+         * without waiting for an executor thread. The limiter could be shared by multiple routers.
+         *
+         * @param concurrencyLimiter Concurrency limits by host, or {@code null} to not limit
+         *                           requests.
+         * @return This builder.
+         */
+        public Builder concurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+            this.concurrencyLimiter = concurrencyLimiter;
+            return this;
+        }
+
+        /**
+         * Sets the timeout of routes without {@link com.github.jonathanxd.interoute.spring.annotation.Timeout}.
+         * The timeout covers the whole execution of the route, requests still waiting for an
+         * executor thread when the timeout expires are never sent.
+         *
+         * @param defaultTimeout Default timeout of routes, or {@code null} for no timeout.
+         * @return This builder.
+         */
+        public Builder defaultTimeout(Duration defaultTimeout) {
+            this.defaultTimeout = defaultTimeout;
+            return this;
+        }
+
+        /**
+         * Sends requests through keep-alive connections of {@code connectionPool}, unless a rest
+         * template is configured: with a rest template, use the {@link
+         * HttpConnectionPool#getRequestFactory() request factory of the pool} to create it. The
+         * pool could be shared by multiple routers.
+         *
+         * @param connectionPool Pool of connections, or {@code null} to send requests with the
+         *                       configured rest template.
+         * @return This builder.
+         */
+        public Builder connectionPool(HttpConnectionPool connectionPool) {
+            this.connectionPool = connectionPool;
+            return this;
+        }
+
         public SpringRestBackendConfiguration build() {
-            return new SpringRestBackendConfiguration(
-                    this.rootInvocationPath,
-                    this.restTemplate,
-                    this.headersProviderMap
-            );
+            if (this.responseCache != null && this.meterRegistry != null) {
+                this.responseCache.bindTo(this.meterRegistry);
+            }
+
+            if (this.revalidationCache != null && this.meterRegistry != null) {
+                this.revalidationCache.bindTo(this.meterRegistry);
+            }
+
+            if (this.concurrencyLimiter != null && this.meterRegistry != null) {
+                this.concurrencyLimiter.bindTo(this.meterRegistry);
+            }
+
+            if (this.connectionPool != null && this.meterRegistry != null) {
+                this.connectionPool.bindTo(this.meterRegistry);
+            }
+
+            return new SpringRestBackendConfiguration(this);
         }
 
     }
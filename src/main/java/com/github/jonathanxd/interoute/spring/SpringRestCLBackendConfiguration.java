@@ -27,24 +27,39 @@
  */
 package com.github.jonathanxd.interoute.spring;
 
+import com.github.jonathanxd.interoute.gen.RouteSpecInfo;
 import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.spring.cache.ResponseCache;
+import com.github.jonathanxd.interoute.spring.cache.RevalidationCache;
+import com.github.jonathanxd.interoute.spring.http.HttpConnectionPool;
+import com.github.jonathanxd.interoute.spring.limit.ConcurrencyLimiter;
+import com.github.jonathanxd.interoute.spring.route.SingleFlight;
 import com.github.jonathanxd.interoute.spring.uni.HeadersProvider;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 class SpringRestCLBackendConfiguration extends SpringRestBackendConfiguration {
     private final SpringRestBackendConfiguration root;
     private final ClassLoader classLoader;
+    private final List<? extends RouteSpecInfo<?>> routerSpecInfoList;
 
     SpringRestCLBackendConfiguration(SpringRestBackendConfiguration root,
-                                     ClassLoader classLoader) {
-        super(root.getRootInvocationPathProvider(), root.getRestTemplateProvider(), root.getHeadersProviderMap());
+                                     ClassLoader classLoader,
+                                     List<? extends RouteSpecInfo<?>> routerSpecInfoList) {
+        super(root.toBuilder());
         this.root = root;
         this.classLoader = classLoader;
+        this.routerSpecInfoList = routerSpecInfoList;
     }
 
     public String getRootInvocationPath() {
@@ -63,10 +78,64 @@ class SpringRestCLBackendConfiguration extends SpringRestBackendConfiguration {
         return this.root.getHttpHeaders(origin);
     }
 
+    public UriTemplateMode getUriTemplateMode() {
+        return this.root.getUriTemplateMode();
+    }
+
+    public Executor getExecutor() {
+        return this.root.getExecutor();
+    }
+
+    public Map<Origin, Executor> getRouteExecutorMap() {
+        return this.root.getRouteExecutorMap();
+    }
+
+    public Executor getExecutor(Origin origin) {
+        return this.root.getExecutor(origin);
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return this.root.getMeterRegistry();
+    }
+
+    public ResponseCache getResponseCache() {
+        return this.root.getResponseCache();
+    }
+
+    public RevalidationCache getRevalidationCache() {
+        return this.root.getRevalidationCache();
+    }
+
+    public SingleFlight getSingleFlight() {
+        return this.root.getSingleFlight();
+    }
+
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return this.root.getConcurrencyLimiter();
+    }
+
+    public Duration getDefaultTimeout() {
+        return this.root.getDefaultTimeout();
+    }
+
+    public HttpConnectionPool getConnectionPool() {
+        return this.root.getConnectionPool();
+    }
+
     public ClassLoader getClassLoader() {
         return this.classLoader;
     }
 
+    /**
+     * Gets the specification information declared in the router interface, which applies to all
+     * routes.
+     *
+     * @return Specification information declared in the router interface.
+     */
+    public List<? extends RouteSpecInfo<?>> getRouterSpecInfoList() {
+        return this.routerSpecInfoList;
+    }
+
     public Builder toBuilderCl() {
         return new Builder(this);
     }
@@ -78,6 +147,7 @@ class SpringRestCLBackendConfiguration extends SpringRestBackendConfiguration {
     public static class Builder {
         private SpringRestBackendConfiguration root;
         private ClassLoader classLoader;
+        private List<? extends RouteSpecInfo<?>> routerSpecInfoList = Collections.emptyList();
 
         Builder() {
         }
@@ -85,6 +155,7 @@ class SpringRestCLBackendConfiguration extends SpringRestBackendConfiguration {
         Builder(SpringRestCLBackendConfiguration defaults) {
             this.root = defaults.getRoot();
             this.classLoader = defaults.getClassLoader();
+            this.routerSpecInfoList = defaults.getRouterSpecInfoList();
         }
 
         public Builder root(SpringRestBackendConfiguration root) {
@@ -97,8 +168,13 @@ class SpringRestCLBackendConfiguration extends SpringRestBackendConfiguration {
             return this;
         }
 
+        public Builder routerSpecInfoList(List<? extends RouteSpecInfo<?>> routerSpecInfoList) {
+            this.routerSpecInfoList = routerSpecInfoList;
+            return this;
+        }
+
         public SpringRestCLBackendConfiguration build() {
-            return new SpringRestCLBackendConfiguration(this.root, this.classLoader);
+            return new SpringRestCLBackendConfiguration(this.root, this.classLoader, this.routerSpecInfoList);
         }
 
     }
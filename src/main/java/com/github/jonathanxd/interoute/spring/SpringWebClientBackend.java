@@ -0,0 +1,151 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring;
+
+import com.github.jonathanxd.interoute.annotation.RequiresConfiguration;
+import com.github.jonathanxd.interoute.backend.AbstractInterouteBackend;
+import com.github.jonathanxd.interoute.exception.GenerationException;
+import com.github.jonathanxd.interoute.gen.GenerationUtil;
+import com.github.jonathanxd.interoute.gen.RouteSpec;
+import com.github.jonathanxd.interoute.gen.RouterSpec;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.notation.UrlNotation;
+import com.github.jonathanxd.interoute.spring.util.RequestMethodUtil;
+import com.github.jonathanxd.interoute.spring.util.RouteConstants;
+import com.github.jonathanxd.interoute.spring.util.SpringRestBackendUtil;
+import com.github.jonathanxd.interoute.spring.util.SpringWebClientBackendUtil;
+import com.github.jonathanxd.iutils.object.result.Result;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.Types;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.literal.Literals;
+import com.github.jonathanxd.kores.type.ImplicitKoresType;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collections;
+
+/**
+ * Spring {@link org.springframework.web.reactive.function.client.WebClient} backend.
+ *
+ * This backend supports the same {@link com.github.jonathanxd.interoute.annotation.RouteTo
+ * destination notation} and annotations of {@link SpringRestBackend}, but requests are sent through
+ * a non-blocking {@link org.springframework.web.reactive.function.client.WebClient}: the future
+ * returned by {@link Route#execute()} is completed by the event loop which receives the response,
+ * so no thread is held while the request is in flight.
+ *
+ * spring-webflux is an optional dependency of this library, routers of this backend fail to generate
+ * when it is not in the classpath.
+ */
+@RequiresConfiguration(SpringWebClientBackendConfiguration.class)
+public class SpringWebClientBackend extends AbstractInterouteBackend<SpringWebClientBackendConfiguration> {
+    private static final boolean WEB_CLIENT_PRESENT = ClassUtils.isPresent(
+            "org.springframework.web.reactive.function.client.WebClient",
+            SpringWebClientBackend.class.getClassLoader());
+
+    @NotNull
+    @Override
+    public SpringWebClientBackendConfiguration createConfiguration() {
+        return new SpringWebClientBackendConfiguration(
+                null,
+                null,
+                Collections.emptyMap(),
+                UriTemplateMode.TEMPLATE);
+    }
+
+    @NotNull
+    @Override
+    public <T> Result<? extends T, GenerationException> generate(@NotNull RouterSpec<SpringWebClientBackendConfiguration> routerSpec,
+                                                                 @Nullable ClassLoader loader) {
+        if (!WEB_CLIENT_PRESENT) {
+            return Result.error(new GenerationException(new IllegalStateException(
+                    "SpringWebClientBackend requires spring-webflux and a WebClient connector, such as reactor-netty, in the classpath.")));
+        }
+
+        RouterSpec<SpringWebClientBackendConfiguration> newSpec =
+                new RouterSpec<>(routerSpec.getRouterInterface(),
+                        routerSpec.getBackend(),
+                        new SpringWebClientCLBackendConfiguration(routerSpec.getConfiguration(), loader,
+                                routerSpec.getRouteSpecInfoList()),
+                        routerSpec.getRouteSpecList(),
+                        routerSpec.getRouteSpecInfoList());
+
+        return super.generate(newSpec, loader);
+    }
+
+    @Override
+    protected Result<Instruction, GenerationException> route(RouteSpec routeSpec, SpringWebClientBackendConfiguration configuration) {
+        return UrlNotation
+                .parse(routeSpec.getDestination())
+                .flatMap(
+                        notation -> Result.<Instruction, GenerationException>ok(this.generateRoute(routeSpec, notation,
+                                (SpringWebClientCLBackendConfiguration) configuration)),
+                        destinationParseError -> Result.error(new GenerationException(destinationParseError))
+                );
+    }
+
+    private Instruction generateRoute(RouteSpec routeSpec,
+                                      UrlNotation destinationNotation,
+                                      SpringWebClientCLBackendConfiguration configuration) {
+        RouteConstants constants = RouteConstants.create(routeSpec, configuration.getRouterSpecInfoList(),
+                configuration.getClassLoader());
+        Instruction origin = constants.origin();
+        Instruction destination = constants.destination();
+
+        Instruction exchange = SpringWebClientBackendUtil.createExchange(
+                SpringWebClientBackendUtil.getWebClient(),
+                destinationNotation.resolveUrl(routeSpec, configuration.getUriTemplateMode()),
+                SpringRestBackendUtil.getRouteHttpHeaders(SpringWebClientBackendConfiguration.class, constants),
+                SpringRestBackendUtil.getRequestBody(routeSpec).orElse(Literals.NULL),
+                RequestMethodUtil.getRequestMethod(routeSpec.getRouteSpecInfoList()).orElse(HttpMethod.GET),
+                SpringRestBackendUtil.getResponseBodyType(routeSpec),
+                configuration.getClassLoader()
+        );
+
+        Instruction route = SpringWebClientBackendUtil.createWebClientRoute(
+                origin,
+                destination,
+                exchange,
+                SpringRestBackendUtil.isResponseEntityResult(routeSpec)
+        );
+
+        if (SpringRestBackendUtil.isSpringRoute(routeSpec)) {
+            route = SpringRestBackendUtil.createSpringRoute(origin, destination, route);
+        }
+
+        if (ImplicitKoresType.is(GenerationUtil.getRouteOriginReturnType(routeSpec), Types.VOID)) {
+            return GenerationUtil.executeRouteAndWait(route);
+        } else {
+            return Factories.returnValue(Route.class, route);
+        }
+    }
+
+}
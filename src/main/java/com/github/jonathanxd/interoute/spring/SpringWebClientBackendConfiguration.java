@@ -0,0 +1,179 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring;
+
+import com.github.jonathanxd.interoute.backend.InterouteBackendConfiguration;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.spring.headers.RouteHeaders;
+import com.github.jonathanxd.interoute.spring.uni.HeadersProvider;
+import com.github.jonathanxd.interoute.spring.util.RouteSlots;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public class SpringWebClientBackendConfiguration implements InterouteBackendConfiguration {
+    private final Supplier<String> rootInvocationPath;
+    private final Supplier<WebClient> webClient;
+    private final Map<Origin, HeadersProvider> headersProviderMap;
+    private final UriTemplateMode uriTemplateMode;
+    private final RouteSlots<HeadersProvider> headersProviderSlots = new RouteSlots<>();
+
+    public SpringWebClientBackendConfiguration(Supplier<String> rootInvocationPath,
+                                               Supplier<WebClient> webClient,
+                                               Map<Origin, HeadersProvider> headersProviderMap,
+                                               UriTemplateMode uriTemplateMode) {
+        this.rootInvocationPath = rootInvocationPath;
+        this.webClient = webClient;
+        this.headersProviderMap = headersProviderMap;
+        this.uriTemplateMode = uriTemplateMode;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getRootInvocationPath() {
+        return this.rootInvocationPath.get();
+    }
+
+    public Supplier<String> getRootInvocationPathProvider() {
+        return this.rootInvocationPath;
+    }
+
+    public WebClient getWebClient() {
+        return this.webClient.get();
+    }
+
+    public Supplier<WebClient> getWebClientProvider() {
+        return this.webClient;
+    }
+
+    public Map<Origin, HeadersProvider> getHeadersProviderMap() {
+        return this.headersProviderMap;
+    }
+
+    public Optional<HttpHeaders> getHttpHeaders(Origin origin) {
+        return Optional.ofNullable(this.headersProviderMap.get(origin)).map(HeadersProvider::get);
+    }
+
+    /**
+     * Gets the headers of the route of {@code origin}: the {@code routeHeaders} resolved when the
+     * router was generated, merged with the headers of the {@link #getHeadersProviderMap() provider
+     * of the route}, if any. The provider is only looked up in the first invocation of the route,
+     * later invocations reads it from the {@code slot} of the route, and a new {@link HttpHeaders}
+     * is only created when the route has dynamic headers.
+     *
+     * @param routeHeaders Headers resolved when the router was generated.
+     * @param slot         {@link RouteSlots#allocate() Slot} of the route.
+     * @param origin       Origin of the route.
+     * @return Headers of the route.
+     */
+    public HttpHeaders getHttpHeaders(RouteHeaders routeHeaders, int slot, Origin origin) {
+        HeadersProvider provider = this.getHeadersProvider(slot, origin);
+
+        if (provider == null) {
+            return routeHeaders.get();
+        } else {
+            return routeHeaders.with(provider.get());
+        }
+    }
+
+    private HeadersProvider getHeadersProvider(int slot, Origin origin) {
+        Map<Origin, HeadersProvider> headersProviderMap = this.getHeadersProviderMap();
+
+        if (headersProviderMap.isEmpty()) {
+            return null;
+        }
+
+        return this.headersProviderSlots.get(slot, origin, headersProviderMap::get);
+    }
+
+    /**
+     * Gets the mode used to build urls of routes. This is only read when the router is generated.
+     *
+     * @return Mode used to build urls of routes.
+     */
+    public UriTemplateMode getUriTemplateMode() {
+        return this.uriTemplateMode;
+    }
+
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    public static class Builder {
+        private Supplier<String> rootInvocationPath;
+        private Supplier<WebClient> webClient;
+        private Map<Origin, HeadersProvider> headersProviderMap;
+        private UriTemplateMode uriTemplateMode = UriTemplateMode.TEMPLATE;
+
+        Builder() {
+        }
+
+        Builder(SpringWebClientBackendConfiguration defaults) {
+            this.rootInvocationPath = defaults.rootInvocationPath;
+            this.webClient = defaults.webClient;
+            this.headersProviderMap = defaults.getHeadersProviderMap();
+            this.uriTemplateMode = defaults.getUriTemplateMode();
+        }
+
+        public Builder rootInvocationPath(Supplier<String> rootInvocationPath) {
+            this.rootInvocationPath = rootInvocationPath;
+            return this;
+        }
+
+        public Builder webClient(Supplier<WebClient> webClient) {
+            this.webClient = webClient;
+            return this;
+        }
+
+        public Builder headersProviderMap(Map<Origin, HeadersProvider> headersProviderMap) {
+            this.headersProviderMap = headersProviderMap;
+            return this;
+        }
+
+        public Builder uriTemplateMode(UriTemplateMode uriTemplateMode) {
+            this.uriTemplateMode = uriTemplateMode;
+            return this;
+        }
+
+        public SpringWebClientBackendConfiguration build() {
+            return new SpringWebClientBackendConfiguration(
+                    this.rootInvocationPath,
+                    this.webClient,
+                    this.headersProviderMap,
+                    this.uriTemplateMode
+            );
+        }
+
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring;
+
+import com.github.jonathanxd.interoute.gen.RouteSpecInfo;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.spring.headers.RouteHeaders;
+import com.github.jonathanxd.interoute.spring.uni.HeadersProvider;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class SpringWebClientCLBackendConfiguration extends SpringWebClientBackendConfiguration {
+    private final SpringWebClientBackendConfiguration root;
+    private final ClassLoader classLoader;
+    private final List<? extends RouteSpecInfo<?>> routerSpecInfoList;
+
+    SpringWebClientCLBackendConfiguration(SpringWebClientBackendConfiguration root,
+                                          ClassLoader classLoader,
+                                     List<? extends RouteSpecInfo<?>> routerSpecInfoList) {
+        super(root.getRootInvocationPathProvider(),
+                root.getWebClientProvider(),
+                root.getHeadersProviderMap(),
+                root.getUriTemplateMode());
+        this.root = root;
+        this.classLoader = classLoader;
+        this.routerSpecInfoList = routerSpecInfoList;
+    }
+
+    public String getRootInvocationPath() {
+        return this.root.getRootInvocationPath();
+    }
+
+    public WebClient getWebClient() {
+        return this.root.getWebClient();
+    }
+
+    public Map<Origin, HeadersProvider> getHeadersProviderMap() {
+        return this.root.getHeadersProviderMap();
+    }
+
+    public Optional<HttpHeaders> getHttpHeaders(Origin origin) {
+        return this.root.getHttpHeaders(origin);
+    }
+
+    public UriTemplateMode getUriTemplateMode() {
+        return this.root.getUriTemplateMode();
+    }
+
+    public HttpHeaders getHttpHeaders(RouteHeaders routeHeaders, int slot, Origin origin) {
+        return this.root.getHttpHeaders(routeHeaders, slot, origin);
+    }
+
+    public ClassLoader getClassLoader() {
+        return this.classLoader;
+    }
+
+    /**
+     * Gets the specification information declared in the router interface, which applies to all
+     * routes.
+     *
+     * @return Specification information declared in the router interface.
+     */
+    public List<? extends RouteSpecInfo<?>> getRouterSpecInfoList() {
+        return this.routerSpecInfoList;
+    }
+
+    public SpringWebClientBackendConfiguration getRoot() {
+        return this.root;
+    }
+}
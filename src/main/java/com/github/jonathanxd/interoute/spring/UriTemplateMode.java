@@ -0,0 +1,55 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring;
+
+/**
+ * How the url of a route is built and handed to {@link org.springframework.web.client.RestTemplate}.
+ */
+public enum UriTemplateMode {
+    /**
+     * The url is concatenated into a {@link String} and passed to {@link
+     * org.springframework.web.client.RestTemplate#exchange(String, org.springframework.http.HttpMethod,
+     * org.springframework.http.HttpEntity, org.springframework.core.ParameterizedTypeReference,
+     * java.util.Map)}, which parses and encodes it again with its {@link
+     * org.springframework.web.util.UriTemplateHandler} on every invocation.
+     */
+    TEMPLATE,
+
+    /**
+     * Literal parts of the url are encoded when the router is generated and parameter values are
+     * percent-encoded into a single pre-sized buffer. The resulting {@link java.net.URI} is passed
+     * to {@link org.springframework.web.client.RestTemplate#exchange(java.net.URI,
+     * org.springframework.http.HttpMethod, org.springframework.http.HttpEntity,
+     * org.springframework.core.ParameterizedTypeReference)}, skipping the expansion of the uri
+     * template handler. Relative urls are still resolved against the root of the handler.
+     *
+     * Differently from {@link #TEMPLATE}, parameter values are always encoded as a whole, so a
+     * {@code /} or {@code &} inside a value does not change the structure of the url.
+     */
+    COMPILED
+}
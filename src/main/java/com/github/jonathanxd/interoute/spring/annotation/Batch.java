@@ -0,0 +1,102 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.annotation;
+
+import com.github.jonathanxd.interoute.annotation.RouteInfo;
+import com.github.jonathanxd.interoute.spring.uni.BatchPolicyUnifier;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges executions of a single-item route into requests of a bulk route of the same router. The
+ * route must have exactly one parameter, the key of the item, and the bulk route must receive a
+ * {@link java.util.List} of keys and result in a {@link java.util.Collection} or a {@link
+ * java.util.Map} of items by key. Keys of executions received within the {@link #window()} are
+ * sent in a single request of the bulk route, and each execution completes with the item of its
+ * key.
+ *
+ * <pre>
+ *     {@code
+ *      @Batch(value = "users", key = "name")
+ *      @RouteTo("/user/{0 name}")
+ *      @Get
+ *      Route<User> user(String name);
+ *
+ *      @RouteTo("/users?names={0 names}")
+ *      @Get
+ *      Route<List<User>> users(List<String> names);
+ *      }
+ * </pre>
+ *
+ * Keys are compared by their string representation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@RouteInfo(BatchPolicyUnifier.class)
+public @interface Batch {
+    /**
+     * Name of the bulk route method.
+     *
+     * @return Name of the bulk route method.
+     */
+    String value();
+
+    /**
+     * Property of items of the bulk result which holds the key of the item. If empty, items of a
+     * {@link java.util.Collection} result must be in the same order of the keys.
+     *
+     * @return Property which holds the key of the item.
+     */
+    String key() default "";
+
+    /**
+     * Time to wait for more keys after the first key of a batch.
+     *
+     * @return Time to wait for more keys.
+     */
+    long window() default 10;
+
+    /**
+     * Unit of {@link #window()}.
+     *
+     * @return Unit of {@link #window()}.
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * Maximum number of keys of a batch, a full batch is sent without waiting for the {@link
+     * #window()}.
+     *
+     * @return Maximum number of keys of a batch.
+     */
+    int maxSize() default 100;
+}
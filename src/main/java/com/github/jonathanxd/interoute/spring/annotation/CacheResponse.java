@@ -0,0 +1,69 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.annotation;
+
+import com.github.jonathanxd.interoute.annotation.RouteInfo;
+import com.github.jonathanxd.interoute.spring.uni.CachePolicyUnifier;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches successful responses of a {@code GET} or {@code HEAD} route in the {@link
+ * com.github.jonathanxd.interoute.spring.cache.ResponseCache response cache} of the backend
+ * configuration. Requests are identified by request method, url and the request {@link #headers()}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@RouteInfo(CachePolicyUnifier.class)
+public @interface CacheResponse {
+    /**
+     * Maximum time to keep a response, {@code Cache-Control} and {@code Expires} response headers
+     * may reduce it.
+     *
+     * @return Maximum time to keep a response.
+     */
+    long ttl() default 60;
+
+    /**
+     * Unit of {@link #ttl()}.
+     *
+     * @return Unit of {@link #ttl()}.
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    /**
+     * Names of request headers which identify the request, in addition to the method and the url.
+     *
+     * @return Names of request headers which identify the request.
+     */
+    String[] headers() default {};
+}
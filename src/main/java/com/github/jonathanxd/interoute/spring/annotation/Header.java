@@ -28,8 +28,7 @@
 package com.github.jonathanxd.interoute.spring.annotation;
 
 import com.github.jonathanxd.interoute.annotation.RouteInfo;
-import com.github.jonathanxd.interoute.spring.uni.HeadersUnifier;
-import com.github.jonathanxd.interoute.spring.uni.RequestMethodUnifier;
+import com.github.jonathanxd.interoute.spring.uni.HeaderUnifier;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -38,7 +37,7 @@ import java.lang.annotation.Target;
 
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD, ElementType.TYPE})
-@RouteInfo(HeadersUnifier.class)
+@RouteInfo(HeaderUnifier.class)
 public @interface Header {
     /**
      * Header key.
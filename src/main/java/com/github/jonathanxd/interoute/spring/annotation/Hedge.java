@@ -0,0 +1,86 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.annotation;
+
+import com.github.jonathanxd.interoute.annotation.RouteInfo;
+import com.github.jonathanxd.interoute.spring.uni.HedgePolicyUnifier;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends a hedged request of a {@code GET}, {@code HEAD} or {@code OPTIONS} route if the response
+ * takes longer than the hedge delay, and completes with the first successful response. The delay
+ * is either fixed, with {@link #delay()}, or the {@link #percentile()} of the latency of recent
+ * requests of the route. Hedged requests are limited to a {@link #budget()} percentage of the
+ * executions of the route.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@RouteInfo(HedgePolicyUnifier.class)
+public @interface Hedge {
+    /**
+     * Fixed delay before sending a hedged request, if negative, the {@link #percentile()} of
+     * latency is used.
+     *
+     * @return Fixed delay before sending a hedged request.
+     */
+    long delay() default -1;
+
+    /**
+     * Unit of {@link #delay()}.
+     *
+     * @return Unit of {@link #delay()}.
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * Percentile, between {@code 0} and {@code 1}, of the latency of recent requests used as delay
+     * if there is no fixed {@link #delay()}.
+     *
+     * @return Percentile of latency used as delay.
+     */
+    double percentile() default 0.95;
+
+    /**
+     * Maximum number of hedged requests of an execution of the route.
+     *
+     * @return Maximum number of hedged requests.
+     */
+    int max() default 1;
+
+    /**
+     * Maximum percentage of hedged requests over executions of the route.
+     *
+     * @return Maximum percentage of hedged requests.
+     */
+    double budget() default 10;
+}
@@ -0,0 +1,59 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.annotation;
+
+import com.github.jonathanxd.interoute.spring.UriTemplateMode;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the implementation of the annotated router interface at build time, with the {@link
+ * com.github.jonathanxd.interoute.spring.processor.PrecompiledRouterProcessor annotation
+ * processor}, instead of generating it at runtime.
+ *
+ * Only routers of {@link com.github.jonathanxd.interoute.spring.SpringRestBackend} are supported.
+ * The generated class is named {@code <Interface>$InterouteRouter} and is used by {@link
+ * com.github.jonathanxd.interoute.spring.SpringInterouteConfiguration#createRouter(Class)} when
+ * present.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PrecompiledRouter {
+
+    /**
+     * Mode used to build urls of routes. Since the router is generated at build time, {@link
+     * com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration#getUriTemplateMode()}
+     * does not apply.
+     *
+     * @return Mode used to build urls of routes.
+     */
+    UriTemplateMode uriTemplateMode() default UriTemplateMode.TEMPLATE;
+}
@@ -0,0 +1,157 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.batch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batching behavior of a single-item route, declared with {@link
+ * com.github.jonathanxd.interoute.spring.annotation.Batch}.
+ */
+public final class BatchPolicy {
+    private final String route;
+    private final String key;
+    private final long windowNanos;
+    private final int maxSize;
+
+    private BatchPolicy(String route, String key, long windowNanos, int maxSize) {
+        this.route = route;
+        this.key = key;
+        this.windowNanos = windowNanos;
+        this.maxSize = maxSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the name of the bulk route method, which receives the list of keys of the batch.
+     *
+     * @return Name of the bulk route method.
+     */
+    public String getRoute() {
+        return this.route;
+    }
+
+    /**
+     * Gets the property of items of the bulk result which holds the key of the item, or an empty
+     * string if items are in the same order of the keys.
+     *
+     * @return Property which holds the key of the item.
+     */
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * Gets the time, in nanoseconds, to wait for more keys after the first key of a batch.
+     *
+     * @return Time to wait for more keys, in nanoseconds.
+     */
+    public long getWindowNanos() {
+        return this.windowNanos;
+    }
+
+    /**
+     * Gets the maximum number of keys of a batch, a full batch is sent without waiting for the
+     * window.
+     *
+     * @return Maximum number of keys of a batch.
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public static class Builder {
+        private String route;
+        private String key = "";
+        private long windowNanos = TimeUnit.MILLISECONDS.toNanos(10);
+        private int maxSize = 100;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the name of the bulk route method, declared in the same router.
+         *
+         * @param route Name of the bulk route method.
+         * @return This builder.
+         */
+        public Builder route(String route) {
+            this.route = route;
+            return this;
+        }
+
+        /**
+         * Sets the property of items of the bulk result which holds the key of the item.
+         *
+         * @param key Property which holds the key, or an empty string to match items by position.
+         * @return This builder.
+         */
+        public Builder key(String key) {
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * Sets the time to wait for more keys after the first key of a batch.
+         *
+         * @param window Time to wait for more keys.
+         * @param unit   Unit of {@code window}.
+         * @return This builder.
+         */
+        public Builder window(long window, TimeUnit unit) {
+            this.windowNanos = unit.toNanos(window);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of keys of a batch.
+         *
+         * @param maxSize Maximum number of keys of a batch.
+         * @return This builder.
+         */
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public BatchPolicy build() {
+            if (this.route == null || this.route.isEmpty()) {
+                throw new IllegalArgumentException("Bulk route of batch must be specified.");
+            }
+
+            if (this.maxSize < 1) {
+                throw new IllegalArgumentException(String.format("Maximum size of batch must be positive, found: %d.", this.maxSize));
+            }
+
+            return new BatchPolicy(this.route, this.key, this.windowNanos, this.maxSize);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.batch;
+
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.route.AbstractRoute;
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.executor.RouteExecutors;
+import com.github.jonathanxd.iutils.object.result.Result;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Merges executions of a single-item route, declared with {@link
+ * com.github.jonathanxd.interoute.spring.annotation.Batch}, into requests of the bulk route.
+ *
+ * The first key of a batch schedules the request of the bulk route after the {@link
+ * BatchPolicy#getWindowNanos() window}, keys received in the meantime join the batch. A batch which
+ * reaches the {@link BatchPolicy#getMaxSize() maximum size} is sent immediately. Executions of the
+ * same key in a batch share the item. Each router instance has its own pending batch, so keys of
+ * different routers never share a request of the bulk route.
+ */
+public final class RouteBatcher {
+    private final Origin origin;
+    private final Destination destination;
+    private final BatchPolicy policy;
+    private final ConcurrentMap<Object, PendingBatch> pending = new ConcurrentHashMap<>();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batched = new LongAdder();
+    private volatile Method bulkRoute;
+
+    /**
+     * @param origin      Origin of the single-item route.
+     * @param destination Destination of the single-item route.
+     * @param policy      Batching behavior of the route.
+     */
+    public RouteBatcher(Origin origin, Destination destination, BatchPolicy policy) {
+        this.origin = origin;
+        this.destination = destination;
+        this.policy = policy;
+    }
+
+    /**
+     * Creates the route of the item of {@code key}. The key joins a batch when the route is
+     * executed.
+     *
+     * @param router Router instance, which declares the bulk route.
+     * @param key    Key of the item.
+     * @return Route of the item.
+     */
+    public Route<?> route(Object router, Object key) {
+        return new BatchedRoute(this.origin, this.destination, this, router, key);
+    }
+
+    /**
+     * Gets the batching behavior of the route.
+     *
+     * @return Batching behavior of the route.
+     */
+    public BatchPolicy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Gets the number of requests of the bulk route sent by this batcher.
+     *
+     * @return Number of batches.
+     */
+    public long getBatchCount() {
+        return this.batches.sum();
+    }
+
+    /**
+     * Gets the number of executions of the single-item route which joined a batch.
+     *
+     * @return Number of batched executions.
+     */
+    public long getBatchedCount() {
+        return this.batched.sum();
+    }
+
+    private CompletableFuture<Result<Object, RoutingException>> enqueue(Object router, Object key) {
+        CompletableFuture<Result<Object, RoutingException>> future = new CompletableFuture<>();
+        PendingBatch[] full = new PendingBatch[1];
+
+        this.pending.compute(router, (it, batch) -> {
+            if (batch == null) {
+                PendingBatch created = new PendingBatch(router);
+                created.timer = RouteExecutors.scheduler().schedule(() -> this.flush(created),
+                        this.policy.getWindowNanos(), TimeUnit.NANOSECONDS);
+                batch = created;
+            }
+
+            batch.add(key, future);
+
+            if (batch.waiters.size() >= this.policy.getMaxSize()) {
+                batch.timer.cancel(false);
+                full[0] = batch;
+                return null;
+            }
+
+            return batch;
+        });
+
+        this.batched.increment();
+
+        if (full[0] != null) {
+            this.dispatch(full[0]);
+        }
+
+        return future;
+    }
+
+    private void flush(PendingBatch batch) {
+        if (this.pending.remove(batch.router, batch)) {
+            this.dispatch(batch);
+        }
+    }
+
+    private void dispatch(PendingBatch batch) {
+        List<Object> keys = new ArrayList<>(batch.keys.values());
+        Route<?> route;
+
+        this.batches.increment();
+
+        try {
+            route = (Route<?>) this.getBulkRoute(batch.router).invoke(batch.router, keys);
+        } catch (InvocationTargetException e) {
+            batch.fail(new RoutingException(e.getCause()));
+            return;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            batch.fail(new RoutingException(e));
+            return;
+        }
+
+        route.execute().whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                batch.fail(new RoutingException(throwable));
+            } else if (result.isError()) {
+                batch.fail(result.errorOrNull());
+            } else {
+                try {
+                    batch.complete(this.split(result.successOrNull(), keys));
+                } catch (RuntimeException e) {
+                    batch.fail(new RoutingException(e));
+                }
+            }
+        });
+    }
+
+    /**
+     * Maps items of the bulk result by the string representation of their keys.
+     */
+    private Map<String, Object> split(Object result, List<Object> keys) {
+        Map<String, Object> items = new HashMap<>();
+
+        if (result instanceof Map<?, ?>) {
+            ((Map<?, ?>) result).forEach((key, item) -> items.put(String.valueOf(key), item));
+        } else if (result instanceof Collection<?>) {
+            Collection<?> collection = (Collection<?>) result;
+
+            if (this.policy.getKey().isEmpty()) {
+                if (collection.size() != keys.size()) {
+                    throw new IllegalStateException(String.format("Bulk route '%s' resulted in %d items for %d keys.",
+                            this.policy.getRoute(), collection.size(), keys.size()));
+                }
+
+                Iterator<Object> keyIterator = keys.iterator();
+
+                for (Object item : collection) {
+                    items.put(String.valueOf(keyIterator.next()), item);
+                }
+            } else {
+                for (Object item : collection) {
+                    items.put(String.valueOf(this.getKey(item)), item);
+                }
+            }
+        } else if (result != null) {
+            throw new IllegalStateException(String.format("Bulk route '%s' must result in a Collection or Map, found: %s.",
+                    this.policy.getRoute(), result.getClass().getName()));
+        }
+
+        return items;
+    }
+
+    private Object getKey(Object item) {
+        if (item instanceof Map<?, ?>) {
+            return ((Map<?, ?>) item).get(this.policy.getKey());
+        }
+
+        return new BeanWrapperImpl(item).getPropertyValue(this.policy.getKey());
+    }
+
+    private Method getBulkRoute(Object router) throws NoSuchMethodException {
+        Method bulkRoute = this.bulkRoute;
+
+        if (bulkRoute != null && bulkRoute.getDeclaringClass().isInstance(router)) {
+            return bulkRoute;
+        }
+
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(router.getClass())) {
+            for (Method method : type.getMethods()) {
+                if (method.getName().equals(this.policy.getRoute())
+                        && method.getParameterCount() == 1
+                        && method.getParameterTypes()[0].isAssignableFrom(ArrayList.class)
+                        && Route.class.isAssignableFrom(method.getReturnType())) {
+                    this.bulkRoute = method;
+                    return method;
+                }
+            }
+        }
+
+        throw new NoSuchMethodException(String.format("Bulk route '%s(List)' not found in router '%s'.",
+                this.policy.getRoute(), router.getClass().getName()));
+    }
+
+    private static final class PendingBatch {
+        private final Object router;
+        private final Map<String, Object> keys = new LinkedHashMap<>();
+        private final Map<String, List<CompletableFuture<Result<Object, RoutingException>>>> waiters = new LinkedHashMap<>();
+        private ScheduledFuture<?> timer;
+
+        PendingBatch(Object router) {
+            this.router = router;
+        }
+
+        void add(Object key, CompletableFuture<Result<Object, RoutingException>> future) {
+            String id = String.valueOf(key);
+            this.keys.putIfAbsent(id, key);
+            this.waiters.computeIfAbsent(id, it -> new ArrayList<>(1)).add(future);
+        }
+
+        void complete(Map<String, Object> items) {
+            this.waiters.forEach((key, futures) -> {
+                Result<Object, RoutingException> result = items.containsKey(key)
+                        ? Result.ok(items.get(key))
+                        : Result.error(new RoutingException(new NoSuchElementException(
+                        String.format("Bulk route did not result in an item of key '%s'.", key))));
+
+                futures.forEach(it -> it.complete(result));
+            });
+        }
+
+        void fail(RoutingException exception) {
+            Result<Object, RoutingException> result = Result.error(exception);
+            this.waiters.values().forEach(futures -> futures.forEach(it -> it.complete(result)));
+        }
+    }
+
+    private static final class BatchedRoute extends AbstractRoute<Object> {
+        private final RouteBatcher batcher;
+        private final Object router;
+        private final Object key;
+
+        BatchedRoute(@NotNull Origin origin,
+                     @NotNull Destination destination,
+                     RouteBatcher batcher,
+                     Object router,
+                     Object key) {
+            super(origin, destination);
+            this.batcher = batcher;
+            this.router = router;
+            this.key = key;
+        }
+
+        @Override
+        public CompletableFuture<Result<Object, RoutingException>> execute() {
+            return this.batcher.enqueue(this.router, this.key);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent map bounded by an approximate least recently used eviction, used by the response
+ * caches, which are read by every request of their routes.
+ *
+ * Reads never lock, they only record the access time of the entry. When an insertion grows the
+ * map over its maximum size, a single thread evicts the least recently used entries down to
+ * {@code 15/16} of the maximum size, so the cost of ordering the entries is shared by the
+ * following insertions. Concurrent insertions do not wait for the eviction, so the map may
+ * briefly hold a few entries more than its maximum size.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ */
+final class BoundedCache<K, V> {
+    private final int maximumSize;
+    private final int evictedSize;
+    private final ConcurrentMap<K, Node<V>> nodes = new ConcurrentHashMap<>();
+    private final ReentrantLock eviction = new ReentrantLock();
+    private final LongAdder evictions = new LongAdder();
+
+    BoundedCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive, found: " + maximumSize);
+        }
+
+        this.maximumSize = maximumSize;
+        this.evictedSize = maximumSize - maximumSize / 16;
+    }
+
+    V get(K key) {
+        Node<V> node = this.nodes.get(key);
+
+        if (node == null) {
+            return null;
+        }
+
+        node.accessed = System.nanoTime();
+        return node.value;
+    }
+
+    void put(K key, V value) {
+        this.nodes.put(key, new Node<>(value));
+
+        if (this.nodes.size() > this.maximumSize) {
+            this.evict();
+        }
+    }
+
+    /**
+     * Removes the entry of {@code key} if its value is still {@code value}.
+     */
+    void remove(K key, V value) {
+        this.nodes.computeIfPresent(key, (k, node) -> node.value == value ? null : node);
+    }
+
+    void clear() {
+        this.nodes.clear();
+    }
+
+    int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    int size() {
+        return this.nodes.size();
+    }
+
+    long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    private void evict() {
+        if (!this.eviction.tryLock()) {
+            // Another thread is already evicting.
+            return;
+        }
+
+        try {
+            int excess = this.nodes.size() - this.evictedSize;
+
+            if (excess <= 0) {
+                return;
+            }
+
+            // Access times are copied, so concurrent reads do not change the order while sorting.
+            List<Candidate<K, V>> candidates = new ArrayList<>(this.nodes.size());
+
+            for (Map.Entry<K, Node<V>> entry : this.nodes.entrySet()) {
+                candidates.add(new Candidate<>(entry.getKey(), entry.getValue()));
+            }
+
+            candidates.sort(Comparator.comparingLong(it -> it.accessed));
+
+            for (int i = 0; i < excess && i < candidates.size(); i++) {
+                Candidate<K, V> candidate = candidates.get(i);
+
+                if (this.nodes.remove(candidate.key, candidate.node)) {
+                    this.evictions.increment();
+                }
+            }
+        } finally {
+            this.eviction.unlock();
+        }
+    }
+
+    private static final class Candidate<K, V> {
+        private final K key;
+        private final Node<V> node;
+        private final long accessed;
+
+        Candidate(K key, Node<V> node) {
+            this.key = key;
+            this.node = node;
+            this.accessed = node.accessed;
+        }
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        private volatile long accessed = System.nanoTime();
+
+        Node(V value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of responses of routes annotated with {@link com.github.jonathanxd.interoute.spring.annotation.CacheResponse},
+ * shared by all routes of the routers configured with it. Reads and writes do not lock the
+ * cache; when it grows past its maximum size, the least recently used responses are evicted in a
+ * batch, so the cache holds its maximum size only approximately.
+ *
+ * Responses are kept for the ttl of the route, or less if the response has a {@code
+ * Cache-Control} {@code max-age} or an {@code Expires} header. Responses with {@code
+ * Cache-Control} {@code no-store} or {@code no-cache}, or with an {@code Expires} header that is
+ * not a valid date, such as {@code Expires: 0}, are not cached.
+ *
+ * Cached responses are not copied: every request answered from the cache receives the same {@link
+ * ResponseEntity} and the same decoded body, so bodies of cached routes must be treated as
+ * read-only.
+ *
+ * Routes are invalidated by url template, the literal value of {@link
+ * com.github.jonathanxd.interoute.annotation.RouteTo} of the route, which drops the cached
+ * responses of the route for all arguments.
+ */
+public final class ResponseCache {
+    /**
+     * Number of requests answered from the cache.
+     */
+    public static final String HITS = "interoute.cache.hits";
+
+    /**
+     * Number of cacheable requests not answered from the cache.
+     */
+    public static final String MISSES = "interoute.cache.misses";
+
+    /**
+     * Number of responses evicted to bound the size of the cache.
+     */
+    public static final String EVICTIONS = "interoute.cache.evictions";
+
+    /**
+     * Number of cached responses.
+     */
+    public static final String SIZE = "interoute.cache.size";
+
+    private final BoundedCache<RouteKey, Entry> entries;
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maximumSize Maximum number of cached responses.
+     */
+    public ResponseCache(int maximumSize) {
+        this.entries = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * Gets the cached response of {@code key}.
+     *
+     * @param route       Route instance, responses of different routes are never shared.
+     * @param urlTemplate Url template of the route.
+     * @param key         {@link RouteCachePolicy#key Cache key} of the request.
+     * @return Cached response, shared by all requests answered from the cache, or {@code null} if
+     * there is no fresh response.
+     */
+    public ResponseEntity<?> get(Object route, String urlTemplate, String key) {
+        RouteKey cacheKey = new RouteKey(route, key);
+        long version = this.version(urlTemplate).get();
+        Entry entry = this.entries.get(cacheKey);
+
+        if (entry != null && (entry.version != version || System.nanoTime() - entry.expiresAt >= 0)) {
+            this.entries.remove(cacheKey, entry);
+            entry = null;
+        }
+
+        if (entry == null) {
+            this.misses.increment();
+            return null;
+        }
+
+        this.hits.increment();
+        return entry.response;
+    }
+
+    /**
+     * Caches {@code response} of {@code key}, if it is successful and its headers allow caching.
+     *
+     * @param route       Route instance.
+     * @param urlTemplate Url template of the route.
+     * @param key         {@link RouteCachePolicy#key Cache key} of the request.
+     * @param response    Response.
+     * @param ttlNanos    Maximum time to keep the response, in nanoseconds.
+     * @param version     {@link #getVersion(String) Version} of {@code urlTemplate} read before
+     *                    the request was sent. The response is not cached if the route was
+     *                    invalidated since then.
+     */
+    public void put(Object route, String urlTemplate, String key, ResponseEntity<?> response, long ttlNanos, long version) {
+        if (response.getStatusCodeValue() / 100 != 2) {
+            return;
+        }
+
+        long freshness = ResponseCache.getFreshnessNanos(response.getHeaders(), ttlNanos);
+
+        if (freshness <= 0) {
+            return;
+        }
+
+        if (this.getVersion(urlTemplate) != version) {
+            return;
+        }
+
+        this.entries.put(new RouteKey(route, key), new Entry(response, System.nanoTime() + freshness, version));
+    }
+
+    /**
+     * Invalidates all cached responses of routes with url template {@code urlTemplate}.
+     *
+     * @param urlTemplate Url template of the route.
+     */
+    public void invalidate(String urlTemplate) {
+        this.version(urlTemplate).incrementAndGet();
+    }
+
+    /**
+     * Gets the version of {@code urlTemplate}, which changes when the route is {@link
+     * #invalidate(String) invalidated}.
+     *
+     * @param urlTemplate Url template of the route.
+     * @return Version of {@code urlTemplate}.
+     */
+    public long getVersion(String urlTemplate) {
+        return this.version(urlTemplate).get();
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public void invalidateAll() {
+        this.entries.clear();
+    }
+
+    public int getMaximumSize() {
+        return this.entries.getMaximumSize();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return this.entries.getEvictionCount();
+    }
+
+    /**
+     * Gets the ratio of cacheable requests answered from the cache.
+     *
+     * @return Ratio of requests answered from the cache, {@code 0} if there was no request.
+     */
+    public double getHitRate() {
+        long hits = this.getHitCount();
+        long requests = hits + this.getMissCount();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /**
+     * Registers {@link #HITS}, {@link #MISSES}, {@link #EVICTIONS} and {@link #SIZE} meters of
+     * this cache in {@code registry}.
+     *
+     * @param registry Registry to register meters.
+     */
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(HITS, this, ResponseCache::getHitCount).register(registry);
+        FunctionCounter.builder(MISSES, this, ResponseCache::getMissCount).register(registry);
+        FunctionCounter.builder(EVICTIONS, this, ResponseCache::getEvictionCount).register(registry);
+        Gauge.builder(SIZE, this, ResponseCache::size).register(registry);
+    }
+
+    private AtomicLong version(String urlTemplate) {
+        AtomicLong version = this.versions.get(urlTemplate);
+        return version != null ? version : this.versions.computeIfAbsent(urlTemplate, it -> new AtomicLong());
+    }
+
+    /**
+     * Gets how long a response could be cached, in nanoseconds, from the {@code Cache-Control} and
+     * {@code Expires} headers, limited to {@code ttlNanos}. An {@code Expires} header that is not a
+     * valid date means the response is already expired (RFC 7234, section 5.3).
+     */
+    static long getFreshnessNanos(HttpHeaders headers, long ttlNanos) {
+        String cacheControl = headers.getCacheControl();
+
+        if (cacheControl != null) {
+            for (String directive : cacheControl.split(",")) {
+                String value = directive.trim().toLowerCase();
+
+                if (value.equals("no-store") || value.equals("no-cache")) {
+                    return 0;
+                } else if (value.startsWith("max-age=")) {
+                    try {
+                        return Math.min(ttlNanos, Long.parseLong(value.substring("max-age=".length())) * 1_000_000_000L);
+                    } catch (NumberFormatException ignored) {
+                        return 0;
+                    }
+                }
+            }
+        }
+
+        if (!headers.containsKey(HttpHeaders.EXPIRES)) {
+            return ttlNanos;
+        }
+
+        long expires = headers.getExpires();
+
+        if (expires < 0) {
+            return 0;
+        }
+
+        long date;
+
+        try {
+            date = headers.getDate();
+        } catch (IllegalArgumentException ignored) {
+            date = -1;
+        }
+
+        long freshnessMillis = expires - (date >= 0 ? date : System.currentTimeMillis());
+        return Math.min(ttlNanos, freshnessMillis * 1_000_000L);
+    }
+
+    private static final class Entry {
+        private final ResponseEntity<?> response;
+        private final long expiresAt;
+        private final long version;
+
+        Entry(ResponseEntity<?> response, long expiresAt, long version) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+            this.version = version;
+        }
+    }
+}
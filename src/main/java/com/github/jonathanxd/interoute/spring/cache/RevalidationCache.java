@@ -0,0 +1,175 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the last response with an {@code ETag} or a {@code Last-Modified} header of
+ * each {@code GET} request, keyed by route and url. Reads and writes do not lock the cache; when
+ * it grows past its maximum size, the least recently used responses are evicted in a batch.
+ *
+ * Following requests to the same url are sent with {@code If-None-Match} and {@code
+ * If-Modified-Since}, and a {@code 304 Not Modified} response is answered with the remembered
+ * response, without transferring and decoding the body again.
+ *
+ * Remembered responses are not copied: every request answered with a {@code 304 Not Modified}
+ * receives the same decoded body, so bodies of revalidated routes must be treated as read-only.
+ */
+public final class RevalidationCache {
+    /**
+     * Number of {@code 304 Not Modified} responses answered with the remembered response.
+     */
+    public static final String HITS = "interoute.revalidation.hits";
+
+    /**
+     * Number of conditional requests answered with a new response.
+     */
+    public static final String MISSES = "interoute.revalidation.misses";
+
+    /**
+     * Number of remembered responses.
+     */
+    public static final String SIZE = "interoute.revalidation.size";
+
+    private final BoundedCache<RouteKey, ResponseEntity<?>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maximumSize Maximum number of remembered responses.
+     */
+    public RevalidationCache(int maximumSize) {
+        this.entries = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * Gets the remembered response of {@code url}.
+     *
+     * @param route Route instance, responses of different routes are never shared.
+     * @param url   Url of the request.
+     * @return Remembered response, or {@code null} if there is no response to revalidate.
+     */
+    public ResponseEntity<?> get(Object route, String url) {
+        return this.entries.get(new RouteKey(route, url));
+    }
+
+    /**
+     * Creates the conditional request of {@code entity}, which is answered with {@code 304 Not
+     * Modified} if {@code remembered} is still valid.
+     *
+     * @param entity     Request entity.
+     * @param remembered Remembered response.
+     * @return Conditional request entity.
+     */
+    public static HttpEntity<?> conditional(HttpEntity<?> entity, ResponseEntity<?> remembered) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(entity.getHeaders());
+
+        String eTag = remembered.getHeaders().getETag();
+        long lastModified = remembered.getHeaders().getLastModified();
+
+        if (eTag != null) {
+            headers.setIfNoneMatch(eTag);
+        }
+
+        if (lastModified >= 0) {
+            headers.setIfModifiedSince(lastModified);
+        }
+
+        return new HttpEntity<>(entity.getBody(), headers);
+    }
+
+    /**
+     * Handles the {@code response} of a request to {@code url}: a {@code 304 Not Modified}
+     * response is replaced by the {@code remembered} response, and successful responses with
+     * validators are remembered.
+     *
+     * @param route      Route instance.
+     * @param url        Url of the request.
+     * @param remembered Response remembered when the request was sent, or {@code null}.
+     * @param response   Received response.
+     * @return Response of the request.
+     */
+    public ResponseEntity<?> update(Object route, String url, ResponseEntity<?> remembered, ResponseEntity<?> response) {
+        int status = response.getStatusCodeValue();
+
+        if (remembered != null && status == HttpStatus.NOT_MODIFIED.value()) {
+            this.hits.increment();
+            return remembered;
+        }
+
+        if (remembered != null) {
+            this.misses.increment();
+        }
+
+        if (status / 100 == 2
+                && (response.getHeaders().getETag() != null || response.getHeaders().getLastModified() >= 0)) {
+            this.entries.put(new RouteKey(route, url), response);
+        }
+
+        return response;
+    }
+
+    public int getMaximumSize() {
+        return this.entries.getMaximumSize();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Registers {@link #HITS}, {@link #MISSES} and {@link #SIZE} meters of this cache in {@code
+     * registry}.
+     *
+     * @param registry Registry to register meters.
+     */
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(HITS, this, RevalidationCache::getHitCount).register(registry);
+        FunctionCounter.builder(MISSES, this, RevalidationCache::getMissCount).register(registry);
+        Gauge.builder(SIZE, this, RevalidationCache::size).register(registry);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caching behavior of a route, declared with {@link com.github.jonathanxd.interoute.spring.annotation.CacheResponse}
+ * and {@link com.github.jonathanxd.interoute.spring.annotation.Invalidates}.
+ */
+public final class RouteCachePolicy {
+    private final long ttlNanos;
+    private final List<String> headers;
+    private final List<String> invalidates;
+
+    private RouteCachePolicy(long ttlNanos, List<String> headers, List<String> invalidates) {
+        this.ttlNanos = ttlNanos;
+        this.headers = headers;
+        this.invalidates = invalidates;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Whether responses of the route are cached.
+     *
+     * @return Whether responses of the route are cached.
+     */
+    public boolean isCached() {
+        return this.ttlNanos > 0;
+    }
+
+    /**
+     * Whether responses of a route with request method {@code method} are cached. Only {@code
+     * GET} and {@code HEAD} responses are cached.
+     *
+     * @param method Request method of the route.
+     * @return Whether responses of the route are cached.
+     */
+    public boolean isCached(HttpMethod method) {
+        return this.isCached() && (method == HttpMethod.GET || method == HttpMethod.HEAD);
+    }
+
+    /**
+     * Gets the maximum time, in nanoseconds, to keep a response of the route. Responses with
+     * {@code Cache-Control} or {@code Expires} headers may be kept for less time.
+     *
+     * @return Maximum time to keep a response, in nanoseconds.
+     */
+    public long getTtlNanos() {
+        return this.ttlNanos;
+    }
+
+    /**
+     * Gets the names of request headers which are part of the cache key, in addition to the
+     * request method and the url.
+     *
+     * @return Names of request headers which are part of the cache key.
+     */
+    public List<String> getHeaders() {
+        return this.headers;
+    }
+
+    /**
+     * Gets the url templates of routes which have cached responses invalidated by successful
+     * responses of this route.
+     *
+     * @return Url templates of invalidated routes.
+     */
+    public List<String> getInvalidates() {
+        return this.invalidates;
+    }
+
+    /**
+     * Creates the cache key of a request of the route.
+     *
+     * @param method  Request method.
+     * @param url     Url of the request.
+     * @param headers Request headers.
+     * @return Cache key of the request.
+     */
+    public String key(HttpMethod method, String url, HttpHeaders headers) {
+        if (this.headers.isEmpty()) {
+            return method.name() + " " + url;
+        }
+
+        StringBuilder key = new StringBuilder(method.name()).append(' ').append(url);
+
+        for (String header : this.headers) {
+            key.append('\n').append(header).append(':');
+
+            List<String> values = headers.get(header);
+
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Combines this policy with {@code other}: the longest ttl is kept, headers and invalidated
+     * routes are merged.
+     *
+     * @param other Other policy.
+     * @return Combined policy.
+     */
+    public RouteCachePolicy merge(RouteCachePolicy other) {
+        Set<String> headers = new LinkedHashSet<>(this.headers);
+        Set<String> invalidates = new LinkedHashSet<>(this.invalidates);
+        headers.addAll(other.headers);
+        invalidates.addAll(other.invalidates);
+
+        return new RouteCachePolicy(Math.max(this.ttlNanos, other.ttlNanos),
+                Collections.unmodifiableList(new ArrayList<>(headers)),
+                Collections.unmodifiableList(new ArrayList<>(invalidates)));
+    }
+
+    public static class Builder {
+        private long ttlNanos;
+        private final List<String> headers = new ArrayList<>();
+        private final List<String> invalidates = new ArrayList<>();
+
+        Builder() {
+        }
+
+        /**
+         * Sets the maximum time to keep responses of the route, responses are not cached if
+         * {@code ttl} is not positive.
+         *
+         * @param ttl  Maximum time to keep responses.
+         * @param unit Unit of {@code ttl}.
+         * @return This builder.
+         */
+        public Builder ttl(long ttl, TimeUnit unit) {
+            this.ttlNanos = unit.toNanos(ttl);
+            return this;
+        }
+
+        /**
+         * Adds a request header to the cache key.
+         *
+         * @param name Name of the header.
+         * @return This builder.
+         */
+        public Builder header(String name) {
+            this.headers.add(name);
+            return this;
+        }
+
+        /**
+         * Adds a route with responses invalidated by successful responses of this route.
+         *
+         * @param urlTemplate Url template of the route, as declared in {@link com.github.jonathanxd.interoute.annotation.RouteTo}.
+         * @return This builder.
+         */
+        public Builder invalidates(String urlTemplate) {
+            this.invalidates.add(urlTemplate);
+            return this;
+        }
+
+        public RouteCachePolicy build() {
+            return new RouteCachePolicy(this.ttlNanos,
+                    Collections.unmodifiableList(new ArrayList<>(this.headers)),
+                    Collections.unmodifiableList(new ArrayList<>(this.invalidates)));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.executor;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors used to run blocking route exchanges.
+ *
+ * Routes never run in the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}, a
+ * slow upstream service would otherwise starve every {@link java.util.concurrent.CompletableFuture}
+ * of the application which relies on it.
+ */
+public final class RouteExecutors {
+
+    private RouteExecutors() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the default executor of routes, a cached pool of daemon threads shared by all routers.
+     * Threads are created on demand and discarded after one minute of inactivity.
+     *
+     * @return Default executor of routes.
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Returns whether the runtime supports virtual threads.
+     *
+     * @return Whether the runtime supports virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreadHolder.EXECUTOR.isPresent();
+    }
+
+    /**
+     * Gets the executor which starts a new virtual thread for each route execution, if supported by
+     * the runtime.
+     *
+     * @return Virtual thread per task executor, if supported by the runtime.
+     */
+    public static Optional<Executor> virtualThreadPerTask() {
+        return VirtualThreadHolder.EXECUTOR;
+    }
+
+    /**
+     * Gets the executor which starts a new virtual thread for each route execution or, if the
+     * runtime does not support virtual threads, the {@link #defaultExecutor() default executor}.
+     *
+     * @return Virtual thread per task executor or default executor.
+     */
+    public static Executor virtualThreadPerTaskOrDefault() {
+        return VirtualThreadHolder.EXECUTOR.orElseGet(RouteExecutors::defaultExecutor);
+    }
+
+    /**
+     * Gets the scheduler of delayed route tasks, such as dispatching batches. The scheduler has a
+     * single daemon thread shared by all routers, tasks must not block.
+     *
+     * @return Scheduler of delayed route tasks.
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SchedulerHolder.SCHEDULER;
+    }
+
+    private static final class DefaultExecutorHolder {
+        private static final Executor EXECUTOR = Executors.newCachedThreadPool(new RouteThreadFactory("interoute-route-"));
+    }
+
+    private static final class SchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER =
+                Executors.newSingleThreadScheduledExecutor(new RouteThreadFactory("interoute-scheduler-"));
+    }
+
+    private static final class VirtualThreadHolder {
+        private static final Optional<Executor> EXECUTOR = VirtualThreadHolder.create();
+
+        private static Optional<Executor> create() {
+            try {
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return Optional.of((ExecutorService) method.invoke(null));
+            } catch (ReflectiveOperationException | UnsupportedOperationException | LinkageError e) {
+                // Older runtime, or virtual threads are a preview feature which is not enabled.
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static final class RouteThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        RouteThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, this.prefix + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.headers;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Headers of a route, resolved once when the router is generated.
+ *
+ * Headers declared with {@link com.github.jonathanxd.interoute.spring.annotation.Header} are merged
+ * into a single read-only {@link HttpHeaders} shared by every invocation. Providers declared with
+ * {@link com.github.jonathanxd.interoute.spring.annotation.Headers} are only invoked when present,
+ * and only then a new {@link HttpHeaders} is created for the invocation.
+ */
+public final class RouteHeaders {
+
+    private static final HttpHeaders NO_HEADERS = HttpHeaders.readOnlyHttpHeaders(new HttpHeaders());
+
+    private final HttpHeaders staticHeaders;
+    private final Supplier<HttpHeaders>[] providers;
+    private final HttpEntity<?> staticEntity;
+
+    private RouteHeaders(HttpHeaders staticHeaders, Supplier<HttpHeaders>[] providers) {
+        this.staticHeaders = staticHeaders;
+        this.providers = providers;
+        this.staticEntity = providers.length == 0 ? new HttpEntity<>(staticHeaders) : null;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the headers of the route. If there is no provider, the returned headers are read-only
+     * and shared.
+     *
+     * @return Headers of the route.
+     */
+    public HttpHeaders get() {
+        if (this.providers.length == 0) {
+            return this.staticHeaders;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(this.staticHeaders);
+
+        for (Supplier<HttpHeaders> provider : this.providers) {
+            HttpHeaders provided = provider.get();
+
+            if (provided != null) {
+                headers.putAll(provided);
+            }
+        }
+
+        return headers;
+    }
+
+    /**
+     * Gets an {@link HttpEntity} without body and with the headers of the route. If there is no
+     * provider, the returned entity is shared.
+     *
+     * @return {@link HttpEntity} without body and with the headers of the route.
+     */
+    public HttpEntity<?> entity() {
+        if (this.staticEntity != null) {
+            return this.staticEntity;
+        }
+
+        return new HttpEntity<>(this.get());
+    }
+
+    /**
+     * Gets the headers of the route merged with {@code additional} headers.
+     *
+     * @param additional Additional headers, which overrides headers of the route.
+     * @return Headers of the route merged with {@code additional} headers.
+     */
+    public HttpHeaders with(HttpHeaders additional) {
+        if (additional == null || additional.isEmpty()) {
+            return this.get();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(this.get());
+        headers.putAll(additional);
+        return headers;
+    }
+
+    /**
+     * Returns whether all headers are known ahead of invocation, which means that {@link #get()}
+     * always returns the same instance.
+     *
+     * @return Whether all headers are known ahead of invocation.
+     */
+    public boolean isStatic() {
+        return this.providers.length == 0;
+    }
+
+    public static class Builder {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final List<Supplier<HttpHeaders>> providers = new ArrayList<>();
+
+        Builder() {
+        }
+
+        /**
+         * Adds a value of a static header.
+         *
+         * @param key   Header key.
+         * @param value Header value.
+         * @return This builder.
+         */
+        public Builder header(String key, String value) {
+            this.headers.add(key, value);
+            return this;
+        }
+
+        /**
+         * Adds a provider of dynamic headers, invoked on every route invocation.
+         *
+         * @param provider Provider of dynamic headers.
+         * @return This builder.
+         */
+        public Builder provider(Supplier<HttpHeaders> provider) {
+            this.providers.add(provider);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public RouteHeaders build() {
+            return new RouteHeaders(
+                    this.headers.isEmpty() ? NO_HEADERS : HttpHeaders.readOnlyHttpHeaders(this.headers),
+                    this.providers.toArray(new Supplier[0])
+            );
+        }
+    }
+}
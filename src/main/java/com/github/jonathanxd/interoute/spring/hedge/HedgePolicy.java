@@ -0,0 +1,157 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.hedge;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hedging behavior of a route, declared with {@link com.github.jonathanxd.interoute.spring.annotation.Hedge}.
+ */
+public final class HedgePolicy {
+    private final long delayNanos;
+    private final double percentile;
+    private final int max;
+    private final double budget;
+
+    private HedgePolicy(long delayNanos, double percentile, int max, double budget) {
+        this.delayNanos = delayNanos;
+        this.percentile = percentile;
+        this.max = max;
+        this.budget = budget;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the fixed delay, in nanoseconds, before sending a hedged request, or a negative value if
+     * the delay is the {@link #getPercentile() percentile} of the latency of the route.
+     *
+     * @return Fixed delay before sending a hedged request, in nanoseconds.
+     */
+    public long getDelayNanos() {
+        return this.delayNanos;
+    }
+
+    /**
+     * Gets the percentile, between {@code 0} and {@code 1}, of the latency of recent requests of
+     * the route used as delay, if there is no fixed delay.
+     *
+     * @return Percentile of latency used as delay.
+     */
+    public double getPercentile() {
+        return this.percentile;
+    }
+
+    /**
+     * Gets the maximum number of hedged requests of an execution of the route.
+     *
+     * @return Maximum number of hedged requests.
+     */
+    public int getMax() {
+        return this.max;
+    }
+
+    /**
+     * Gets the maximum percentage of hedged requests over executions of the route.
+     *
+     * @return Maximum percentage of hedged requests.
+     */
+    public double getBudget() {
+        return this.budget;
+    }
+
+    public static class Builder {
+        private long delayNanos = -1;
+        private double percentile = 0.95;
+        private int max = 1;
+        private double budget = 10;
+
+        Builder() {
+        }
+
+        /**
+         * Sets a fixed delay before sending a hedged request. A negative delay uses the {@link
+         * #percentile(double) percentile} of latency instead.
+         *
+         * @param delay Delay before sending a hedged request.
+         * @param unit  Unit of {@code delay}.
+         * @return This builder.
+         */
+        public Builder delay(long delay, TimeUnit unit) {
+            this.delayNanos = delay < 0 ? -1 : unit.toNanos(delay);
+            return this;
+        }
+
+        /**
+         * Sets the percentile of latency of recent requests used as delay.
+         *
+         * @param percentile Percentile between {@code 0} and {@code 1}.
+         * @return This builder.
+         */
+        public Builder percentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of hedged requests of an execution of the route.
+         *
+         * @param max Maximum number of hedged requests.
+         * @return This builder.
+         */
+        public Builder max(int max) {
+            this.max = max;
+            return this;
+        }
+
+        /**
+         * Sets the maximum percentage of hedged requests over executions of the route.
+         *
+         * @param budget Maximum percentage of hedged requests.
+         * @return This builder.
+         */
+        public Builder budget(double budget) {
+            this.budget = budget;
+            return this;
+        }
+
+        public HedgePolicy build() {
+            if (this.percentile <= 0 || this.percentile >= 1) {
+                throw new IllegalArgumentException(String.format("Percentile must be between 0 and 1, found: %s.", this.percentile));
+            }
+
+            if (this.max < 1) {
+                throw new IllegalArgumentException(String.format("Maximum hedged requests must be positive, found: %d.", this.max));
+            }
+
+            return new HedgePolicy(this.delayNanos, this.percentile, this.max, this.budget);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * State of hedging of a single route: the latency of recent requests, which gives the hedge delay
+ * if the {@link HedgePolicy policy} has no fixed delay, and the counters which enforce the {@link
+ * HedgePolicy#getBudget() budget}.
+ *
+ * The latency percentile is estimated from the last {@value #SAMPLES} requests, and only refreshed
+ * every {@value #REFRESH} requests. Requests are not hedged before {@value #MIN_SAMPLES} requests
+ * completed.
+ */
+public final class RouteHedger {
+    private static final int SAMPLES = 256;
+    private static final int REFRESH = 16;
+    private static final int MIN_SAMPLES = 20;
+
+    private final HedgePolicy policy;
+    private final AtomicLongArray latencies = new AtomicLongArray(SAMPLES);
+    private final AtomicLong recorded = new AtomicLong();
+    private final LongAdder executions = new LongAdder();
+    private final AtomicLong hedges = new AtomicLong();
+    private final LongAdder wins = new LongAdder();
+    private volatile long estimate = -1;
+
+    public RouteHedger(HedgePolicy policy) {
+        this.policy = policy;
+    }
+
+    public HedgePolicy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Gets the delay, in nanoseconds, before sending a hedged request.
+     *
+     * @return Delay before sending a hedged request, or a negative value if requests can not be
+     * hedged yet.
+     */
+    public long getDelayNanos() {
+        long delay = this.policy.getDelayNanos();
+        return delay >= 0 ? delay : this.estimate;
+    }
+
+    /**
+     * Records an execution of the route, which increases the budget of hedged requests.
+     */
+    public void execution() {
+        this.executions.increment();
+    }
+
+    /**
+     * Records the latency of a completed request.
+     *
+     * @param nanos Latency of the request, in nanoseconds.
+     */
+    public void latency(long nanos) {
+        long count = this.recorded.getAndIncrement();
+        this.latencies.set((int) (count % SAMPLES), nanos);
+
+        if (this.policy.getDelayNanos() < 0 && count + 1 >= MIN_SAMPLES && (count + 1) % REFRESH == 0) {
+            this.estimate = this.percentile((int) Math.min(count + 1, SAMPLES));
+        }
+    }
+
+    /**
+     * Reserves a hedged request, if the budget allows it. The budget is rounded up, so the first
+     * execution of the route can already be hedged, and hedged requests never exceed one more than
+     * {@code budget} percent of the executions.
+     *
+     * @return Whether the hedged request could be sent.
+     */
+    public boolean tryHedge() {
+        long budget = (long) Math.ceil(this.executions.sum() * this.policy.getBudget() / 100);
+
+        for (;;) {
+            long hedges = this.hedges.get();
+
+            if (hedges >= budget) {
+                return false;
+            }
+
+            if (this.hedges.compareAndSet(hedges, hedges + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records a hedged request which completed before the requests sent earlier.
+     */
+    public void win() {
+        this.wins.increment();
+    }
+
+    public long getExecutionCount() {
+        return this.executions.sum();
+    }
+
+    public long getHedgeCount() {
+        return this.hedges.get();
+    }
+
+    public long getWinCount() {
+        return this.wins.sum();
+    }
+
+    /**
+     * Gets the ratio of hedged requests over executions of the route, which is the added load.
+     *
+     * @return Ratio of hedged requests.
+     */
+    public double getHedgeRate() {
+        long executions = this.executions.sum();
+        return executions == 0 ? 0 : (double) this.hedges.get() / executions;
+    }
+
+    /**
+     * Gets the ratio of hedged requests which completed before the requests sent earlier.
+     *
+     * @return Ratio of winning hedged requests.
+     */
+    public double getWinRate() {
+        long hedges = this.hedges.get();
+        return hedges == 0 ? 0 : (double) this.wins.sum() / hedges;
+    }
+
+    private long percentile(int size) {
+        long[] samples = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            samples[i] = this.latencies.get(i);
+        }
+
+        Arrays.sort(samples);
+
+        return samples[(int) Math.min(size - 1, Math.ceil(this.policy.getPercentile() * size) - 1)];
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.http;
+
+import com.github.jonathanxd.interoute.spring.route.RouteCancellation;
+import com.github.jonathanxd.interoute.spring.route.RouteDeadline;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+/**
+ * {@link SimpleClientHttpRequestFactory} which bounds the connect and read timeouts of each request
+ * by the time left to the {@link RouteDeadline deadline of the route}, so a route with timeout
+ * does not keep the connection after its deadline.
+ *
+ * The connection is also disconnected when the route is {@link RouteCancellation cancelled},
+ * which aborts the request in flight and releases the thread of the exchange.
+ *
+ * Request bodies are streamed instead of buffered, so {@link
+ * com.github.jonathanxd.interoute.spring.route.StreamingRequest streamed bodies} are sent while
+ * they are read. Bodies without {@code Content-Length} are sent with chunked transfer.
+ */
+public class DeadlineClientHttpRequestFactory extends SimpleClientHttpRequestFactory {
+    private int connectTimeout = -1;
+    private int readTimeout = -1;
+
+    public DeadlineClientHttpRequestFactory() {
+        this.setBufferRequestBody(false);
+    }
+
+    @Override
+    public void setConnectTimeout(int connectTimeout) {
+        super.setConnectTimeout(connectTimeout);
+        this.connectTimeout = connectTimeout;
+    }
+
+    @Override
+    public void setReadTimeout(int readTimeout) {
+        super.setReadTimeout(readTimeout);
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+
+        int connectTimeout = RouteDeadline.timeoutMillis(Math.max(0, this.connectTimeout));
+        int readTimeout = RouteDeadline.timeoutMillis(Math.max(0, this.readTimeout));
+
+        if (connectTimeout > 0) {
+            connection.setConnectTimeout(connectTimeout);
+        }
+
+        if (readTimeout > 0) {
+            connection.setReadTimeout(readTimeout);
+        }
+
+        RouteCancellation.onCancel(connection::disconnect);
+    }
+}
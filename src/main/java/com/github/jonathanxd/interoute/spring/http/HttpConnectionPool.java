@@ -0,0 +1,452 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Pool of keep-alive HTTP connections, backed by Apache HttpClient, with a maximum number of
+ * connections by host. Connections idle longer than the idle timeout, or kept alive longer than
+ * the server allows, are evicted by a background thread of the pool.
+ *
+ * Requests of the {@link #getRequestFactory() request factory} of the pool reuse connections
+ * instead of connecting (and negotiating TLS) in every request, their timeouts are bounded by the
+ * {@link com.github.jonathanxd.interoute.spring.route.RouteDeadline deadline of the route} and they
+ * are aborted when the route is {@link com.github.jonathanxd.interoute.spring.route.RouteCancellation
+ * cancelled}. The pool is shared by all routers configured with it, and must be {@link #close()
+ * closed} when no longer used.
+ *
+ * Apache HttpClient is an optional dependency of this library, and is only needed to create a
+ * pool. Routers without a pool never load it.
+ */
+public final class HttpConnectionPool implements Closeable {
+    /**
+     * Number of connections leased to requests, tagged by host.
+     */
+    public static final String LEASED = "interoute.pool.leased";
+
+    /**
+     * Number of idle connections, tagged by host.
+     */
+    public static final String AVAILABLE = "interoute.pool.available";
+
+    /**
+     * Number of requests waiting for a connection, tagged by host.
+     */
+    public static final String PENDING = "interoute.pool.pending";
+
+    /**
+     * Maximum number of connections, tagged by host.
+     */
+    public static final String MAX = "interoute.pool.max";
+
+    /**
+     * Time requests waited for a connection, tagged by host.
+     */
+    public static final String WAIT = "interoute.pool.wait";
+
+    private final int maxConnections;
+    private final int maxConnectionsPerHost;
+    private final Map<String, Integer> hostMaxConnections;
+    private final Duration idleTimeout;
+    private final Duration keepAlive;
+    private final ConnectionManager connectionManager = new ConnectionManager();
+    private final ConcurrentMap<HttpRoute, HostPool> hosts = new ConcurrentHashMap<>();
+    private final CloseableHttpClient httpClient;
+    private final PooledClientHttpRequestFactory requestFactory;
+    private final RestTemplate restTemplate;
+    private volatile MeterRegistry registry;
+
+    private HttpConnectionPool(int maxConnections,
+                               int maxConnectionsPerHost,
+                               Map<String, Integer> hostMaxConnections,
+                               Duration idleTimeout,
+                               Duration keepAlive,
+                               RequestConfig requestConfig) {
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.hostMaxConnections = hostMaxConnections;
+        this.idleTimeout = idleTimeout;
+        this.keepAlive = keepAlive;
+
+        this.connectionManager.setMaxTotal(maxConnections);
+        this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(this.connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(new KeepAliveStrategy(keepAlive.toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        this.requestFactory = new PooledClientHttpRequestFactory(this.httpClient, requestConfig);
+        this.restTemplate = new RestTemplate(this.requestFactory);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the request factory which sends requests through connections of this pool.
+     *
+     * @return Request factory of this pool.
+     */
+    public ClientHttpRequestFactory getRequestFactory() {
+        return this.requestFactory;
+    }
+
+    /**
+     * Gets the rest template which sends requests through connections of this pool, used by
+     * routers configured with this pool and without rest template.
+     *
+     * @return Rest template of this pool.
+     */
+    public RestTemplate getRestTemplate() {
+        return this.restTemplate;
+    }
+
+    public int getMaxConnections() {
+        return this.maxConnections;
+    }
+
+    public int getMaxConnectionsPerHost() {
+        return this.maxConnectionsPerHost;
+    }
+
+    public Map<String, Integer> getHostMaxConnections() {
+        return this.hostMaxConnections;
+    }
+
+    public Duration getIdleTimeout() {
+        return this.idleTimeout;
+    }
+
+    public Duration getKeepAlive() {
+        return this.keepAlive;
+    }
+
+    /**
+     * Gets the statistics of all connections of the pool.
+     *
+     * @return Statistics of all connections.
+     */
+    public PoolStats getTotalStats() {
+        return this.connectionManager.getTotalStats();
+    }
+
+    /**
+     * Registers {@link #LEASED}, {@link #AVAILABLE}, {@link #PENDING}, {@link #MAX} and {@link
+     * #WAIT} meters of each host in {@code registry}, hosts are registered on their first request.
+     *
+     * @param registry Registry to register meters.
+     */
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        this.hosts.values().forEach(it -> it.bind(registry));
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.httpClient.close();
+    }
+
+    private HostPool create(HttpRoute route) {
+        Integer max = this.hostMaxConnections.get(route.getTargetHost().getHostName());
+
+        if (max != null) {
+            this.connectionManager.setMaxPerRoute(route, max);
+        }
+
+        HostPool host = new HostPool(route);
+        MeterRegistry registry = this.registry;
+
+        if (registry != null) {
+            host.bind(registry);
+        }
+
+        return host;
+    }
+
+    /**
+     * Connections to a single host, and the meters of the host.
+     */
+    private final class HostPool {
+        private final HttpRoute route;
+        private volatile Timer wait;
+
+        HostPool(HttpRoute route) {
+            this.route = route;
+        }
+
+        void bind(MeterRegistry registry) {
+            String host = this.route.getTargetHost().toHostString();
+
+            this.gauge(registry, LEASED, host, PoolStats::getLeased);
+            this.gauge(registry, AVAILABLE, host, PoolStats::getAvailable);
+            this.gauge(registry, PENDING, host, PoolStats::getPending);
+            this.gauge(registry, MAX, host, PoolStats::getMax);
+            this.wait = Timer.builder(WAIT).tag("host", host).register(registry);
+        }
+
+        private void gauge(MeterRegistry registry, String name, String host, ToDoubleFunction<PoolStats> value) {
+            Gauge.builder(name, this, it -> value.applyAsDouble(HttpConnectionPool.this.connectionManager.getStats(it.route)))
+                    .tag("host", host)
+                    .register(registry);
+        }
+
+        void record(long start) {
+            Timer wait = this.wait;
+
+            if (wait != null) {
+                wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Connection manager which records the time requests waited for a connection.
+     */
+    private final class ConnectionManager extends PoolingHttpClientConnectionManager {
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            HostPool host = HttpConnectionPool.this.hosts.get(route);
+
+            if (host == null) {
+                host = HttpConnectionPool.this.hosts.computeIfAbsent(route, HttpConnectionPool.this::create);
+            }
+
+            ConnectionRequest request = super.requestConnection(route, state);
+            HostPool pool = host;
+
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit tunit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+
+                    try {
+                        return request.get(timeout, tunit);
+                    } finally {
+                        pool.record(start);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+    }
+
+    /**
+     * Keeps connections alive as long as the server allows with the {@code Keep-Alive} header, up
+     * to {@code keepAlive}.
+     */
+    private static final class KeepAliveStrategy implements ConnectionKeepAliveStrategy {
+        private final long keepAlive;
+
+        KeepAliveStrategy(long keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        @Override
+        public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? Math.min(duration, this.keepAlive) : this.keepAlive;
+        }
+    }
+
+    public static class Builder {
+        private int maxConnections = 200;
+        private int maxConnectionsPerHost = 20;
+        private final Map<String, Integer> hostMaxConnections = new HashMap<>();
+        private Duration idleTimeout = Duration.ofSeconds(30);
+        private Duration keepAlive = Duration.ofMinutes(1);
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration readTimeout;
+        private Duration connectionRequestTimeout = Duration.ofSeconds(10);
+
+        Builder() {
+        }
+
+        /**
+         * Sets the maximum number of connections of the pool, to all hosts.
+         *
+         * @param maxConnections Maximum number of connections.
+         * @return This builder.
+         */
+        public Builder maxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections to each host.
+         *
+         * @param maxConnectionsPerHost Maximum number of connections to each host.
+         * @return This builder.
+         */
+        public Builder maxConnectionsPerHost(int maxConnectionsPerHost) {
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections to {@code host}, which takes precedence over the
+         * {@link #maxConnectionsPerHost(int) maximum of each host}.
+         *
+         * @param host           Host name, without port.
+         * @param maxConnections Maximum number of connections to {@code host}.
+         * @return This builder.
+         */
+        public Builder maxConnections(String host, int maxConnections) {
+            this.hostMaxConnections.put(host, maxConnections);
+            return this;
+        }
+
+        /**
+         * Sets how long a connection could stay idle in the pool before it is closed.
+         *
+         * @param idleTimeout Idle timeout of connections.
+         * @return This builder.
+         */
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how long a connection is kept alive when the server does not send the {@code
+         * Keep-Alive} header, and the maximum when it does.
+         *
+         * @param keepAlive Keep-alive duration of connections.
+         * @return This builder.
+         */
+        public Builder keepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * Sets the timeout to connect to the host.
+         *
+         * @param connectTimeout Connect timeout, or {@code null} for no timeout.
+         * @return This builder.
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the timeout of each read of the response.
+         *
+         * @param readTimeout Read timeout, or {@code null} for no timeout.
+         * @return This builder.
+         */
+        public Builder readTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how long a request waits for a connection when all connections to the host are
+         * leased.
+         *
+         * @param connectionRequestTimeout Timeout to lease a connection, or {@code null} for no
+         *                                 timeout.
+         * @return This builder.
+         */
+        public Builder connectionRequestTimeout(Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+            return this;
+        }
+
+        public HttpConnectionPool build() {
+            if (this.maxConnectionsPerHost < 1 || this.maxConnections < this.maxConnectionsPerHost) {
+                throw new IllegalArgumentException(String.format("Connections must satisfy 1 <= per host <= max, found: %d, %d.",
+                        this.maxConnectionsPerHost, this.maxConnections));
+            }
+
+            if (this.idleTimeout == null || this.idleTimeout.isNegative() || this.idleTimeout.isZero()) {
+                throw new IllegalArgumentException(String.format("Idle timeout must be positive, found: %s.", this.idleTimeout));
+            }
+
+            if (this.keepAlive == null || this.keepAlive.isNegative() || this.keepAlive.isZero()) {
+                throw new IllegalArgumentException(String.format("Keep-alive must be positive, found: %s.", this.keepAlive));
+            }
+
+            RequestConfig requestConfig = RequestConfig.custom()
+                    .setConnectTimeout(Builder.millis(this.connectTimeout))
+                    .setSocketTimeout(Builder.millis(this.readTimeout))
+                    .setConnectionRequestTimeout(Builder.millis(this.connectionRequestTimeout))
+                    .build();
+
+            return new HttpConnectionPool(this.maxConnections, this.maxConnectionsPerHost,
+                    Collections.unmodifiableMap(new HashMap<>(this.hostMaxConnections)),
+                    this.idleTimeout, this.keepAlive, requestConfig);
+        }
+
+        private static int millis(Duration timeout) {
+            return timeout == null ? 0 : (int) Math.min(Integer.MAX_VALUE, timeout.toMillis());
+        }
+    }
+}
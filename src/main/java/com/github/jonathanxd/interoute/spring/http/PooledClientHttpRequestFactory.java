@@ -0,0 +1,81 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.http;
+
+import com.github.jonathanxd.interoute.spring.route.RouteCancellation;
+import com.github.jonathanxd.interoute.spring.route.RouteDeadline;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.net.URI;
+
+/**
+ * Request factory of {@link HttpConnectionPool}. Request bodies are streamed instead of buffered,
+ * the connect, read and connection request timeouts are bounded by the {@link RouteDeadline
+ * deadline of the route}, and requests are aborted when the route is {@link RouteCancellation
+ * cancelled}, which releases the connection back to the pool.
+ */
+final class PooledClientHttpRequestFactory extends HttpComponentsClientHttpRequestFactory {
+    private final RequestConfig requestConfig;
+
+    PooledClientHttpRequestFactory(HttpClient httpClient, RequestConfig requestConfig) {
+        super(httpClient);
+        this.requestConfig = requestConfig;
+        this.setBufferRequestBody(false);
+    }
+
+    @Override
+    protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+        if (RouteDeadline.remainingNanos() == Long.MAX_VALUE) {
+            // Default request config of the client.
+            return null;
+        }
+
+        RequestConfig config = this.requestConfig;
+        HttpClientContext context = HttpClientContext.create();
+
+        context.setRequestConfig(RequestConfig.copy(config)
+                .setConnectTimeout(RouteDeadline.timeoutMillis(Math.max(0, config.getConnectTimeout())))
+                .setSocketTimeout(RouteDeadline.timeoutMillis(Math.max(0, config.getSocketTimeout())))
+                .setConnectionRequestTimeout(RouteDeadline.timeoutMillis(Math.max(0, config.getConnectionRequestTimeout())))
+                .build());
+
+        return context;
+    }
+
+    @Override
+    protected void postProcessHttpRequest(HttpUriRequest request) {
+        RouteCancellation.onCancel(request::abort);
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Adaptive concurrency limits of requests by destination host, shared by all routes of the routers
+ * configured with it. Requests over the {@link HostLimit limit of the host} fail immediately with
+ * {@link ConcurrencyLimitException}, instead of waiting for an executor thread while the host is
+ * slow.
+ */
+public final class ConcurrencyLimiter {
+    /**
+     * Current concurrency limit, tagged by host.
+     */
+    public static final String LIMIT = "interoute.limit";
+
+    /**
+     * Number of requests in flight, tagged by host.
+     */
+    public static final String IN_FLIGHT = "interoute.limit.in.flight";
+
+    /**
+     * Number of accepted requests waiting for an executor thread, tagged by host.
+     */
+    public static final String QUEUED = "interoute.limit.queued";
+
+    /**
+     * Number of requests rejected because the limit was reached, tagged by host.
+     */
+    public static final String REJECTIONS = "interoute.limit.rejections";
+
+    /**
+     * Number of requests dropped by the host, which decreased the limit, tagged by host.
+     */
+    public static final String DROPS = "interoute.limit.drops";
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final ConcurrentMap<String, HostLimit> hosts = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    private ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the limit of the host of {@code url}. Relative urls share the same limit.
+     *
+     * @param url Url of the request.
+     * @return Limit of the host.
+     */
+    public HostLimit get(String url) {
+        return this.limit(ConcurrencyLimiter.host(url));
+    }
+
+    /**
+     * Gets the limit of the host of {@code url}. Relative urls are limited by the host of {@code
+     * root}, the root of the uri template handler which expands them, such as the {@code rootUri}
+     * of {@code RestTemplateBuilder}.
+     *
+     * @param url  Url of the request.
+     * @param root Root of the uri template handler which expands {@code url}.
+     * @return Limit of the host.
+     */
+    public HostLimit get(String url, URI root) {
+        String host = ConcurrencyLimiter.host(url);
+
+        if (host.isEmpty()) {
+            host = ConcurrencyLimiter.host(root.toString());
+        }
+
+        return this.limit(host);
+    }
+
+    private HostLimit limit(String host) {
+        HostLimit limit = this.hosts.get(host);
+        return limit != null ? limit : this.hosts.computeIfAbsent(host, this::create);
+    }
+
+    public int getInitialLimit() {
+        return this.initialLimit;
+    }
+
+    public int getMinLimit() {
+        return this.minLimit;
+    }
+
+    public int getMaxLimit() {
+        return this.maxLimit;
+    }
+
+    public double getBackoffRatio() {
+        return this.backoffRatio;
+    }
+
+    /**
+     * Registers {@link #LIMIT}, {@link #IN_FLIGHT}, {@link #QUEUED}, {@link #REJECTIONS} and
+     * {@link #DROPS} meters of each host in {@code registry}, hosts are registered on their first
+     * request.
+     *
+     * @param registry Registry to register meters.
+     */
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        this.hosts.values().forEach(it -> ConcurrencyLimiter.bind(it, registry));
+    }
+
+    private HostLimit create(String host) {
+        HostLimit limit = new HostLimit(host, this);
+        MeterRegistry registry = this.registry;
+
+        if (registry != null) {
+            ConcurrencyLimiter.bind(limit, registry);
+        }
+
+        return limit;
+    }
+
+    private static void bind(HostLimit limit, MeterRegistry registry) {
+        Gauge.builder(LIMIT, limit, HostLimit::getLimit).tag("host", limit.getHost()).register(registry);
+        Gauge.builder(IN_FLIGHT, limit, HostLimit::getInFlight).tag("host", limit.getHost()).register(registry);
+        Gauge.builder(QUEUED, limit, HostLimit::getQueued).tag("host", limit.getHost()).register(registry);
+        FunctionCounter.builder(REJECTIONS, limit, HostLimit::getRejectedCount).tag("host", limit.getHost()).register(registry);
+        FunctionCounter.builder(DROPS, limit, HostLimit::getDroppedCount).tag("host", limit.getHost()).register(registry);
+    }
+
+    /**
+     * Gets the authority of {@code url}, without user information.
+     */
+    static String host(String url) {
+        int scheme = url.indexOf("://");
+
+        if (scheme < 0) {
+            return "";
+        }
+
+        int start = scheme + 3;
+        int end = start;
+
+        while (end < url.length() && "/?#".indexOf(url.charAt(end)) < 0) {
+            end++;
+        }
+
+        int userInfo = url.lastIndexOf('@', end - 1);
+
+        return url.substring(userInfo >= start ? userInfo + 1 : start, end);
+    }
+
+    public static class Builder {
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the limit of hosts before the first request.
+         *
+         * @param initialLimit Initial limit.
+         * @return This builder.
+         */
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * Sets the lowest limit which dropped requests could reach.
+         *
+         * @param minLimit Minimum limit.
+         * @return This builder.
+         */
+        public Builder minLimit(int minLimit) {
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        /**
+         * Sets the highest limit which successful requests could reach.
+         *
+         * @param maxLimit Maximum limit.
+         * @return This builder.
+         */
+        public Builder maxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Sets the ratio which multiplies the limit when a request is dropped.
+         *
+         * @param backoffRatio Ratio between {@code 0} and {@code 1}.
+         * @return This builder.
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        public ConcurrencyLimiter build() {
+            if (this.minLimit < 1 || this.minLimit > this.initialLimit || this.initialLimit > this.maxLimit) {
+                throw new IllegalArgumentException(String.format("Limits must satisfy 1 <= min <= initial <= max, found: %d, %d, %d.",
+                        this.minLimit, this.initialLimit, this.maxLimit));
+            }
+
+            if (this.backoffRatio <= 0 || this.backoffRatio >= 1) {
+                throw new IllegalArgumentException(String.format("Backoff ratio must be between 0 and 1, found: %s.", this.backoffRatio));
+            }
+
+            return new ConcurrencyLimiter(this.initialLimit, this.minLimit, this.maxLimit, this.backoffRatio);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.limit;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive concurrency limit of requests to a single host, adjusted with additive increase and
+ * multiplicative decrease: each successful request increases the limit by {@code 1 / limit}
+ * while the host is busy, so the limit grows by about one per round of requests, and each
+ * dropped request multiplies the limit by the {@link ConcurrencyLimiter.Builder#backoffRatio(double)
+ * backoff ratio}.
+ */
+public final class HostLimit {
+    private final String host;
+    private final ConcurrencyLimiter limiter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile double limit;
+
+    HostLimit(String host, ConcurrencyLimiter limiter) {
+        this.host = host;
+        this.limiter = limiter;
+        this.limit = limiter.getInitialLimit();
+    }
+
+    /**
+     * Reserves a request to the host, if the number of requests in flight is below the limit.
+     * Reserved requests must be {@link #release(boolean) released}.
+     *
+     * @return Whether the request could be sent.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int inFlight = this.inFlight.get();
+
+            if (inFlight >= (int) this.limit) {
+                this.rejected.increment();
+                return false;
+            }
+
+            if (this.inFlight.compareAndSet(inFlight, inFlight + 1)) {
+                this.accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a request to the host and adjusts the limit.
+     *
+     * @param dropped Whether the request was dropped by the host: it timed out, failed with I/O
+     *                error or the host answered that it is overloaded.
+     */
+    public void release(boolean dropped) {
+        int inFlight = this.inFlight.getAndDecrement();
+
+        synchronized (this) {
+            double limit = this.limit;
+
+            if (dropped) {
+                this.dropped.increment();
+                this.limit = Math.max(this.limiter.getMinLimit(), limit * this.limiter.getBackoffRatio());
+            } else if (inFlight * 2 >= limit) {
+                this.limit = Math.min(this.limiter.getMaxLimit(), limit + 1 / limit);
+            }
+        }
+    }
+
+    /**
+     * Wraps {@code executor} so that requests to the host count as {@link #getQueued() queued}
+     * until an executor thread runs them.
+     *
+     * @param executor Executor of requests to the host.
+     * @return Executor which counts queued requests.
+     */
+    public Executor queue(Executor executor) {
+        return task -> {
+            this.queued.incrementAndGet();
+
+            try {
+                executor.execute(() -> {
+                    this.queued.decrementAndGet();
+                    task.run();
+                });
+            } catch (RuntimeException e) {
+                this.queued.decrementAndGet();
+                throw e;
+            }
+        };
+    }
+
+    public String getHost() {
+        return this.host;
+    }
+
+    /**
+     * Gets the current limit of concurrent requests to the host.
+     *
+     * @return Current limit of concurrent requests.
+     */
+    public int getLimit() {
+        return (int) this.limit;
+    }
+
+    /**
+     * Gets the number of requests which were accepted and did not complete yet, either waiting
+     * for an executor thread or for the response.
+     *
+     * @return Number of requests in flight.
+     */
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * Gets the number of requests which were accepted and are still waiting for an executor thread.
+     *
+     * @return Number of queued requests.
+     */
+    public int getQueued() {
+        return this.queued.get();
+    }
+
+    public long getAcceptedCount() {
+        return this.accepted.sum();
+    }
+
+    public long getRejectedCount() {
+        return this.rejected.sum();
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+}
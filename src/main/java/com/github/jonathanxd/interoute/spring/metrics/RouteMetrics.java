@@ -0,0 +1,309 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.metrics;
+
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.spring.destination.UrlDestination;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Meters of a single route, tagged by the {@link UrlDestination#getUrl() url template} of the
+ * route (not the expanded url) and by the request method.
+ *
+ * Meters are registered when the route metrics is created, recording only touches already
+ * registered meters: the latency {@link Timer}, the in-flight {@link AtomicInteger} observed by a
+ * gauge and shared by all route metrics with the same tags, the byte {@link Counter counters} and
+ * the status counter of the response status, which is registered in the first response with that
+ * status and then read from an array.
+ *
+ * Only requests sent to the network are recorded, responses answered by a cache are not.
+ */
+public final class RouteMetrics {
+
+    /**
+     * Latency of requests, published as histogram.
+     */
+    public static final String REQUESTS = "interoute.route.requests";
+
+    /**
+     * Number of requests waiting for the response.
+     */
+    public static final String IN_FLIGHT = "interoute.route.in.flight";
+
+    /**
+     * Number of responses, tagged by status code.
+     */
+    public static final String RESPONSES = "interoute.route.responses";
+
+    /**
+     * Number of bytes sent in request bodies, only counted when the size is known before sending.
+     */
+    public static final String REQUEST_BYTES = "interoute.route.request.bytes";
+
+    /**
+     * Number of bytes received in response bodies, counted from {@code Content-Length}.
+     */
+    public static final String RESPONSE_BYTES = "interoute.route.response.bytes";
+
+    /**
+     * Number of hedged requests, sent because the first request took longer than the hedge
+     * delay.
+     */
+    public static final String HEDGES = "interoute.route.hedges";
+
+    /**
+     * Number of hedged requests which completed before the requests sent earlier.
+     */
+    public static final String HEDGE_WINS = "interoute.route.hedge.wins";
+
+    /**
+     * Number of requests aborted because the route was cancelled.
+     */
+    public static final String CANCELLATIONS = "interoute.route.cancellations";
+
+    /**
+     * Status tag of requests which failed without response.
+     */
+    public static final String CLIENT_ERROR = "CLIENT_ERROR";
+
+    private static final int STATUS_CODES = 600;
+    private static final int NO_STATUS = 0;
+
+    /**
+     * In-flight counters by registry and tags. Gauges only hold their counter weakly, and routes of
+     * different routers may have the same tags, so counters are held here and shared by all route
+     * metrics with the same tags.
+     */
+    private static final Map<MeterRegistry, ConcurrentMap<Tags, AtomicInteger>> IN_FLIGHT_COUNTERS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Clock clock;
+    private final Timer latency;
+    private final AtomicInteger inFlight;
+    private final Counter requestBytes;
+    private final Counter responseBytes;
+    private final AtomicReferenceArray<Counter> responses = new AtomicReferenceArray<>(STATUS_CODES);
+    private volatile Counter hedges;
+    private volatile Counter hedgeWins;
+    private volatile Counter cancellations;
+
+    private RouteMetrics(MeterRegistry registry, Tags tags) {
+        this.registry = registry;
+        this.tags = tags;
+        this.clock = registry.config().clock();
+        this.latency = Timer.builder(REQUESTS)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.inFlight = RouteMetrics.inFlight(registry, tags);
+        this.requestBytes = registry.counter(REQUEST_BYTES, tags);
+        this.responseBytes = registry.counter(RESPONSE_BYTES, tags);
+    }
+
+    /**
+     * Creates and registers the meters of the route to {@code destination}.
+     *
+     * @param registry    Registry to register meters.
+     * @param destination Destination of the route.
+     * @param method      Request method.
+     * @return Meters of the route.
+     */
+    public static RouteMetrics create(@NotNull MeterRegistry registry,
+                                      @NotNull Destination destination,
+                                      @NotNull HttpMethod method) {
+        String uri = destination instanceof UrlDestination
+                ? ((UrlDestination) destination).getUrl()
+                : destination.toString();
+
+        return new RouteMetrics(registry, Tags.of("uri", uri, "method", method.name()));
+    }
+
+    /**
+     * Records the start of a request.
+     *
+     * @param entity Request entity.
+     * @return Start time, which must be passed to {@link #success(long, ResponseEntity)}, {@link
+     * #failure(long, Throwable)} or {@link #cancellation(long)}.
+     */
+    public long start(HttpEntity<?> entity) {
+        this.inFlight.incrementAndGet();
+
+        long length = RouteMetrics.getRequestLength(entity);
+
+        if (length > 0) {
+            this.requestBytes.increment(length);
+        }
+
+        return this.clock.monotonicTime();
+    }
+
+    /**
+     * Records the end of a request which received {@code response}.
+     *
+     * @param start    Value returned by {@link #start(HttpEntity)}.
+     * @param response Received response.
+     */
+    public void success(long start, ResponseEntity<?> response) {
+        this.stop(start, response.getStatusCodeValue(), response.getHeaders().getContentLength());
+    }
+
+    /**
+     * Records the end of a request which failed with {@code throwable}. Error responses are
+     * recorded with their status, other failures are recorded as {@link #CLIENT_ERROR}.
+     *
+     * @param start     Value returned by {@link #start(HttpEntity)}.
+     * @param throwable Failure.
+     */
+    public void failure(long start, Throwable throwable) {
+        if (throwable instanceof RestClientResponseException) {
+            RestClientResponseException responseException = (RestClientResponseException) throwable;
+            HttpHeaders headers = responseException.getResponseHeaders();
+            this.stop(start, responseException.getRawStatusCode(), headers == null ? -1 : headers.getContentLength());
+        } else {
+            this.stop(start, NO_STATUS, -1);
+        }
+    }
+
+    /**
+     * Records the end of a request which was aborted because the route was cancelled. The latency
+     * and the status of aborted requests are not recorded.
+     *
+     * @param start Value returned by {@link #start(HttpEntity)}.
+     */
+    public void cancellation(long start) {
+        this.inFlight.decrementAndGet();
+
+        Counter cancellations = this.cancellations;
+
+        if (cancellations == null) {
+            cancellations = this.registry.counter(CANCELLATIONS, this.tags);
+            this.cancellations = cancellations;
+        }
+
+        cancellations.increment();
+    }
+
+    private void stop(long start, int status, long responseLength) {
+        this.latency.record(this.clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+        this.inFlight.decrementAndGet();
+
+        if (responseLength > 0) {
+            this.responseBytes.increment(responseLength);
+        }
+
+        this.responses(status).increment();
+    }
+
+    private Counter responses(int status) {
+        int index = status > 0 && status < STATUS_CODES ? status : NO_STATUS;
+        Counter counter = this.responses.get(index);
+
+        if (counter == null) {
+            String tag = index == NO_STATUS ? CLIENT_ERROR : Integer.toString(index);
+            // Registration is idempotent, concurrent registrations result in the same counter.
+            counter = this.registry.counter(RESPONSES, this.tags.and("status", tag));
+            this.responses.lazySet(index, counter);
+        }
+
+        return counter;
+    }
+
+    /**
+     * Records a hedged request. Hedge meters are only registered for routes which hedge requests.
+     */
+    public void hedge() {
+        Counter hedges = this.hedges;
+
+        if (hedges == null) {
+            hedges = this.registry.counter(HEDGES, this.tags);
+            this.hedges = hedges;
+        }
+
+        hedges.increment();
+    }
+
+    /**
+     * Records a hedged request which completed before the requests sent earlier.
+     */
+    public void hedgeWin() {
+        Counter hedgeWins = this.hedgeWins;
+
+        if (hedgeWins == null) {
+            hedgeWins = this.registry.counter(HEDGE_WINS, this.tags);
+            this.hedgeWins = hedgeWins;
+        }
+
+        hedgeWins.increment();
+    }
+
+    public MeterRegistry getRegistry() {
+        return this.registry;
+    }
+
+    private static AtomicInteger inFlight(MeterRegistry registry, Tags tags) {
+        ConcurrentMap<Tags, AtomicInteger> counters =
+                IN_FLIGHT_COUNTERS.computeIfAbsent(registry, it -> new ConcurrentHashMap<>());
+
+        return counters.computeIfAbsent(tags, it -> registry.gauge(IN_FLIGHT, it, new AtomicInteger()));
+    }
+
+    private static long getRequestLength(HttpEntity<?> entity) {
+        long length = entity.getHeaders().getContentLength();
+
+        if (length >= 0) {
+            return length;
+        }
+
+        Object body = entity.getBody();
+
+        return body instanceof byte[] ? ((byte[]) body).length : -1;
+    }
+}
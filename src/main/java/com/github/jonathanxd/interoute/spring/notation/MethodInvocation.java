@@ -29,6 +29,7 @@ package com.github.jonathanxd.interoute.spring.notation;
 
 import com.github.jonathanxd.interoute.exception.DestinationParseException;
 import com.github.jonathanxd.interoute.gen.RouteSpec;
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil.UriComponent;
 import com.github.jonathanxd.iutils.object.result.Result;
 import com.github.jonathanxd.kores.Instruction;
 import com.github.jonathanxd.kores.base.Access;
@@ -37,6 +38,7 @@ import com.github.jonathanxd.kores.factory.Factories;
 import com.github.jonathanxd.kores.factory.InvocationFactory;
 
 import java.util.Collections;
+import java.util.List;
 
 class MethodInvocation extends UrlPathNotation {
 
@@ -69,4 +71,28 @@ class MethodInvocation extends UrlPathNotation {
                 Collections.emptyList()
         );
     }
+
+    /**
+     * Appends the result of the method invocation without encoding, methods are commonly used to
+     * provide the base url of a service, which is already a valid url.
+     */
+    @Override
+    public Instruction resolveEncoded(RouteSpec routeSpec, Instruction builder, UriComponent component) {
+        return UrlPathNotation.append(builder, this.resolve(routeSpec));
+    }
+
+    @Override
+    public String resolveSource(List<String> parameters) {
+        return "this." + this.getMethodName() + "()";
+    }
+
+    @Override
+    public String resolveEncodedSource(List<String> parameters, String builder, UriComponent component) {
+        return UrlPathNotation.appendSource(builder, this.resolveSource(parameters));
+    }
+
+    @Override
+    public int estimateLength(UriComponent component) {
+        return 32;
+    }
 }
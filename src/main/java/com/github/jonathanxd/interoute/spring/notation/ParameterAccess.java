@@ -29,6 +29,8 @@ package com.github.jonathanxd.interoute.spring.notation;
 
 import com.github.jonathanxd.interoute.exception.DestinationParseException;
 import com.github.jonathanxd.interoute.gen.RouteSpec;
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil;
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil.UriComponent;
 import com.github.jonathanxd.iutils.object.result.Result;
 import com.github.jonathanxd.kores.Instruction;
 import com.github.jonathanxd.kores.base.KoresParameter;
@@ -37,7 +39,9 @@ import com.github.jonathanxd.kores.factory.InvocationFactory;
 import com.github.jonathanxd.kores.helper.Predefined;
 import com.github.jonathanxd.kores.type.ImplicitKoresType;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -85,4 +89,60 @@ class ParameterAccess extends UrlPathNotation {
             return access;
         }
     }
+
+    @Override
+    public Instruction resolveEncoded(RouteSpec routeSpec, Instruction builder, UriComponent component) {
+        String appendMethod;
+
+        switch (component) {
+            case QUERY:
+                appendMethod = "appendQueryParam";
+                break;
+            case FRAGMENT:
+                appendMethod = "appendFragment";
+                break;
+            case PATH:
+            default:
+                appendMethod = "appendPathSegment";
+                break;
+        }
+
+        return InvocationFactory.invokeStatic(
+                UriEncodingUtil.class,
+                appendMethod,
+                Factories.typeSpec(StringBuilder.class, StringBuilder.class, String.class),
+                Arrays.asList(builder, this.resolve(routeSpec))
+        );
+    }
+
+    @Override
+    public String resolveSource(List<String> parameters) {
+        if (this.getParameterPos() >= parameters.size()) {
+            throw new IllegalArgumentException(String.format("Parameter '%d' does not exist, route method has '%d' parameters.",
+                    this.getParameterPos(), parameters.size()));
+        }
+
+        return parameters.get(this.getParameterPos());
+    }
+
+    @Override
+    public String resolveEncodedSource(List<String> parameters, String builder, UriComponent component) {
+        String appendMethod;
+
+        switch (component) {
+            case QUERY:
+                appendMethod = "appendQueryParam";
+                break;
+            case FRAGMENT:
+                appendMethod = "appendFragment";
+                break;
+            case PATH:
+            default:
+                appendMethod = "appendPathSegment";
+                break;
+        }
+
+        return UriEncodingUtil.class.getCanonicalName() + "." + appendMethod
+                + "(" + builder + ", " + this.resolveSource(parameters) + ")";
+    }
 }
@@ -29,10 +29,14 @@ package com.github.jonathanxd.interoute.spring.notation;
 
 import com.github.jonathanxd.interoute.exception.DestinationParseException;
 import com.github.jonathanxd.interoute.gen.RouteSpec;
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil;
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil.UriComponent;
 import com.github.jonathanxd.iutils.object.result.Result;
 import com.github.jonathanxd.kores.Instruction;
 import com.github.jonathanxd.kores.literal.Literals;
 
+import java.util.List;
+
 class Plain extends UrlPathNotation {
     private final String plain;
 
@@ -52,4 +56,30 @@ class Plain extends UrlPathNotation {
     public Instruction resolve(RouteSpec routeSpec) {
         return Literals.STRING(this.getPlain());
     }
+
+    @Override
+    public Instruction resolveEncoded(RouteSpec routeSpec, Instruction builder, UriComponent component) {
+        return UrlPathNotation.append(builder, Literals.STRING(UriEncodingUtil.encodeLiteral(this.getPlain(), component)));
+    }
+
+    @Override
+    public String resolveSource(List<String> parameters) {
+        return UrlPathNotation.literalSource(this.getPlain());
+    }
+
+    @Override
+    public String resolveEncodedSource(List<String> parameters, String builder, UriComponent component) {
+        return UrlPathNotation.appendSource(builder,
+                UrlPathNotation.literalSource(UriEncodingUtil.encodeLiteral(this.getPlain(), component)));
+    }
+
+    @Override
+    public UriComponent componentAfter(UriComponent component) {
+        return UriEncodingUtil.componentAfter(this.getPlain(), component);
+    }
+
+    @Override
+    public int estimateLength(UriComponent component) {
+        return UriEncodingUtil.encodeLiteral(this.getPlain(), component).length();
+    }
 }
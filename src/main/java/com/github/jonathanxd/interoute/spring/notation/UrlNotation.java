@@ -28,8 +28,18 @@
 package com.github.jonathanxd.interoute.spring.notation;
 
 import com.github.jonathanxd.interoute.exception.DestinationParseException;
+import com.github.jonathanxd.interoute.gen.RouteSpec;
+import com.github.jonathanxd.interoute.spring.UriTemplateMode;
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil.UriComponent;
 import com.github.jonathanxd.iutils.object.result.Result;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.base.Concat;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.literal.Literals;
 
+import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -66,4 +76,107 @@ public class UrlNotation {
     public List<UrlPathNotation> getNotationList() {
         return this.notationList;
     }
+
+    /**
+     * Creates the instruction which builds the url of the route according to {@code mode}, which
+     * evaluates to a {@link String} for {@link UriTemplateMode#TEMPLATE} and to an {@link URI} for
+     * {@link UriTemplateMode#COMPILED}.
+     *
+     * @param routeSpec Specification of routing.
+     * @param mode      Mode used to build the url.
+     * @return Instruction which builds the url of the route.
+     */
+    public Instruction resolveUrl(RouteSpec routeSpec, UriTemplateMode mode) {
+        if (mode == UriTemplateMode.COMPILED) {
+            return this.resolveUri(routeSpec);
+        } else {
+            return new Concat(
+                    this.getNotationList()
+                            .stream()
+                            .map(it -> it.resolve(routeSpec))
+                            .collect(Collectors.toList())
+            );
+        }
+    }
+
+    /**
+     * Creates the instruction which builds the already encoded {@link URI} of the route. Literal
+     * parts are encoded at generation time and parameter values are encoded into a single {@link
+     * StringBuilder}, pre-sized with the estimated length of the url.
+     *
+     * @param routeSpec Specification of routing.
+     * @return Instruction which builds the {@link URI} of the route.
+     */
+    public Instruction resolveUri(RouteSpec routeSpec) {
+        int capacity = 0;
+        UriComponent component = UriComponent.PATH;
+
+        for (UrlPathNotation notation : this.getNotationList()) {
+            capacity += notation.estimateLength(component);
+            component = notation.componentAfter(component);
+        }
+
+        Instruction builder = InvocationFactory.invokeConstructor(StringBuilder.class,
+                Factories.constructorTypeSpec(Integer.TYPE),
+                Collections.singletonList(Literals.INT(capacity))
+        );
+
+        component = UriComponent.PATH;
+
+        for (UrlPathNotation notation : this.getNotationList()) {
+            builder = notation.resolveEncoded(routeSpec, builder, component);
+            component = notation.componentAfter(component);
+        }
+
+        return InvocationFactory.invokeStatic(
+                URI.class,
+                "create",
+                Factories.typeSpec(URI.class, String.class),
+                Collections.singletonList(InvocationFactory.invokeVirtual(
+                        StringBuilder.class,
+                        builder,
+                        "toString",
+                        Factories.typeSpec(String.class),
+                        Collections.emptyList()
+                ))
+        );
+    }
+
+    /**
+     * Creates the Java source expression which builds the url of the route according to {@code
+     * mode}, same as {@link #resolveUrl(RouteSpec, UriTemplateMode)}.
+     *
+     * @param parameters Java source expressions which evaluates to the {@link String} value of each
+     *                   parameter of the route method.
+     * @param mode       Mode used to build the url.
+     * @return Java source expression which builds the url of the route.
+     */
+    public String resolveUrlSource(List<String> parameters, UriTemplateMode mode) {
+        if (mode == UriTemplateMode.COMPILED) {
+            int capacity = 0;
+            UriComponent component = UriComponent.PATH;
+
+            for (UrlPathNotation notation : this.getNotationList()) {
+                capacity += notation.estimateLength(component);
+                component = notation.componentAfter(component);
+            }
+
+            String builder = "new java.lang.StringBuilder(" + capacity + ")";
+            component = UriComponent.PATH;
+
+            for (UrlPathNotation notation : this.getNotationList()) {
+                builder = notation.resolveEncodedSource(parameters, builder, component);
+                component = notation.componentAfter(component);
+            }
+
+            return "java.net.URI.create(" + builder + ".toString())";
+        } else if (this.getNotationList().isEmpty()) {
+            return "\"\"";
+        } else {
+            return this.getNotationList()
+                    .stream()
+                    .map(it -> it.resolveSource(parameters))
+                    .collect(Collectors.joining(" + ", "\"\" + ", ""));
+        }
+    }
 }
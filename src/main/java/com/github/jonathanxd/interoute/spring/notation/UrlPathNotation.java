@@ -29,10 +29,14 @@ package com.github.jonathanxd.interoute.spring.notation;
 
 import com.github.jonathanxd.interoute.exception.DestinationParseException;
 import com.github.jonathanxd.interoute.gen.RouteSpec;
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil.UriComponent;
 import com.github.jonathanxd.iutils.object.result.Result;
 import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -95,6 +99,110 @@ public abstract class UrlPathNotation {
 
     public abstract Instruction resolve(RouteSpec routeSpec);
 
+    /**
+     * Resolves this notation and appends the encoded result to the url {@code builder}.
+     *
+     * @param routeSpec Specification of routing.
+     * @param builder   Instruction which evaluates to the {@link StringBuilder} of the url.
+     * @param component Component of the uri in which this notation starts.
+     * @return Instruction which evaluates to the {@link StringBuilder} of the url.
+     */
+    public abstract Instruction resolveEncoded(RouteSpec routeSpec, Instruction builder, UriComponent component);
+
+    /**
+     * Creates the Java source expression which evaluates to this part of the url, used to generate
+     * routers at build time.
+     *
+     * @param parameters Java source expressions which evaluates to the {@link String} value of each
+     *                   parameter of the route method.
+     * @return Java source expression which evaluates to this part of the url.
+     */
+    public abstract String resolveSource(List<String> parameters);
+
+    /**
+     * Creates the Java source expression which appends the encoded value of this part to {@code
+     * builder}, same as {@link #resolveEncoded(RouteSpec, Instruction, UriComponent)}.
+     *
+     * @param parameters Java source expressions which evaluates to the {@link String} value of each
+     *                   parameter of the route method.
+     * @param builder    Java source expression which evaluates to the {@link StringBuilder}.
+     * @param component  Component of the uri which this part belongs to.
+     * @return Java source expression which evaluates to the {@link StringBuilder}.
+     */
+    public abstract String resolveEncodedSource(List<String> parameters, String builder, UriComponent component);
+
+    /**
+     * Gets the component of the uri which follows this notation.
+     *
+     * @param component Component of the uri in which this notation starts.
+     * @return Component of the uri which follows this notation.
+     */
+    public UriComponent componentAfter(UriComponent component) {
+        return component;
+    }
+
+    /**
+     * Estimated length of the encoded notation, used to pre-size the url buffer.
+     *
+     * @param component Component of the uri in which this notation starts.
+     * @return Estimated length of the encoded notation.
+     */
+    public int estimateLength(UriComponent component) {
+        return 16;
+    }
+
+    static Instruction append(Instruction builder, Instruction value) {
+        return InvocationFactory.invokeVirtual(
+                StringBuilder.class,
+                builder,
+                "append",
+                Factories.typeSpec(StringBuilder.class, String.class),
+                Collections.singletonList(value)
+        );
+    }
+
+    static String appendSource(String builder, String value) {
+        return builder + ".append(" + value + ")";
+    }
+
+    /**
+     * Creates a Java string literal of {@code value}.
+     *
+     * @param value Value of the literal.
+     * @return Java string literal of {@code value}.
+     */
+    public static String literalSource(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7E) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+
+        return sb.append('"').toString();
+    }
+
     enum Type {
         PLAIN,
         METHOD_INVOKE,
@@ -0,0 +1,137 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.precompiled;
+
+import com.github.jonathanxd.interoute.annotation.BackendConfigurer;
+import com.github.jonathanxd.interoute.backend.InterouteBackendConfigurer;
+import com.github.jonathanxd.interoute.route.MethodTypeSpecOrigin;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.SpringRestBackend;
+import com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration;
+import com.github.jonathanxd.interoute.util.InstanceFactories;
+import com.github.jonathanxd.kores.common.MethodTypeSpec;
+import com.github.jonathanxd.kores.type.TypeSpec;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Runtime support of routers generated at build time.
+ */
+public final class PrecompiledRouters {
+
+    /**
+     * Suffix of the name of routers generated at build time.
+     */
+    public static final String SUFFIX = "$InterouteRouter";
+
+    private PrecompiledRouters() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates the router generated at build time for {@code type}, configured with the {@link
+     * BackendConfigurer} of {@code type}, if any.
+     *
+     * @param type Router interface.
+     * @param <I>  Router type.
+     * @return Router instance, or {@link Optional#empty()} if {@code type} was not generated at
+     * build time.
+     * @throws IllegalStateException If the generated router could not be instantiated.
+     */
+    @SuppressWarnings("unchecked")
+    public static <I> Optional<I> create(Class<I> type) {
+        SpringRestBackendConfiguration configuration = new SpringRestBackend().createConfiguration();
+        BackendConfigurer configurer = type.getAnnotation(BackendConfigurer.class);
+
+        if (configurer != null) {
+            configuration = ((InterouteBackendConfigurer<SpringRestBackendConfiguration>)
+                    InstanceFactories.create(configurer.value())).configure(configuration);
+        }
+
+        return PrecompiledRouters.create(type, configuration);
+    }
+
+    /**
+     * Creates the router generated at build time for {@code type}, configured with {@code
+     * configuration}. Each router instance resolves the values of its own configuration.
+     *
+     * @param type          Router interface.
+     * @param configuration Backend configuration of the router.
+     * @param <I>           Router type.
+     * @return Router instance, or {@link Optional#empty()} if {@code type} was not generated at
+     * build time.
+     * @throws IllegalStateException If the generated router could not be instantiated.
+     */
+    public static <I> Optional<I> create(Class<I> type, SpringRestBackendConfiguration configuration) {
+        Class<?> routerClass;
+
+        try {
+            routerClass = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(type.cast(routerClass
+                    .getConstructor(SpringRestBackendConfiguration.class)
+                    .newInstance(configuration)));
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(String.format("Failed to create router '%s'.", routerClass.getName()), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(String.format("Failed to create router '%s'.", routerClass.getName()), e);
+        }
+    }
+
+    /**
+     * Creates the {@link Origin} of a route method, equal to the origin created for routers
+     * generated at runtime.
+     *
+     * @param routerType     Router interface.
+     * @param name           Name of the route method.
+     * @param returnType     Return type of the route method.
+     * @param parameterTypes Parameter types of the route method.
+     * @return Origin of the route method.
+     */
+    public static Origin origin(Class<?> routerType, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        return new MethodTypeSpecOrigin(new MethodTypeSpec(routerType, name,
+                new TypeSpec(returnType, Arrays.asList(parameterTypes))));
+    }
+
+    /**
+     * Executes the {@code route} and waits its completion, used by route methods which returns
+     * {@code void}.
+     *
+     * @param route Route to execute.
+     */
+    public static void executeAndWait(Route<?> route) {
+        route.execute().join();
+    }
+}
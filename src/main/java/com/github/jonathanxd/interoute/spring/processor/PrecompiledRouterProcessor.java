@@ -0,0 +1,556 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.processor;
+
+import com.github.jonathanxd.interoute.annotation.RouteTo;
+import com.github.jonathanxd.interoute.annotation.RouterInterface;
+import com.github.jonathanxd.interoute.exception.DestinationParseException;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.SpringRestBackend;
+import com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration;
+import com.github.jonathanxd.interoute.spring.UriTemplateMode;
+import com.github.jonathanxd.interoute.spring.annotation.Batch;
+import com.github.jonathanxd.interoute.spring.annotation.Body;
+import com.github.jonathanxd.interoute.spring.annotation.CacheResponse;
+import com.github.jonathanxd.interoute.spring.annotation.Header;
+import com.github.jonathanxd.interoute.spring.annotation.Hedge;
+import com.github.jonathanxd.interoute.spring.annotation.Headers;
+import com.github.jonathanxd.interoute.spring.annotation.Invalidates;
+import com.github.jonathanxd.interoute.spring.annotation.PrecompiledRouter;
+import com.github.jonathanxd.interoute.spring.annotation.RequestMethod;
+import com.github.jonathanxd.interoute.spring.annotation.Target;
+import com.github.jonathanxd.interoute.spring.annotation.Timeout;
+import com.github.jonathanxd.interoute.spring.batch.BatchPolicy;
+import com.github.jonathanxd.interoute.spring.batch.RouteBatcher;
+import com.github.jonathanxd.interoute.spring.cache.RouteCachePolicy;
+import com.github.jonathanxd.interoute.spring.destination.UrlDestination;
+import com.github.jonathanxd.interoute.spring.headers.RouteHeaders;
+import com.github.jonathanxd.interoute.spring.hedge.HedgePolicy;
+import com.github.jonathanxd.interoute.spring.notation.UrlNotation;
+import com.github.jonathanxd.interoute.spring.notation.UrlPathNotation;
+import com.github.jonathanxd.interoute.spring.precompiled.AbstractPrecompiledRouter;
+import com.github.jonathanxd.interoute.spring.precompiled.PrecompiledRouters;
+import com.github.jonathanxd.interoute.spring.route.RestTemplateRouteBinding;
+import com.github.jonathanxd.interoute.spring.route.RoutePolicy;
+import com.github.jonathanxd.interoute.spring.route.SpringRoute;
+import com.github.jonathanxd.interoute.util.InstanceFactories;
+import com.github.jonathanxd.iutils.object.result.Result;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates, at build time, the implementation of router interfaces annotated with {@link
+ * PrecompiledRouter}.
+ *
+ * The generated router has the same behavior of the router generated at runtime by {@link
+ * SpringRestBackend}, but it is plain Java source compiled with the application, so no code
+ * generation happens at application startup. Each route reads its route-invariant values from a
+ * {@link RestTemplateRouteBinding} held in a field of the router, created in the constructor, so
+ * each router instance resolves the snapshot of its own configuration.
+ */
+@SupportedAnnotationTypes("com.github.jonathanxd.interoute.spring.annotation.PrecompiledRouter")
+public class PrecompiledRouterProcessor extends AbstractProcessor {
+
+    private static final String INDENT = "    ";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(PrecompiledRouter.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                this.error("@PrecompiledRouter can only be applied to router interfaces.", element);
+                continue;
+            }
+
+            try {
+                this.generate((TypeElement) element);
+            } catch (IllegalArgumentException e) {
+                this.error(e.getMessage(), element);
+            } catch (IOException e) {
+                this.error(String.format("Failed to write router: %s", e), element);
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        this.checkBackend(type);
+
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new IllegalArgumentException("Generic router interfaces are not supported.");
+        }
+
+        String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + PrecompiledRouters.SUFFIX;
+        String typeName = type.getQualifiedName().toString();
+        UriTemplateMode mode = type.getAnnotation(PrecompiledRouter.class).uriTemplateMode();
+
+        StringBuilder fields = new StringBuilder();
+        StringBuilder initializers = new StringBuilder();
+        StringBuilder methods = new StringBuilder();
+        int index = 0;
+
+        for (ExecutableElement method : ElementFilter.methodsIn(this.processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getEnclosingElement().getKind() != ElementKind.INTERFACE
+                    || !method.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+
+            String binding = "route" + index++;
+
+            try {
+                this.generateRoute(type, typeName, method, binding, mode, fields, initializers, methods);
+            } catch (IllegalArgumentException e) {
+                this.error(e.getMessage(), method);
+            }
+        }
+
+        try (Writer writer = this.processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type)
+                .openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("/**\n * Router of {@link " + typeName + "} generated at build time.\n */\n");
+            writer.write("public final class " + simpleName + " extends "
+                    + AbstractPrecompiledRouter.class.getCanonicalName()
+                    + "<" + SpringRestBackendConfiguration.class.getCanonicalName() + "> implements " + typeName + " {\n\n");
+            writer.write(fields.toString());
+            writer.write(INDENT + "public " + simpleName + "("
+                    + SpringRestBackendConfiguration.class.getCanonicalName() + " configuration) {\n");
+            writer.write(INDENT + INDENT + "super(configuration);\n");
+            writer.write(initializers.toString());
+            writer.write(INDENT + "}\n");
+            writer.write(methods.toString());
+            writer.write("}\n");
+        }
+    }
+
+    private void generateRoute(TypeElement type,
+                               String typeName,
+                               ExecutableElement method,
+                               String binding,
+                               UriTemplateMode mode,
+                               StringBuilder fields,
+                               StringBuilder initializers,
+                               StringBuilder methods) {
+        RouteTo routeTo = method.getAnnotation(RouteTo.class);
+
+        if (routeTo == null) {
+            throw new IllegalArgumentException("Route method must be annotated with @RouteTo.");
+        }
+
+        if (!method.getTypeParameters().isEmpty()) {
+            throw new IllegalArgumentException("Generic route methods are not supported.");
+        }
+
+        Result<UrlNotation, DestinationParseException> notation = UrlNotation.parse(routeTo.value());
+
+        if (notation.isError()) {
+            throw new IllegalArgumentException(String.format("Malformed destination '%s': %s",
+                    routeTo.value(), notation.errorOrNull().getMessage()));
+        }
+
+        ReturnTypeInfo returnType = this.getReturnType(method.getReturnType());
+        List<String> parameters = new ArrayList<>();
+        List<String> parameterDeclarations = new ArrayList<>();
+        List<String> parameterClasses = new ArrayList<>();
+        String body = "null";
+        String target = null;
+
+        for (VariableElement parameter : method.getParameters()) {
+            String name = parameter.getSimpleName().toString();
+            TypeMirror parameterType = parameter.asType();
+
+            parameterDeclarations.add("final " + parameterType + " " + name);
+            parameterClasses.add(this.processingEnv.getTypeUtils().erasure(parameterType) + ".class");
+
+            if (this.isType(parameterType, String.class)) {
+                parameters.add(name);
+            } else {
+                parameters.add(Objects.class.getCanonicalName() + ".toString(" + name + ")");
+            }
+
+            if (parameter.getAnnotation(Body.class) != null && body.equals("null")) {
+                body = name;
+            }
+
+            if (parameter.getAnnotation(Target.class) != null && target == null) {
+                target = name;
+            }
+        }
+
+        String url = notation.successOrNull().resolveUrlSource(parameters, mode);
+
+        String originReturnType = method.getReturnType().getKind() == TypeKind.VOID
+                ? "void.class"
+                : this.processingEnv.getTypeUtils().erasure(method.getReturnType()) + ".class";
+
+        String i2 = INDENT + INDENT;
+        String i3 = i2 + INDENT;
+        String origin = PrecompiledRouters.class.getCanonicalName() + ".origin("
+                + typeName + ".class, "
+                + UrlPathNotation.literalSource(method.getSimpleName().toString()) + ", "
+                + originReturnType
+                + parameterClasses.stream().map(it -> ", " + it).collect(Collectors.joining())
+                + ")";
+        String destination = "new " + UrlDestination.class.getCanonicalName() + "("
+                + UrlPathNotation.literalSource(routeTo.value()) + ")";
+        Batch batch = method.getAnnotation(Batch.class);
+        String invocation;
+
+        if (batch != null) {
+            if (method.getParameters().size() != 1 || returnType.entity || returnType.springRoute
+                    || method.getReturnType().getKind() == TypeKind.VOID) {
+                throw new IllegalArgumentException("Batched route must have exactly one parameter and result in the item.");
+            }
+
+            fields.append(INDENT).append("private final ").append(RouteBatcher.class.getCanonicalName())
+                    .append(" ").append(binding).append(";\n\n");
+            initializers.append(i2).append("this.").append(binding).append(" = new ").append(RouteBatcher.class.getCanonicalName()).append("(\n");
+            initializers.append(i3).append(origin).append(",\n");
+            initializers.append(i3).append(destination).append(",\n");
+            initializers.append(i3).append(this.batchPolicySource(batch)).append(");\n");
+
+            invocation = "this." + binding + ".route(this, " + method.getParameters().get(0).getSimpleName() + ")";
+        } else {
+            this.appendBinding(type, method, binding, returnType, origin, destination, fields, initializers);
+
+            invocation = "this." + binding + ".route(this, " + url + ", " + body + (target == null ? "" : ", " + target) + ")";
+        }
+
+        methods.append("\n").append(INDENT).append("@Override\n");
+        methods.append(INDENT).append("@SuppressWarnings(\"unchecked\")\n");
+        methods.append(INDENT).append("public ").append(method.getReturnType()).append(" ")
+                .append(method.getSimpleName()).append("(").append(String.join(", ", parameterDeclarations)).append(")");
+
+        if (!method.getThrownTypes().isEmpty()) {
+            methods.append(" throws ").append(method.getThrownTypes().stream()
+                    .map(TypeMirror::toString)
+                    .collect(Collectors.joining(", ")));
+        }
+
+        methods.append(" {\n");
+
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            methods.append(i2).append(PrecompiledRouters.class.getCanonicalName())
+                    .append(".executeAndWait(").append(invocation).append(");\n");
+        } else {
+            methods.append(i2).append("return (").append(method.getReturnType()).append(") ").append(invocation).append(";\n");
+        }
+
+        methods.append(INDENT).append("}\n");
+    }
+
+    private void appendBinding(TypeElement type,
+                               ExecutableElement method,
+                               String binding,
+                               ReturnTypeInfo returnType,
+                               String origin,
+                               String destination,
+                               StringBuilder fields,
+                               StringBuilder initializers) {
+        String i2 = INDENT + INDENT;
+        String i3 = i2 + INDENT;
+
+        fields.append(INDENT).append("private final ").append(RestTemplateRouteBinding.class.getCanonicalName())
+                .append(" ").append(binding).append(";\n\n");
+        initializers.append(i2).append("this.").append(binding).append(" = new ").append(RestTemplateRouteBinding.class.getCanonicalName()).append("(\n");
+        initializers.append(i3).append(origin).append(",\n");
+        initializers.append(i3).append(destination).append(",\n");
+        initializers.append(i3).append(this.headersSource(type, method)).append(",\n");
+        initializers.append(i3).append(HttpMethod.class.getCanonicalName()).append(".").append(this.getRequestMethod(method).name()).append(",\n");
+        initializers.append(i3).append("new ").append(ParameterizedTypeReference.class.getCanonicalName())
+                .append("<").append(returnType.bodyType).append(">() {\n").append(i3).append("},\n");
+        initializers.append(i3).append(returnType.entity).append(",\n");
+        initializers.append(i3).append(returnType.springRoute).append(",\n");
+        initializers.append(i3).append(RoutePolicy.class.getCanonicalName()).append(".builder()")
+                .append(".cache(").append(this.cachePolicySource(method)).append(")")
+                .append(".hedge(").append(this.hedgePolicySource(method)).append(")")
+                .append(".timeout(").append(this.timeoutSource(method)).append(")")
+                .append(".build());\n");
+    }
+
+    private String hedgePolicySource(ExecutableElement method) {
+        Hedge hedge = method.getAnnotation(Hedge.class);
+
+        if (hedge == null) {
+            return "null";
+        }
+
+        return HedgePolicy.class.getCanonicalName() + ".builder()"
+                + ".delay(" + hedge.delay() + "L, " + TimeUnit.class.getCanonicalName() + "." + hedge.unit().name() + ")"
+                + ".percentile(" + hedge.percentile() + ")"
+                + ".max(" + hedge.max() + ")"
+                + ".budget(" + hedge.budget() + ")"
+                + ".build()";
+    }
+
+    private String timeoutSource(ExecutableElement method) {
+        Timeout timeout = method.getAnnotation(Timeout.class);
+
+        if (timeout == null) {
+            return "null";
+        }
+
+        return Duration.class.getCanonicalName() + ".ofNanos(" + timeout.unit().toNanos(timeout.value()) + "L)";
+    }
+
+    private String batchPolicySource(Batch batch) {
+        return BatchPolicy.class.getCanonicalName() + ".builder()"
+                + ".route(" + UrlPathNotation.literalSource(batch.value()) + ")"
+                + ".key(" + UrlPathNotation.literalSource(batch.key()) + ")"
+                + ".window(" + batch.window() + "L, " + TimeUnit.class.getCanonicalName() + "." + batch.unit().name() + ")"
+                + ".maxSize(" + batch.maxSize() + ")"
+                + ".build()";
+    }
+
+    private void checkBackend(TypeElement type) {
+        String backend = this.getClassValue(type, RouterInterface.class).orElse(null);
+
+        if (!SpringRestBackend.class.getCanonicalName().equals(backend)) {
+            throw new IllegalArgumentException(String.format("@PrecompiledRouter is only supported for routers of '%s', found: %s.",
+                    SpringRestBackend.class.getCanonicalName(), backend));
+        }
+    }
+
+    private ReturnTypeInfo getReturnType(TypeMirror returnType) {
+        if (returnType.getKind() == TypeKind.VOID) {
+            return new ReturnTypeInfo(Void.class.getCanonicalName(), false, false);
+        }
+
+        if (returnType.getKind() != TypeKind.DECLARED) {
+            throw new IllegalArgumentException("Route method must return Route, SpringRoute or void.");
+        }
+
+        DeclaredType declaredType = (DeclaredType) returnType;
+        boolean springRoute = this.isType(returnType, SpringRoute.class);
+
+        if (!springRoute && !this.isType(returnType, Route.class)) {
+            throw new IllegalArgumentException("Route method must return Route, SpringRoute or void.");
+        }
+
+        TypeMirror resultType = this.getTypeArgument(declaredType);
+
+        if (!springRoute && this.isType(resultType, ResponseEntity.class)) {
+            return new ReturnTypeInfo(this.getTypeArgument((DeclaredType) resultType).toString(), true, false);
+        }
+
+        return new ReturnTypeInfo(resultType.toString(), springRoute, springRoute);
+    }
+
+    private TypeMirror getTypeArgument(DeclaredType type) {
+        if (type.getTypeArguments().size() != 1 || type.getTypeArguments().get(0).getKind() != TypeKind.DECLARED
+                && type.getTypeArguments().get(0).getKind() != TypeKind.ARRAY) {
+            throw new IllegalArgumentException(String.format("Type '%s' must have a concrete type argument.", type));
+        }
+
+        return type.getTypeArguments().get(0);
+    }
+
+    private HttpMethod getRequestMethod(ExecutableElement method) {
+        RequestMethod requestMethod = method.getAnnotation(RequestMethod.class);
+
+        if (requestMethod != null) {
+            return requestMethod.value();
+        }
+
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            RequestMethod meta = mirror.getAnnotationType().asElement().getAnnotation(RequestMethod.class);
+
+            if (meta != null) {
+                return meta.value();
+            }
+        }
+
+        return HttpMethod.GET;
+    }
+
+    private String headersSource(TypeElement type, ExecutableElement method) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        Set<String> providers = new LinkedHashSet<>();
+
+        for (Element element : new Element[]{type, method}) {
+            this.<Header>findAnnotations(element, Header.class)
+                    .forEach(header -> headers.put(header.key(), header.value()));
+
+            this.<Headers>findAnnotations(element, Headers.class)
+                    .forEach(it -> providers.add(this.getClassValue(it)));
+        }
+
+        StringBuilder source = new StringBuilder(RouteHeaders.class.getCanonicalName()).append(".builder()");
+
+        headers.forEach((key, value) -> source.append(".header(")
+                .append(UrlPathNotation.literalSource(key)).append(", ")
+                .append(UrlPathNotation.literalSource(value)).append(")"));
+
+        providers.forEach(provider -> source.append(".provider(")
+                .append(InstanceFactories.class.getCanonicalName()).append(".create(")
+                .append(provider).append(".class))"));
+
+        return source.append(".build()").toString();
+    }
+
+    private String cachePolicySource(ExecutableElement method) {
+        CacheResponse cacheResponse = method.getAnnotation(CacheResponse.class);
+        Invalidates invalidates = method.getAnnotation(Invalidates.class);
+
+        if (cacheResponse == null && invalidates == null) {
+            return "null";
+        }
+
+        StringBuilder source = new StringBuilder(RouteCachePolicy.class.getCanonicalName()).append(".builder()");
+
+        if (cacheResponse != null) {
+            source.append(".ttl(").append(cacheResponse.ttl()).append("L, ")
+                    .append(TimeUnit.class.getCanonicalName()).append(".").append(cacheResponse.unit().name()).append(")");
+
+            for (String header : cacheResponse.headers()) {
+                source.append(".header(").append(UrlPathNotation.literalSource(header)).append(")");
+            }
+        }
+
+        if (invalidates != null) {
+            for (String urlTemplate : invalidates.value()) {
+                source.append(".invalidates(").append(UrlPathNotation.literalSource(urlTemplate)).append(")");
+            }
+        }
+
+        return source.append(".build()").toString();
+    }
+
+    private <A extends Annotation> List<A> findAnnotations(Element element, Class<A> annotationType) {
+        List<A> found = new ArrayList<>();
+        A direct = element.getAnnotation(annotationType);
+
+        if (direct != null) {
+            found.add(direct);
+        }
+
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            A meta = mirror.getAnnotationType().asElement().getAnnotation(annotationType);
+
+            if (meta != null) {
+                found.add(meta);
+            }
+        }
+
+        return found;
+    }
+
+    private String getClassValue(Headers headers) {
+        try {
+            return headers.value().getCanonicalName();
+        } catch (MirroredTypeException e) {
+            return this.processingEnv.getTypeUtils().erasure(e.getTypeMirror()).toString();
+        }
+    }
+
+    private Optional<String> getClassValue(Element element, Class<? extends Annotation> annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(annotationType.getCanonicalName())) {
+                return mirror.getElementValues().entrySet().stream()
+                        .filter(it -> it.getKey().getSimpleName().contentEquals("value"))
+                        .map(it -> it.getValue().getValue())
+                        .filter(it -> it instanceof TypeMirror)
+                        .map(it -> this.processingEnv.getTypeUtils().erasure((TypeMirror) it).toString())
+                        .findFirst();
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean isType(TypeMirror type, Class<?> expected) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+
+        return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(expected.getCanonicalName());
+    }
+
+    private void error(String message, Element element) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class ReturnTypeInfo {
+        private final String bodyType;
+        private final boolean entity;
+        private final boolean springRoute;
+
+        ReturnTypeInfo(String bodyType, boolean entity, boolean springRoute) {
+            this.bodyType = bodyType;
+            this.entity = entity;
+            this.springRoute = springRoute;
+        }
+    }
+}
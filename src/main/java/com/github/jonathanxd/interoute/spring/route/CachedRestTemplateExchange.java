@@ -0,0 +1,101 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.spring.cache.ResponseCache;
+import com.github.jonathanxd.interoute.spring.cache.RouteCachePolicy;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * {@link RestTemplateExchange} of routes with a {@link RouteCachePolicy}: responses are read from
+ * and stored in the {@link ResponseCache}, and successful responses invalidate the routes in {@link
+ * RouteCachePolicy#getInvalidates()}.
+ *
+ * @param <T> Type of response body.
+ */
+public class CachedRestTemplateExchange<T> extends RestTemplateExchange<T> {
+    private final RestTemplateExchange<T> exchange;
+    private final Object route;
+    private final String urlTemplate;
+    private final RouteCachePolicy policy;
+    private final ResponseCache cache;
+
+    /**
+     * @param exchange    Request exchange.
+     * @param route       Route instance, responses of different routes are never shared.
+     * @param urlTemplate Url template of the route.
+     * @param policy      Caching behavior of the route.
+     * @param cache       Response cache.
+     */
+    public CachedRestTemplateExchange(RestTemplateExchange<T> exchange,
+                                      Object route,
+                                      String urlTemplate,
+                                      RouteCachePolicy policy,
+                                      ResponseCache cache) {
+        super(exchange);
+        this.exchange = exchange;
+        this.route = route;
+        this.urlTemplate = urlTemplate;
+        this.policy = policy;
+        this.cache = cache;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<T> exchange(HttpEntity<?> entity) {
+        // Streamed bodies are read only once, so they are never cached.
+        if (!this.policy.isCached(this.getMethod()) || this.getResponseReader() != null) {
+            return this.invalidate(this.exchange.exchange(entity));
+        }
+
+        String key = this.policy.key(this.getMethod(), this.getUrl(), entity.getHeaders());
+        ResponseEntity<?> cached = this.cache.get(this.route, this.urlTemplate, key);
+
+        if (cached != null) {
+            return (ResponseEntity<T>) cached;
+        }
+
+        long version = this.cache.getVersion(this.urlTemplate);
+        ResponseEntity<T> response = this.exchange.exchange(entity);
+        this.cache.put(this.route, this.urlTemplate, key, response, this.policy.getTtlNanos(), version);
+
+        return this.invalidate(response);
+    }
+
+    private ResponseEntity<T> invalidate(ResponseEntity<T> response) {
+        if (!this.policy.getInvalidates().isEmpty() && response.getStatusCodeValue() / 100 == 2) {
+            for (String urlTemplate : this.policy.getInvalidates()) {
+                this.cache.invalidate(urlTemplate);
+            }
+        }
+
+        return response;
+    }
+}
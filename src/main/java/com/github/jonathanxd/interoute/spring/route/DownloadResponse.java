@@ -0,0 +1,182 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the response body to a file or channel while it is received, instead of holding the
+ * whole body in the heap.
+ *
+ * The body is written to the {@link com.github.jonathanxd.interoute.spring.annotation.Target
+ * target} of the route, either a {@link Path} or a {@link WritableByteChannel}, or to a new
+ * temporary file if the route has no target. Files are written with {@link
+ * FileChannel#transferFrom(ReadableByteChannel, long, long)}, channels through a direct buffer.
+ *
+ * The route results in the written {@link Path} if the result type is {@link Path}, in the number
+ * of written bytes if the result type is {@link Long}, or in {@code null} otherwise.
+ */
+public final class DownloadResponse implements ResponseReader {
+    private static final long TRANSFER_SIZE = 1 << 20;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Type resultType;
+    private final Object target;
+
+    private DownloadResponse(Type resultType, Object target) {
+        this.resultType = resultType;
+        this.target = target;
+    }
+
+    /**
+     * Gets the download reader of routes without target which result in {@code resultType}.
+     *
+     * @param resultType Type of response body.
+     * @return Download reader which writes the body to a temporary file, or {@code null} if {@code
+     * resultType} is not {@link Path}.
+     */
+    @Nullable
+    public static DownloadResponse of(Type resultType) {
+        return resultType == Path.class ? new DownloadResponse(resultType, null) : null;
+    }
+
+    /**
+     * Creates the download reader which writes the body to {@code target}.
+     *
+     * @param resultType Type of response body.
+     * @param target     {@link Path} or {@link WritableByteChannel} to write the body, or {@code
+     *                   null} to write to a temporary file.
+     * @return Download reader which writes the body to {@code target}.
+     */
+    public static DownloadResponse to(Type resultType, @Nullable Object target) {
+        if (target != null && !(target instanceof Path) && !(target instanceof WritableByteChannel)) {
+            throw new IllegalArgumentException("Download target must be a Path or a WritableByteChannel, found: " + target.getClass());
+        }
+
+        return new DownloadResponse(resultType, target);
+    }
+
+    @Override
+    public ResponseEntity<Object> exchange(RestTemplate restTemplate,
+                                           HttpMethod method,
+                                           URI uri,
+                                           HttpEntity<?> entity) {
+        try (ClientHttpResponse response = StreamingResponse.open(restTemplate, method, uri, entity, null)) {
+            Object body;
+
+            try (ReadableByteChannel source = Channels.newChannel(response.getBody())) {
+                body = this.write(source);
+            }
+
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(response.getHeaders())
+                    .body(body);
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error writing response of " + method.name()
+                    + " request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
+    private Object write(ReadableByteChannel source) throws IOException {
+        long written;
+        Path path = null;
+
+        if (this.target instanceof WritableByteChannel) {
+            written = DownloadResponse.copy(source, (WritableByteChannel) this.target);
+        } else {
+            boolean temporary = this.target == null;
+            path = temporary ? Files.createTempFile("interoute", ".download") : (Path) this.target;
+
+            try (FileChannel file = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                written = DownloadResponse.transfer(source, file);
+            } catch (IOException | RuntimeException e) {
+                if (temporary) {
+                    Files.deleteIfExists(path);
+                }
+
+                throw e;
+            }
+        }
+
+        if (this.resultType == Path.class) {
+            return path;
+        } else if (this.resultType == Long.class || this.resultType == Long.TYPE) {
+            return written;
+        }
+
+        return null;
+    }
+
+    private static long transfer(ReadableByteChannel source, FileChannel file) throws IOException {
+        long position = 0;
+        long transferred;
+
+        // Blocking source, zero bytes means end of stream.
+        while ((transferred = file.transferFrom(source, position, TRANSFER_SIZE)) > 0) {
+            position += transferred;
+        }
+
+        return position;
+    }
+
+    private static long copy(ReadableByteChannel source, WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long written = 0;
+
+        while (source.read(buffer) != -1) {
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+                written += target.write(buffer);
+            }
+
+            buffer.clear();
+        }
+
+        return written;
+    }
+}
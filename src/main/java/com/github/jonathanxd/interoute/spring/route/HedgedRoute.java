@@ -0,0 +1,209 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.route.AbstractRoute;
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.executor.RouteExecutors;
+import com.github.jonathanxd.interoute.spring.hedge.RouteHedger;
+import com.github.jonathanxd.interoute.spring.metrics.RouteMetrics;
+import com.github.jonathanxd.iutils.object.result.Result;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route which executes {@code route} again if it takes longer than the {@link
+ * RouteHedger#getDelayNanos() hedge delay}, and completes with the first successful result. Other
+ * requests are cancelled when the route completes. Failures only complete the route if no other
+ * request is in flight.
+ *
+ * @param <R> Result type.
+ */
+public class HedgedRoute<R> extends AbstractRoute<R> {
+    private final Route<R> route;
+    private final RouteHedger hedger;
+    private final RouteMetrics metrics;
+
+    /**
+     * @param origin      Route origin.
+     * @param destination Route destination.
+     * @param route       Hedged route.
+     * @param hedger      Hedging state of the route.
+     * @param metrics     Meters of the route, or {@code null} if the route is not instrumented.
+     */
+    public HedgedRoute(@NotNull Origin origin,
+                       @NotNull Destination destination,
+                       @NotNull Route<R> route,
+                       @NotNull RouteHedger hedger,
+                       @Nullable RouteMetrics metrics) {
+        super(origin, destination);
+        this.route = route;
+        this.hedger = hedger;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletableFuture<Result<R, RoutingException>> execute() {
+        this.hedger.execution();
+
+        Execution execution = new Execution();
+        execution.send(false);
+        execution.schedule();
+
+        return execution.result;
+    }
+
+    private final class Execution {
+        private final CompletableFuture<Result<R, RoutingException>> result = new CompletableFuture<>();
+        private final List<CompletableFuture<Result<R, RoutingException>>> requests = new ArrayList<>();
+        private int pending;
+        private int hedges;
+        private boolean won;
+        private ScheduledFuture<?> timer;
+
+        Execution() {
+            this.result.whenComplete((result, throwable) -> this.cancel());
+        }
+
+        void schedule() {
+            long delay = HedgedRoute.this.hedger.getDelayNanos();
+
+            if (delay < 0) {
+                return;
+            }
+
+            synchronized (this) {
+                if (!this.result.isDone()) {
+                    this.timer = RouteExecutors.scheduler().schedule(this::hedge, delay, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        void hedge() {
+            if (this.result.isDone() || !HedgedRoute.this.hedger.tryHedge()) {
+                return;
+            }
+
+            if (HedgedRoute.this.metrics != null) {
+                HedgedRoute.this.metrics.hedge();
+            }
+
+            this.send(true);
+
+            synchronized (this) {
+                if (++this.hedges >= HedgedRoute.this.hedger.getPolicy().getMax()) {
+                    return;
+                }
+            }
+
+            this.schedule();
+        }
+
+        void send(boolean hedge) {
+            long start = System.nanoTime();
+            CompletableFuture<Result<R, RoutingException>> request;
+
+            synchronized (this) {
+                if (this.result.isDone()) {
+                    return;
+                }
+
+                this.pending++;
+            }
+
+            try {
+                request = HedgedRoute.this.route.execute();
+            } catch (RuntimeException e) {
+                request = new CompletableFuture<>();
+                request.completeExceptionally(e);
+            }
+
+            synchronized (this) {
+                this.requests.add(request);
+
+                if (this.result.isDone()) {
+                    request.cancel(true);
+                }
+            }
+
+            request.whenComplete((result, throwable) -> this.complete(hedge, start, result, throwable));
+        }
+
+        private void complete(boolean hedge, long start, Result<R, RoutingException> result, Throwable throwable) {
+            boolean success = throwable == null && !result.isError();
+            boolean won;
+            int pending;
+
+            synchronized (this) {
+                pending = --this.pending;
+                won = success && !this.won && !this.result.isDone();
+
+                if (won) {
+                    this.won = true;
+                }
+            }
+
+            if (success) {
+                HedgedRoute.this.hedger.latency(System.nanoTime() - start);
+
+                // Wins are recorded before completing the route, so callers observe them.
+                if (won && hedge) {
+                    HedgedRoute.this.hedger.win();
+
+                    if (HedgedRoute.this.metrics != null) {
+                        HedgedRoute.this.metrics.hedgeWin();
+                    }
+                }
+
+                this.result.complete(result);
+            } else if (pending == 0) {
+                this.result.complete(throwable == null ? result : Result.error(new RoutingException(throwable)));
+            }
+        }
+
+        private synchronized void cancel() {
+            if (this.timer != null) {
+                this.timer.cancel(false);
+            }
+
+            for (CompletableFuture<Result<R, RoutingException>> request : this.requests) {
+                request.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.route.AbstractRoute;
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.limit.ConcurrencyLimitException;
+import com.github.jonathanxd.interoute.spring.limit.HostLimit;
+import com.github.jonathanxd.iutils.object.result.Result;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Route which only executes {@code route} if the {@link HostLimit concurrency limit} of the host
+ * allows it, and fails with {@link ConcurrencyLimitException} otherwise.
+ *
+ * Requests which fail with I/O errors, with {@code 429}, {@code 503} or {@code 504} responses,
+ * which expire in the executor queue or which are cancelled by the {@link TimeoutRoute deadline of
+ * the route} are dropped requests, which decrease the limit.
+ *
+ * @param <R> Result type.
+ */
+public class LimitedRoute<R> extends AbstractRoute<R> {
+    private final Route<R> route;
+    private final HostLimit limit;
+
+    /**
+     * @param origin      Route origin.
+     * @param destination Route destination.
+     * @param route       Limited route.
+     * @param limit       Concurrency limit of the host of the route.
+     */
+    public LimitedRoute(@NotNull Origin origin,
+                        @NotNull Destination destination,
+                        @NotNull Route<R> route,
+                        @NotNull HostLimit limit) {
+        super(origin, destination);
+        this.route = route;
+        this.limit = limit;
+    }
+
+    @Override
+    public CompletableFuture<Result<R, RoutingException>> execute() {
+        if (!this.limit.tryAcquire()) {
+            return CompletableFuture.completedFuture(Result.error(
+                    new ConcurrencyLimitException(this.limit.getHost(), this.limit.getLimit())));
+        }
+
+        CompletableFuture<Result<R, RoutingException>> result;
+
+        try {
+            result = this.route.execute();
+        } catch (RuntimeException e) {
+            this.limit.release(false);
+            throw e;
+        }
+
+        result.whenComplete((value, throwable) -> this.limit.release(throwable != null
+                ? throwable instanceof CancellationException && RouteDeadline.isExpiring()
+                : value.isError() && LimitedRoute.isDropped(value.errorOrNull())));
+
+        return result;
+    }
+
+    private static boolean isDropped(RoutingException exception) {
+        if (exception instanceof RouteTimeoutException) {
+            return true;
+        }
+
+        Throwable cause = exception.getCause();
+
+        if (cause instanceof ResourceAccessException) {
+            return true;
+        }
+
+        if (cause instanceof RestClientResponseException) {
+            int status = ((RestClientResponseException) cause).getRawStatusCode();
+            return status == 429 || status == 503 || status == 504;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.spring.metrics.RouteMetrics;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * {@link RestTemplateExchange} which records the requests sent to the network in {@link
+ * RouteMetrics}. It is the innermost exchange of a route: responses answered by the {@link
+ * CachedRestTemplateExchange response cache} are not recorded, and revalidated requests are
+ * recorded with the {@code 304 Not Modified} status actually received.
+ *
+ * @param <T> Type of response body.
+ */
+public class MeteredRestTemplateExchange<T> extends RestTemplateExchange<T> {
+    private final RestTemplateExchange<T> exchange;
+    private final RouteMetrics metrics;
+
+    /**
+     * @param exchange Request exchange.
+     * @param metrics  Meters of the route.
+     */
+    public MeteredRestTemplateExchange(RestTemplateExchange<T> exchange, RouteMetrics metrics) {
+        super(exchange);
+        this.exchange = exchange;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ResponseEntity<T> exchange(HttpEntity<?> entity) {
+        long start = this.metrics.start(entity);
+
+        try {
+            ResponseEntity<T> response = this.exchange.exchange(entity);
+            this.metrics.success(start, response);
+            return response;
+        } catch (RuntimeException | Error throwable) {
+            if (RouteCancellation.isCancelled()) {
+                this.metrics.cancellation(start);
+            } else {
+                this.metrics.failure(start, throwable);
+            }
+
+            throw throwable;
+        }
+    }
+}
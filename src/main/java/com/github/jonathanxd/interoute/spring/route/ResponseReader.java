@@ -0,0 +1,62 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+
+/**
+ * Sends the request of a {@link RestTemplateExchange} and reads the response body without the
+ * {@link org.springframework.http.converter.HttpMessageConverter message converters} of {@link
+ * RestTemplate}, which buffer the whole body.
+ *
+ * @see StreamingResponse
+ * @see DownloadResponse
+ */
+public interface ResponseReader {
+
+    /**
+     * Sends the request and reads the response.
+     *
+     * @param restTemplate Rest template which sends the request.
+     * @param method       Request method.
+     * @param uri          Uri of the request.
+     * @param entity       Request entity.
+     * @return Response entity.
+     * @throws org.springframework.web.client.RestClientException If request fails or the response
+     *                                                            has an error status.
+     */
+    ResponseEntity<Object> exchange(RestTemplate restTemplate,
+                                    HttpMethod method,
+                                    URI uri,
+                                    HttpEntity<?> entity);
+}
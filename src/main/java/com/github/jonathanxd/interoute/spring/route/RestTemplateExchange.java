@@ -0,0 +1,222 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriTemplateHandler;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Request of a route backed by {@link RestTemplate}. The request is only sent when {@link
+ * #exchange()} is invoked.
+ *
+ * @param <T> Type of response body.
+ */
+public class RestTemplateExchange<T> {
+    private static final Map<String, ?> NO_URI_VARIABLES = Collections.emptyMap();
+
+    private final RestTemplate restTemplate;
+    private final HttpMethod method;
+    private final String url;
+    private final URI uri;
+    private final HttpEntity<?> entity;
+    private final ParameterizedTypeReference<T> responseType;
+    private final ResponseReader responseReader;
+
+    /**
+     * Creates an exchange with url template, the {@code url} is expanded by the {@link
+     * org.springframework.web.util.UriTemplateHandler} of {@link RestTemplate}.
+     */
+    public RestTemplateExchange(RestTemplate restTemplate,
+                                HttpMethod method,
+                                String url,
+                                HttpEntity<?> entity,
+                                ParameterizedTypeReference<T> responseType) {
+        this(restTemplate, method, url, null, entity, responseType, null);
+    }
+
+    /**
+     * Creates an exchange with url template, the {@code url} is expanded by the {@link
+     * org.springframework.web.util.UriTemplateHandler} of {@link RestTemplate}. The response is
+     * read by {@code responseReader}, if not {@code null}.
+     */
+    public RestTemplateExchange(RestTemplate restTemplate,
+                                HttpMethod method,
+                                String url,
+                                HttpEntity<?> entity,
+                                ParameterizedTypeReference<T> responseType,
+                                @Nullable ResponseReader responseReader) {
+        this(restTemplate, method, url, null, entity, responseType, responseReader);
+    }
+
+    /**
+     * Creates an exchange with an already encoded {@code uri}.
+     */
+    public RestTemplateExchange(RestTemplate restTemplate,
+                                HttpMethod method,
+                                URI uri,
+                                HttpEntity<?> entity,
+                                ParameterizedTypeReference<T> responseType) {
+        this(restTemplate, method, null, uri, entity, responseType, null);
+    }
+
+    /**
+     * Creates an exchange with an already encoded {@code uri}. The response is read by {@code
+     * responseReader}, if not {@code null}.
+     */
+    public RestTemplateExchange(RestTemplate restTemplate,
+                                HttpMethod method,
+                                URI uri,
+                                HttpEntity<?> entity,
+                                ParameterizedTypeReference<T> responseType,
+                                @Nullable ResponseReader responseReader) {
+        this(restTemplate, method, null, uri, entity, responseType, responseReader);
+    }
+
+    /**
+     * Creates an exchange with the same request of {@code exchange}.
+     */
+    protected RestTemplateExchange(RestTemplateExchange<T> exchange) {
+        this(exchange.restTemplate, exchange.method, exchange.url, exchange.uri, exchange.entity,
+                exchange.responseType, exchange.responseReader);
+    }
+
+    private RestTemplateExchange(RestTemplate restTemplate,
+                                 HttpMethod method,
+                                 String url,
+                                 URI uri,
+                                 HttpEntity<?> entity,
+                                 ParameterizedTypeReference<T> responseType,
+                                 ResponseReader responseReader) {
+        this.restTemplate = restTemplate;
+        this.method = method;
+        this.url = url;
+        this.uri = uri;
+        this.entity = entity;
+        this.responseType = responseType;
+        this.responseReader = responseReader;
+    }
+
+    /**
+     * Sends the request and blocks until the response is received.
+     *
+     * @return Response entity.
+     * @throws org.springframework.web.client.RestClientException If request fails or the response
+     *                                                            has an error status.
+     */
+    public ResponseEntity<T> exchange() {
+        return this.exchange(this.entity);
+    }
+
+    /**
+     * Sends the request with {@code entity} instead of the {@link #getEntity() entity of this
+     * exchange}, and blocks until the response is received.
+     *
+     * @param entity Request entity.
+     * @return Response entity.
+     * @throws org.springframework.web.client.RestClientException If request fails or the response
+     *                                                            has an error status.
+     */
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<T> exchange(HttpEntity<?> entity) {
+        if (this.responseReader != null) {
+            return (ResponseEntity<T>) (ResponseEntity<?>) this.responseReader.exchange(this.restTemplate, this.method,
+                    this.getUri(), entity);
+        }
+
+        if (this.uri != null) {
+            return this.restTemplate.exchange(this.getUri(), this.method, entity, this.responseType);
+        } else {
+            return this.restTemplate.exchange(this.url, this.method, entity, this.responseType, NO_URI_VARIABLES);
+        }
+    }
+
+    /**
+     * Gets the url of the request, either the url template or the already encoded uri.
+     *
+     * @return Url of the request.
+     */
+    public String getUrl() {
+        return this.uri != null ? this.uri.toString() : this.url;
+    }
+
+    /**
+     * Gets the uri which the request is sent to. Url templates are expanded by the {@link
+     * org.springframework.web.util.UriTemplateHandler} of {@link RestTemplate}. Absolute uris are
+     * returned as they are, relative uris are {@link UriEncodingUtil#resolve(URI, URI) resolved}
+     * against the root of the handler, so the {@code rootUri} of the rest template also applies to
+     * them. Routes resolve their uris once per {@link RestTemplateRouteBinding.Snapshot snapshot},
+     * so their uris are already absolute.
+     *
+     * @return Uri of the request.
+     */
+    public URI getUri() {
+        if (this.uri != null && this.uri.isAbsolute()) {
+            return this.uri;
+        }
+
+        UriTemplateHandler handler = this.restTemplate.getUriTemplateHandler();
+
+        if (this.uri == null) {
+            return handler.expand(this.url, NO_URI_VARIABLES);
+        }
+
+        return UriEncodingUtil.resolve(handler.expand("/", NO_URI_VARIABLES), this.uri);
+    }
+
+    public RestTemplate getRestTemplate() {
+        return this.restTemplate;
+    }
+
+    public HttpMethod getMethod() {
+        return this.method;
+    }
+
+    public HttpEntity<?> getEntity() {
+        return this.entity;
+    }
+
+    public ParameterizedTypeReference<T> getResponseType() {
+        return this.responseType;
+    }
+
+    @Nullable
+    public ResponseReader getResponseReader() {
+        return this.responseReader;
+    }
+}
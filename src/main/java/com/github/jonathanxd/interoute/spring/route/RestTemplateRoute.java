@@ -0,0 +1,173 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.route.AbstractRoute;
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.iutils.object.result.Result;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Route backed by {@link RestTemplateExchange}. The blocking exchange is executed in the {@link
+ * Executor} provided by the backend configuration.
+ *
+ * Cancelling the future returned by {@link #execute()} {@link RouteCancellation cancels} the
+ * exchange: a queued exchange is never sent, and the request in flight is aborted.
+ *
+ * @param <R> Result type.
+ */
+public class RestTemplateRoute<R> extends AbstractRoute<R> {
+    private final RestTemplateExchange<?> exchange;
+    private final Executor executor;
+    private final boolean body;
+    private final long timeoutNanos;
+
+    private RestTemplateRoute(@NotNull Origin origin,
+                              @NotNull Destination destination,
+                              @NotNull RestTemplateExchange<?> exchange,
+                              @NotNull Executor executor,
+                              boolean body,
+                              long timeoutNanos) {
+        super(origin, destination);
+        this.exchange = exchange;
+        this.executor = executor;
+        this.body = body;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * Creates a route which results in the {@link ResponseEntity#getBody() response body} and is
+     * never sent if it waits for an executor thread longer than {@code timeoutNanos}.
+     *
+     * @param origin       Route origin.
+     * @param destination  Route destination.
+     * @param exchange     Request exchange.
+     * @param executor     Executor of the blocking exchange.
+     * @param timeoutNanos Timeout of the route, in nanoseconds, or {@code 0} for no timeout.
+     * @param <R>          Result type.
+     * @return Route which results in the response body.
+     */
+    public static <R> RestTemplateRoute<R> body(@NotNull Origin origin,
+                                                @NotNull Destination destination,
+                                                @NotNull RestTemplateExchange<R> exchange,
+                                                @NotNull Executor executor,
+                                                long timeoutNanos) {
+        return new RestTemplateRoute<>(origin, destination, exchange, executor, true, timeoutNanos);
+    }
+
+    /**
+     * Creates a route which results in the {@link ResponseEntity} and is never sent if it waits for
+     * an executor thread longer than {@code timeoutNanos}.
+     *
+     * @param origin       Route origin.
+     * @param destination  Route destination.
+     * @param exchange     Request exchange.
+     * @param executor     Executor of the blocking exchange.
+     * @param timeoutNanos Timeout of the route, in nanoseconds, or {@code 0} for no timeout.
+     * @param <T>          Response body type.
+     * @return Route which results in the {@link ResponseEntity}.
+     */
+    public static <T> RestTemplateRoute<ResponseEntity<T>> entity(@NotNull Origin origin,
+                                                                  @NotNull Destination destination,
+                                                                  @NotNull RestTemplateExchange<T> exchange,
+                                                                  @NotNull Executor executor,
+                                                                  long timeoutNanos) {
+        return new RestTemplateRoute<>(origin, destination, exchange, executor, false, timeoutNanos);
+    }
+
+    @Override
+    public CompletableFuture<Result<R, RoutingException>> execute() {
+        long deadline = this.timeoutNanos > 0 ? System.nanoTime() + this.timeoutNanos : 0L;
+        RouteCancellation cancellation = new RouteCancellation();
+        CompletableFuture<Result<R, RoutingException>> result;
+
+        try {
+            result = CompletableFuture.supplyAsync(() -> this.exchange(deadline, cancellation), this.executor);
+        } catch (Throwable throwable) {
+            // Executor rejected the task.
+            return CompletableFuture.completedFuture(Result.error(new RoutingException(throwable)));
+        }
+
+        result.whenComplete((value, throwable) -> {
+            if (throwable instanceof CancellationException) {
+                cancellation.cancel();
+            }
+        });
+
+        return result;
+    }
+
+    private Result<R, RoutingException> exchange(long deadline, RouteCancellation cancellation) {
+        if (deadline != 0L && System.nanoTime() - deadline >= 0) {
+            // Expired while queued, sending it would only waste upstream capacity.
+            return Result.error(new RouteTimeoutException(this.timeoutNanos, true));
+        }
+
+        if (!cancellation.start()) {
+            // Cancelled while queued.
+            return Result.error(new RoutingException(new CancellationException()));
+        }
+
+        if (deadline != 0L) {
+            RouteDeadline.set(deadline);
+        }
+
+        try {
+            return this.exchange();
+        } finally {
+            if (deadline != 0L) {
+                RouteDeadline.clear();
+            }
+
+            cancellation.finish();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Result<R, RoutingException> exchange() {
+        try {
+            ResponseEntity<?> entity = this.exchange.exchange();
+
+            return Result.ok((R) (this.body ? entity.getBody() : entity));
+        } catch (Throwable throwable) {
+            return Result.error(new RoutingException(throwable));
+        }
+    }
+
+    public Executor getExecutor() {
+        return this.executor;
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.backend.InterouteBackendConfiguration;
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration;
+import com.github.jonathanxd.interoute.spring.cache.ResponseCache;
+import com.github.jonathanxd.interoute.spring.cache.RevalidationCache;
+import com.github.jonathanxd.interoute.spring.cache.RouteCachePolicy;
+import com.github.jonathanxd.interoute.spring.destination.UrlDestination;
+import com.github.jonathanxd.interoute.spring.headers.RouteHeaders;
+import com.github.jonathanxd.interoute.spring.hedge.RouteHedger;
+import com.github.jonathanxd.interoute.spring.limit.ConcurrencyLimiter;
+import com.github.jonathanxd.interoute.spring.limit.HostLimit;
+import com.github.jonathanxd.interoute.spring.metrics.RouteMetrics;
+import com.github.jonathanxd.interoute.spring.uni.HeadersProvider;
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link RouteBinding} of routes of {@link com.github.jonathanxd.interoute.spring.SpringRestBackend}.
+ * Generated routes only compute the url and the body, everything else is either constant or read
+ * from the {@link Snapshot configuration snapshot}.
+ */
+public final class RestTemplateRouteBinding extends RouteBinding<RestTemplateRouteBinding.Snapshot> {
+    private final RouteHeaders headers;
+    private final HttpMethod method;
+    private final ParameterizedTypeReference<?> responseType;
+    private final boolean entity;
+    private final boolean springRoute;
+    private final ResponseReader responseReader;
+    private final RouteCachePolicy cachePolicy;
+    private final RouteHedger hedger;
+    private final Duration timeout;
+    private volatile RouteMetrics metrics;
+
+    /**
+     * @param origin       Origin of the route.
+     * @param destination  Destination of the route.
+     * @param headers      Headers resolved when the router was generated.
+     * @param method       Request method.
+     * @param responseType Type of response body.
+     * @param entity       Whether the route results in the {@link ResponseEntity} instead of the
+     *                     response body.
+     * @param springRoute  Whether the route is a {@link SpringRoute}.
+     * @param policy       Caching, hedging and timeout of the route.
+     */
+    public RestTemplateRouteBinding(@NotNull Origin origin,
+                                    @NotNull Destination destination,
+                                    @NotNull RouteHeaders headers,
+                                    @NotNull HttpMethod method,
+                                    @NotNull ParameterizedTypeReference<?> responseType,
+                                    boolean entity,
+                                    boolean springRoute,
+                                    @NotNull RoutePolicy policy) {
+        super(origin, destination);
+        this.headers = headers;
+        this.method = method;
+        this.responseType = responseType;
+        this.entity = entity;
+        this.springRoute = springRoute;
+        StreamingResponse streaming = StreamingResponse.of(responseType.getType());
+        this.responseReader = streaming != null ? streaming : DownloadResponse.of(responseType.getType());
+        this.cachePolicy = policy.getCachePolicy();
+        this.hedger = policy.getHedgePolicy() == null || !this.isSafe() ? null : new RouteHedger(policy.getHedgePolicy());
+        this.timeout = policy.getTimeout();
+    }
+
+    /**
+     * Creates the route to the url template {@code url}.
+     *
+     * @param router Router instance.
+     * @param url    Url template of the request.
+     * @param body   Request body, or {@code null} if there is no body.
+     * @return Route to {@code url}.
+     */
+    public Route<?> route(Object router, String url, Object body) {
+        Snapshot snapshot = this.snapshot(router);
+        return this.route(snapshot,
+                new RestTemplateExchange<>(snapshot.restTemplate, this.method, url,
+                        this.entity(snapshot, body), this.responseType, this.responseReader));
+    }
+
+    /**
+     * Creates the route to the already encoded {@code uri}.
+     *
+     * @param router Router instance.
+     * @param uri    Uri of the request.
+     * @param body   Request body, or {@code null} if there is no body.
+     * @return Route to {@code uri}.
+     */
+    public Route<?> route(Object router, URI uri, Object body) {
+        Snapshot snapshot = this.snapshot(router);
+        return this.route(snapshot,
+                new RestTemplateExchange<>(snapshot.restTemplate, this.method, UriEncodingUtil.resolve(snapshot.root, uri),
+                        this.entity(snapshot, body), this.responseType, this.responseReader));
+    }
+
+    /**
+     * Creates the route to the url template {@code url}, which writes the response body to {@code
+     * target}.
+     *
+     * @param router Router instance.
+     * @param url    Url template of the request.
+     * @param body   Request body, or {@code null} if there is no body.
+     * @param target {@link java.nio.file.Path} or {@link java.nio.channels.WritableByteChannel} to
+     *               write the response body.
+     * @return Route to {@code url}.
+     * @see DownloadResponse
+     */
+    public Route<?> route(Object router, String url, Object body, Object target) {
+        Snapshot snapshot = this.snapshot(router);
+        return this.route(snapshot,
+                new RestTemplateExchange<>(snapshot.restTemplate, this.method, url,
+                        this.entity(snapshot, body), this.responseType,
+                        DownloadResponse.to(this.responseType.getType(), target)));
+    }
+
+    /**
+     * Creates the route to the already encoded {@code uri}, which writes the response body to
+     * {@code target}.
+     *
+     * @param router Router instance.
+     * @param uri    Uri of the request.
+     * @param body   Request body, or {@code null} if there is no body.
+     * @param target {@link java.nio.file.Path} or {@link java.nio.channels.WritableByteChannel} to
+     *               write the response body.
+     * @return Route to {@code uri}.
+     * @see DownloadResponse
+     */
+    public Route<?> route(Object router, URI uri, Object body, Object target) {
+        Snapshot snapshot = this.snapshot(router);
+        return this.route(snapshot,
+                new RestTemplateExchange<>(snapshot.restTemplate, this.method, UriEncodingUtil.resolve(snapshot.root, uri),
+                        this.entity(snapshot, body), this.responseType,
+                        DownloadResponse.to(this.responseType.getType(), target)));
+    }
+
+    private HttpEntity<?> entity(Snapshot snapshot, Object body) {
+        HeadersProvider provider = snapshot.headersProvider;
+
+        if (body == null && provider == null) {
+            return this.headers.entity();
+        }
+
+        HttpHeaders headers = provider == null ? this.headers.get() : this.headers.with(provider.get());
+
+        return body == null ? new HttpEntity<>(headers) : new HttpEntity<>(StreamingRequest.body(body), headers);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Route<?> route(Snapshot snapshot, RestTemplateExchange exchange) {
+        // Responses read by a ResponseReader, such as a download to a @Target, are consumed once:
+        // a 304 or a stored response would leave the target empty, so they are only invalidated.
+        boolean read = exchange.getResponseReader() != null;
+
+        // Metered innermost, so only requests sent to the network are recorded.
+        if (snapshot.metrics != null) {
+            exchange = new MeteredRestTemplateExchange<>(exchange, snapshot.metrics);
+        }
+
+        if (snapshot.revalidationCache != null && !read) {
+            exchange = new RevalidatingRestTemplateExchange<>(exchange, this, snapshot.revalidationCache);
+        }
+
+        if (this.cachePolicy != null && snapshot.responseCache != null
+                && (!read || !this.cachePolicy.getInvalidates().isEmpty())) {
+            exchange = new CachedRestTemplateExchange<>(exchange, this, this.getUrlTemplate(),
+                    this.cachePolicy, snapshot.responseCache);
+        }
+
+        HostLimit limit = snapshot.concurrencyLimiter == null ? null
+                : snapshot.concurrencyLimiter.get(exchange.getUrl(), snapshot.root);
+        Executor executor = limit == null ? snapshot.executor : limit.queue(snapshot.executor);
+
+        Route<?> route = this.entity
+                ? RestTemplateRoute.entity(this.getOrigin(), this.getDestination(), exchange, executor, snapshot.timeoutNanos)
+                : RestTemplateRoute.body(this.getOrigin(), this.getDestination(), exchange, executor, snapshot.timeoutNanos);
+
+        if (limit != null) {
+            route = new LimitedRoute<>(this.getOrigin(), this.getDestination(), (Route) route, limit);
+        }
+
+        if (this.hedger != null && !read) {
+            route = new HedgedRoute<>(this.getOrigin(), this.getDestination(), (Route) route, this.hedger, snapshot.metrics);
+        }
+
+        if (snapshot.singleFlight != null && exchange.getEntity().getBody() == null && !read) {
+            route = new SingleFlightRoute<>(this.getOrigin(), this.getDestination(), (Route) route,
+                    snapshot.singleFlight, this, this.flightKey(exchange));
+        }
+
+        if (snapshot.timeoutNanos > 0) {
+            route = new TimeoutRoute<>(this.getOrigin(), this.getDestination(), (Route) route, snapshot.timeoutNanos);
+        }
+
+        if (this.springRoute) {
+            return new SuppliedExecutorSpringRoute<>(this.getOrigin(), this.getDestination(), (Route) route);
+        }
+
+        return route;
+    }
+
+    /**
+     * Key of in-flight requests: requests are identical if method, url and headers are equal.
+     */
+    private String flightKey(RestTemplateExchange<?> exchange) {
+        return this.method.name() + ' ' + exchange.getUrl() + ' ' + exchange.getEntity().getHeaders();
+    }
+
+    @Override
+    protected Snapshot resolve(InterouteBackendConfiguration configuration) {
+        SpringRestBackendConfiguration springConfiguration = (SpringRestBackendConfiguration) configuration;
+        Map<Origin, HeadersProvider> headersProviderMap = springConfiguration.getHeadersProviderMap();
+
+        RestTemplate restTemplate = springConfiguration.getRestTemplate();
+
+        return new Snapshot(
+                restTemplate,
+                restTemplate.getUriTemplateHandler().expand("/", Collections.emptyMap()),
+                springConfiguration.getExecutor(this.getOrigin()),
+                headersProviderMap.isEmpty() ? null : headersProviderMap.get(this.getOrigin()),
+                this.getMetrics(springConfiguration.getMeterRegistry()),
+                this.cachePolicy == null ? null : springConfiguration.getResponseCache(),
+                this.method == HttpMethod.GET && this.responseReader == null ? springConfiguration.getRevalidationCache() : null,
+                this.isSafe() && this.responseReader == null ? springConfiguration.getSingleFlight() : null,
+                springConfiguration.getConcurrencyLimiter(),
+                this.getTimeoutNanos(springConfiguration.getDefaultTimeout())
+        );
+    }
+
+    private long getTimeoutNanos(Duration defaultTimeout) {
+        Duration timeout = this.timeout != null ? this.timeout : defaultTimeout;
+        return timeout == null || timeout.isNegative() ? 0L : timeout.toNanos();
+    }
+
+    private boolean isSafe() {
+        return this.method == HttpMethod.GET || this.method == HttpMethod.HEAD || this.method == HttpMethod.OPTIONS;
+    }
+
+    private String getUrlTemplate() {
+        Destination destination = this.getDestination();
+        return destination instanceof UrlDestination ? ((UrlDestination) destination).getUrl() : destination.toString();
+    }
+
+    /**
+     * Gets the meters of the route in {@code registry}. Meters are kept while the registry does not
+     * change, so the in-flight gauge keeps observing the same counter across snapshots.
+     */
+    private RouteMetrics getMetrics(MeterRegistry registry) {
+        if (registry == null) {
+            return null;
+        }
+
+        RouteMetrics metrics = this.metrics;
+
+        if (metrics == null || metrics.getRegistry() != registry) {
+            metrics = RouteMetrics.create(registry, this.getDestination(), this.method);
+            this.metrics = metrics;
+        }
+
+        return metrics;
+    }
+
+    /**
+     * Values of backend configuration used by the route.
+     */
+    public static final class Snapshot {
+        private final RestTemplate restTemplate;
+        private final URI root;
+        private final Executor executor;
+        private final HeadersProvider headersProvider;
+        private final RouteMetrics metrics;
+        private final ResponseCache responseCache;
+        private final RevalidationCache revalidationCache;
+        private final SingleFlight singleFlight;
+        private final ConcurrencyLimiter concurrencyLimiter;
+        private final long timeoutNanos;
+
+        Snapshot(RestTemplate restTemplate,
+                 URI root,
+                 Executor executor,
+                 HeadersProvider headersProvider,
+                 RouteMetrics metrics,
+                 ResponseCache responseCache,
+                 RevalidationCache revalidationCache,
+                 SingleFlight singleFlight,
+                 ConcurrencyLimiter concurrencyLimiter,
+                 long timeoutNanos) {
+            this.restTemplate = restTemplate;
+            this.root = root;
+            this.executor = executor;
+            this.headersProvider = headersProvider;
+            this.metrics = metrics;
+            this.responseCache = responseCache;
+            this.revalidationCache = revalidationCache;
+            this.singleFlight = singleFlight;
+            this.concurrencyLimiter = concurrencyLimiter;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        public RestTemplate getRestTemplate() {
+            return this.restTemplate;
+        }
+
+        /**
+         * Gets the root of the uri template handler of the rest template, which relative uris are
+         * resolved against.
+         *
+         * @return Root of the uri template handler.
+         */
+        public URI getRoot() {
+            return this.root;
+        }
+
+        public Executor getExecutor() {
+            return this.executor;
+        }
+
+        public RouteMetrics getMetrics() {
+            return this.metrics;
+        }
+
+        public ResponseCache getResponseCache() {
+            return this.responseCache;
+        }
+
+        public RevalidationCache getRevalidationCache() {
+            return this.revalidationCache;
+        }
+
+        public SingleFlight getSingleFlight() {
+            return this.singleFlight;
+        }
+
+        public ConcurrencyLimiter getConcurrencyLimiter() {
+            return this.concurrencyLimiter;
+        }
+
+        public long getTimeoutNanos() {
+            return this.timeoutNanos;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.spring.cache.RevalidationCache;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * {@link RestTemplateExchange} of {@code GET} routes of a backend with a {@link RevalidationCache}:
+ * requests are sent with the validators of the remembered response, and {@code 304 Not Modified}
+ * responses are answered with the remembered response.
+ *
+ * @param <T> Type of response body.
+ */
+public class RevalidatingRestTemplateExchange<T> extends RestTemplateExchange<T> {
+    private final RestTemplateExchange<T> exchange;
+    private final Object route;
+    private final RevalidationCache cache;
+
+    /**
+     * @param exchange Request exchange.
+     * @param route    Route instance, responses of different routes are never shared.
+     * @param cache    Cache of remembered responses.
+     */
+    public RevalidatingRestTemplateExchange(RestTemplateExchange<T> exchange,
+                                            Object route,
+                                            RevalidationCache cache) {
+        super(exchange);
+        this.exchange = exchange;
+        this.route = route;
+        this.cache = cache;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<T> exchange(HttpEntity<?> entity) {
+        String url = this.getUrl();
+        ResponseEntity<?> remembered = this.cache.get(this.route, url);
+        ResponseEntity<T> response = this.exchange.exchange(
+                remembered == null ? entity : RevalidationCache.conditional(entity, remembered));
+
+        return (ResponseEntity<T>) this.cache.update(this.route, url, remembered, response);
+    }
+}
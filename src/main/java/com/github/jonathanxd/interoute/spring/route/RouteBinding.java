@@ -0,0 +1,118 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.backend.InterouteBackendConfiguration;
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.route.Router;
+import com.github.jonathanxd.interoute.spring.ConfigurationEpoch;
+import com.github.jonathanxd.interoute.spring.precompiled.AbstractPrecompiledRouter;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+
+/**
+ * Route-invariant values of a generated route, together with a snapshot of the values resolved
+ * from the backend configuration of the router.
+ *
+ * The snapshot is resolved in the first invocation of the route and read with a single volatile
+ * load in later invocations, until the {@link ConfigurationEpoch configuration epoch} is bumped.
+ *
+ * @param <S> Type of configuration snapshot.
+ */
+public abstract class RouteBinding<S> implements ConfigurationEpoch.Listener {
+    private final Origin origin;
+    private final Destination destination;
+    private volatile S snapshot;
+
+    protected RouteBinding(@NotNull Origin origin,
+                           @NotNull Destination destination) {
+        this.origin = origin;
+        this.destination = destination;
+        ConfigurationEpoch.register(this);
+    }
+
+    /**
+     * Gets the configuration snapshot, resolving it from the backend configuration of {@code
+     * router} if it was invalidated.
+     *
+     * @param router Router instance, generated at runtime or at {@link AbstractPrecompiledRouter
+     *               build time}.
+     * @return Configuration snapshot.
+     */
+    protected final S snapshot(Object router) {
+        S snapshot = this.snapshot;
+
+        if (snapshot == null) {
+            long epoch = ConfigurationEpoch.current();
+            snapshot = this.resolve(RouteBinding.getConfiguration(router));
+            this.snapshot = snapshot;
+
+            if (ConfigurationEpoch.current() != epoch) {
+                // Bumped while resolving, the snapshot may hold stale values.
+                this.snapshot = null;
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Resolves the configuration snapshot from {@code configuration}.
+     *
+     * @param configuration Backend configuration of the router.
+     * @return Configuration snapshot.
+     */
+    protected abstract S resolve(InterouteBackendConfiguration configuration);
+
+    @Override
+    public void invalidate() {
+        this.snapshot = null;
+    }
+
+    public Origin getOrigin() {
+        return this.origin;
+    }
+
+    public Destination getDestination() {
+        return this.destination;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static InterouteBackendConfiguration getConfiguration(Object router) {
+        if (router instanceof AbstractPrecompiledRouter<?>) {
+            return ((AbstractPrecompiledRouter<?>) router).getConfiguration();
+        }
+
+        Optional<?> configuration = ((Router) router).getBackendConfiguration();
+        return (InterouteBackendConfiguration) configuration
+                .orElseThrow(() -> new IllegalStateException("Router '" + router + "' is not configured."));
+    }
+}
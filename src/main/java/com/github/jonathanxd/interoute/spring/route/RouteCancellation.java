@@ -0,0 +1,156 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Cancellation of a route exchange, created by {@link RestTemplateRoute} for each execution and
+ * cancelled when the future of the execution is cancelled.
+ *
+ * Request factories {@link #onCancel(Runnable) register} how to abort the request being sent by
+ * the current thread, so cancelling the route aborts the exchange and frees the connection instead
+ * of waiting for the response, see {@link com.github.jonathanxd.interoute.spring.http.DeadlineClientHttpRequestFactory}.
+ * The thread of the exchange is also interrupted, which stops exchanges blocked in interruptible
+ * operations, such as waiting for a pooled connection.
+ */
+public final class RouteCancellation {
+    private static final ThreadLocal<RouteCancellation> CURRENT = new ThreadLocal<>();
+
+    private Thread thread;
+    private Runnable abort;
+    private boolean cancelled;
+    private boolean interrupted;
+    private boolean done;
+
+    RouteCancellation() {
+    }
+
+    /**
+     * Registers how to abort the request being sent by the route exchange running in the current
+     * thread. The action replaces the action of the previous request of the exchange, and runs
+     * immediately if the route is already cancelled. Does nothing if the current thread is not
+     * running a route exchange.
+     *
+     * @param abort Action which aborts the request, called from the thread which cancels the route.
+     */
+    public static void onCancel(@NotNull Runnable abort) {
+        RouteCancellation cancellation = CURRENT.get();
+
+        if (cancellation != null) {
+            cancellation.register(abort);
+        }
+    }
+
+    /**
+     * Checks whether the route exchange running in the current thread was cancelled.
+     *
+     * @return Whether the route exchange running in the current thread was cancelled.
+     */
+    public static boolean isCancelled() {
+        RouteCancellation cancellation = CURRENT.get();
+        return cancellation != null && cancellation.cancelled();
+    }
+
+    private void register(Runnable abort) {
+        boolean cancelled;
+
+        synchronized (this) {
+            this.abort = abort;
+            cancelled = this.cancelled;
+        }
+
+        if (cancelled) {
+            abort.run();
+        }
+    }
+
+    private synchronized boolean cancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Starts the exchange in the current thread.
+     *
+     * @return {@code false} if the route was cancelled before the exchange started.
+     */
+    synchronized boolean start() {
+        if (this.cancelled) {
+            return false;
+        }
+
+        this.thread = Thread.currentThread();
+        CURRENT.set(this);
+        return true;
+    }
+
+    /**
+     * Finishes the exchange started in the current thread, clearing the interrupt caused by
+     * cancellation.
+     */
+    void finish() {
+        boolean interrupted;
+
+        synchronized (this) {
+            this.done = true;
+            this.thread = null;
+            this.abort = null;
+            interrupted = this.interrupted;
+        }
+
+        CURRENT.remove();
+
+        if (interrupted) {
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Cancels the exchange: aborts the current request and interrupts the thread of the exchange.
+     * The request is aborted while holding the lock, so it is never aborted after the exchange
+     * finished and released the connection for other requests.
+     */
+    synchronized void cancel() {
+        if (this.cancelled) {
+            return;
+        }
+
+        this.cancelled = true;
+
+        if (this.done || this.thread == null) {
+            return;
+        }
+
+        if (this.abort != null) {
+            this.abort.run();
+        }
+
+        this.interrupted = true;
+        this.thread.interrupt();
+    }
+}
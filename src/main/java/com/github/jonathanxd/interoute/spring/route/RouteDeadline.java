@@ -0,0 +1,106 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import java.util.concurrent.Future;
+
+/**
+ * Deadline of the route exchange running in the current thread, set by {@link RestTemplateRoute}
+ * for routes with timeout. Request factories read it to bound the connect and read timeouts of the
+ * request by the time left to the deadline, see {@link com.github.jonathanxd.interoute.spring.http.DeadlineClientHttpRequestFactory}.
+ * Routes cancelled because their deadline expired are told apart from other cancellations with
+ * {@link #isExpiring()}.
+ */
+public final class RouteDeadline {
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> EXPIRING = new ThreadLocal<>();
+
+    private RouteDeadline() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the time left, in nanoseconds, to the deadline of the exchange running in the current
+     * thread.
+     *
+     * @return Time left to the deadline, {@code 0} if it has expired, or {@link Long#MAX_VALUE} if
+     * the exchange has no deadline.
+     */
+    public static long remainingNanos() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * Gets the time left, in milliseconds, to the deadline, to use as connect or read timeout of a
+     * request with {@code timeout} configured.
+     *
+     * @param timeout Configured timeout, in milliseconds, or {@code 0} for no timeout.
+     * @return Timeout bounded by the deadline, at least one millisecond if there is a deadline.
+     */
+    public static int timeoutMillis(int timeout) {
+        long remaining = RouteDeadline.remainingNanos();
+
+        if (remaining == Long.MAX_VALUE) {
+            return timeout;
+        }
+
+        int millis = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (remaining + 999_999) / 1_000_000));
+
+        return timeout > 0 ? Math.min(timeout, millis) : millis;
+    }
+
+    /**
+     * Checks whether the current thread is cancelling a route because its deadline expired. {@link
+     * TimeoutRoute} cancels the route in the thread which detects the expiration, so completion
+     * callbacks of the cancelled route run while this is {@code true}.
+     *
+     * @return Whether the current thread is cancelling a route because its deadline expired.
+     */
+    public static boolean isExpiring() {
+        return EXPIRING.get() != null;
+    }
+
+    static boolean expire(Future<?> route) {
+        EXPIRING.set(Boolean.TRUE);
+
+        try {
+            return route.cancel(true);
+        } finally {
+            EXPIRING.remove();
+        }
+    }
+
+    static void set(long deadline) {
+        DEADLINE.set(deadline);
+    }
+
+    static void clear() {
+        DEADLINE.remove();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration;
+import com.github.jonathanxd.interoute.spring.cache.RouteCachePolicy;
+import com.github.jonathanxd.interoute.spring.hedge.HedgePolicy;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Optional behaviors of a route, declared with annotations in the route method: caching, hedging
+ * and timeout.
+ */
+public final class RoutePolicy {
+    private static final RoutePolicy NONE = new RoutePolicy(null, null, null);
+
+    private final RouteCachePolicy cachePolicy;
+    private final HedgePolicy hedgePolicy;
+    private final Duration timeout;
+
+    private RoutePolicy(RouteCachePolicy cachePolicy, HedgePolicy hedgePolicy, Duration timeout) {
+        this.cachePolicy = cachePolicy;
+        this.hedgePolicy = hedgePolicy;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Gets the policy of routes without caching, hedging and timeout of their own.
+     *
+     * @return Policy of routes without optional behaviors.
+     */
+    public static RoutePolicy none() {
+        return NONE;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the caching behavior of the route.
+     *
+     * @return Caching behavior of the route, or {@code null} if the route neither caches responses
+     * nor invalidates cached responses.
+     */
+    @Nullable
+    public RouteCachePolicy getCachePolicy() {
+        return this.cachePolicy;
+    }
+
+    /**
+     * Gets the hedging behavior of the route.
+     *
+     * @return Hedging behavior of the route, or {@code null} if requests are not hedged.
+     */
+    @Nullable
+    public HedgePolicy getHedgePolicy() {
+        return this.hedgePolicy;
+    }
+
+    /**
+     * Gets the timeout of the route.
+     *
+     * @return Timeout of the route, or {@code null} to use the {@link
+     * SpringRestBackendConfiguration#getDefaultTimeout() default timeout}.
+     */
+    @Nullable
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+
+    public static class Builder {
+        private RouteCachePolicy cachePolicy;
+        private HedgePolicy hedgePolicy;
+        private Duration timeout;
+
+        Builder() {
+        }
+
+        /**
+         * Sets the caching behavior of the route.
+         *
+         * @param cachePolicy Caching behavior, or {@code null} if the route neither caches
+         *                    responses nor invalidates cached responses.
+         * @return This builder.
+         */
+        public Builder cache(@Nullable RouteCachePolicy cachePolicy) {
+            this.cachePolicy = cachePolicy;
+            return this;
+        }
+
+        /**
+         * Sets the hedging behavior of the route. Only requests of {@code GET}, {@code HEAD} and
+         * {@code OPTIONS} routes are hedged.
+         *
+         * @param hedgePolicy Hedging behavior, or {@code null} if requests are not hedged.
+         * @return This builder.
+         */
+        public Builder hedge(@Nullable HedgePolicy hedgePolicy) {
+            this.hedgePolicy = hedgePolicy;
+            return this;
+        }
+
+        /**
+         * Sets the timeout of the route.
+         *
+         * @param timeout Timeout of the route, or {@code null} to use the default timeout.
+         * @return This builder.
+         */
+        public Builder timeout(@Nullable Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        public RoutePolicy build() {
+            if (this.cachePolicy == null && this.hedgePolicy == null && this.timeout == null) {
+                return NONE;
+            }
+
+            return new RoutePolicy(this.cachePolicy, this.hedgePolicy, this.timeout);
+        }
+    }
+}
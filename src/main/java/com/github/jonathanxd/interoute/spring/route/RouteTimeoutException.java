@@ -0,0 +1,69 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.exception.RoutingException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Failure of a route which did not complete before its deadline, declared with {@link
+ * com.github.jonathanxd.interoute.spring.annotation.Timeout} or the default timeout of the backend
+ * configuration.
+ */
+public class RouteTimeoutException extends RoutingException {
+    private final long timeoutNanos;
+    private final boolean queued;
+
+    /**
+     * @param timeoutNanos Timeout of the route, in nanoseconds.
+     * @param queued       Whether the deadline expired before the request was sent.
+     */
+    public RouteTimeoutException(long timeoutNanos, boolean queued) {
+        super(String.format(queued
+                        ? "Route did not leave the executor queue within its timeout of %d ms."
+                        : "Route did not complete within its timeout of %d ms.",
+                TimeUnit.NANOSECONDS.toMillis(timeoutNanos)));
+        this.timeoutNanos = timeoutNanos;
+        this.queued = queued;
+    }
+
+    public long getTimeoutNanos() {
+        return this.timeoutNanos;
+    }
+
+    /**
+     * Whether the deadline expired while the request was waiting for an executor thread, so the
+     * request was never sent.
+     *
+     * @return Whether the request was never sent.
+     */
+    public boolean isQueued() {
+        return this.queued;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.spring.cache.RouteKey;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent requests: while a request is in flight, executions of the same
+ * request share its result instead of sending another one. The request is removed from the
+ * in-flight map when it completes, so later executions send a new request.
+ *
+ * Only requests of safe methods without body are coalesced, see {@link
+ * com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration.Builder#singleFlight(SingleFlight)}.
+ */
+public final class SingleFlight {
+    private final ConcurrentMap<RouteKey, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Executes {@code request}, or joins the execution of an identical request in flight.
+     *
+     * @param route   Route instance, requests of different routes are never coalesced.
+     * @param key     Key which identifies the request.
+     * @param request Execution of the request.
+     * @param <R>     Result type.
+     * @return Future of the shared result. Each caller receives its own future, so completing or
+     * cancelling it does not affect other callers. The request is cancelled when all callers
+     * cancelled their futures.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> execute(Object route, String key, Supplier<CompletableFuture<R>> request) {
+        RouteKey routeKey = new RouteKey(route, key);
+
+        for (;;) {
+            Flight<R> flight = new Flight<>();
+            Flight<R> existing = (Flight<R>) this.inFlight.putIfAbsent(routeKey, flight);
+
+            if (existing == null) {
+                return this.send(routeKey, flight, request);
+            }
+
+            if (existing.join()) {
+                this.coalesced.increment();
+                return this.waiter(routeKey, existing);
+            }
+
+            // All callers cancelled the request in flight, send a new one.
+            this.inFlight.remove(routeKey, existing);
+        }
+    }
+
+    private <R> CompletableFuture<R> send(RouteKey routeKey, Flight<R> flight, Supplier<CompletableFuture<R>> request) {
+        try {
+            flight.request = request.get();
+            flight.request.whenComplete((result, throwable) -> {
+                this.inFlight.remove(routeKey, flight);
+
+                if (throwable != null) {
+                    flight.result.completeExceptionally(throwable);
+                } else {
+                    flight.result.complete(result);
+                }
+            });
+        } catch (Throwable throwable) {
+            this.inFlight.remove(routeKey, flight);
+            flight.result.completeExceptionally(throwable);
+        }
+
+        return this.waiter(routeKey, flight);
+    }
+
+    private <R> CompletableFuture<R> waiter(RouteKey routeKey, Flight<R> flight) {
+        CompletableFuture<R> waiter = flight.result.thenApply(Function.identity());
+
+        waiter.whenComplete((result, throwable) -> {
+            if (waiter.isCancelled() && flight.waiters.decrementAndGet() == 0) {
+                this.inFlight.remove(routeKey, flight);
+                flight.request.cancel(true);
+            }
+        });
+
+        return waiter;
+    }
+
+    /**
+     * Gets the number of requests which are in flight.
+     *
+     * @return Number of requests in flight.
+     */
+    public int getInFlightCount() {
+        return this.inFlight.size();
+    }
+
+    /**
+     * Gets the number of executions which joined a request in flight instead of sending a request.
+     *
+     * @return Number of coalesced executions.
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.sum();
+    }
+
+    /**
+     * Request in flight and the number of callers waiting for it.
+     *
+     * @param <R> Result type.
+     */
+    private static final class Flight<R> {
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+        // Starts with the caller which sends the request, which is counted before any caller
+        // could cancel, so the request is always set when the count reaches zero.
+        private final AtomicInteger waiters = new AtomicInteger(1);
+        private volatile CompletableFuture<R> request;
+
+        /**
+         * Joins the request, unless all callers already cancelled it.
+         *
+         * @return Whether the request was joined.
+         */
+        boolean join() {
+            for (;;) {
+                int waiters = this.waiters.get();
+
+                if (waiters == 0) {
+                    return false;
+                }
+
+                if (this.waiters.compareAndSet(waiters, waiters + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.route.AbstractRoute;
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.iutils.object.result.Result;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Route which executes {@code route} through {@link SingleFlight}, sharing the result with
+ * identical executions in flight.
+ *
+ * @param <R> Result type.
+ */
+public class SingleFlightRoute<R> extends AbstractRoute<R> {
+    private final Route<R> route;
+    private final SingleFlight singleFlight;
+    private final Object flightRoute;
+    private final String key;
+
+    /**
+     * @param origin       Route origin.
+     * @param destination  Route destination.
+     * @param route        Coalesced route.
+     * @param singleFlight In-flight requests.
+     * @param flightRoute  Route instance, requests of different routes are never coalesced.
+     * @param key          Key which identifies the request.
+     */
+    public SingleFlightRoute(@NotNull Origin origin,
+                             @NotNull Destination destination,
+                             @NotNull Route<R> route,
+                             @NotNull SingleFlight singleFlight,
+                             @NotNull Object flightRoute,
+                             @NotNull String key) {
+        super(origin, destination);
+        this.route = route;
+        this.singleFlight = singleFlight;
+        this.flightRoute = flightRoute;
+        this.key = key;
+    }
+
+    @Override
+    public CompletableFuture<Result<R, RoutingException>> execute() {
+        return this.singleFlight.execute(this.flightRoute, this.key, this.route::execute);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.PathResource;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * Request bodies which are sent while they are read, instead of being serialized in memory.
+ *
+ * {@link Path}, {@link InputStream} and {@link ReadableByteChannel} bodies are sent as {@link
+ * org.springframework.core.io.Resource resources}, which {@link org.springframework.http.converter.ResourceHttpMessageConverter}
+ * copies to the request in chunks. {@link Path} bodies are sent with {@code Content-Length}, stream
+ * and channel bodies without it (chunked transfer).
+ *
+ * The body is only streamed to the connection if the request factory of the {@link
+ * org.springframework.web.client.RestTemplate} does not buffer requests. The request factories of
+ * this library, {@link com.github.jonathanxd.interoute.spring.http.DeadlineClientHttpRequestFactory}
+ * and the one of {@link com.github.jonathanxd.interoute.spring.http.HttpConnectionPool}, never
+ * buffer, a {@link SimpleClientHttpRequestFactory} needs {@link
+ * SimpleClientHttpRequestFactory#setBufferRequestBody(boolean) bufferRequestBody} set to {@code
+ * false}. Interceptors of the {@link org.springframework.web.client.RestTemplate} always buffer
+ * the request body.
+ */
+public final class StreamingRequest {
+
+    private StreamingRequest() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Converts {@code body} into the body sent by {@link org.springframework.web.client.RestTemplate}.
+     *
+     * @param body Request body declared in the route method.
+     * @return Resource which streams {@code body} if {@code body} is a {@link Path}, an {@link
+     * InputStream} or a {@link ReadableByteChannel}, or {@code body} otherwise.
+     */
+    public static Object body(Object body) {
+        if (body instanceof Path) {
+            return new PathResource((Path) body);
+        } else if (body instanceof InputStream) {
+            return new InputStreamResource((InputStream) body);
+        } else if (body instanceof ReadableByteChannel) {
+            return new InputStreamResource(Channels.newInputStream((ReadableByteChannel) body));
+        }
+
+        return body;
+    }
+}
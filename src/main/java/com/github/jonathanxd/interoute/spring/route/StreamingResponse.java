@@ -0,0 +1,312 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the response body of routes which result in {@link Stream}, {@link Iterator} or {@link
+ * InputStream} while it is received, instead of buffering the whole body before the route
+ * completes.
+ *
+ * {@link Stream} and {@link Iterator} bodies are decoded element by element with the Jackson
+ * streaming parser, the body could be either a JSON array or a sequence of JSON values (such as
+ * NDJSON). The connection is released when the body is closed, or when all elements were read.
+ */
+public final class StreamingResponse implements ResponseReader {
+    private final Kind kind;
+    private final Type elementType;
+
+    private StreamingResponse(Kind kind, Type elementType) {
+        this.kind = kind;
+        this.elementType = elementType;
+    }
+
+    /**
+     * Gets the streaming reader of {@code responseType}.
+     *
+     * @param responseType Type of response body.
+     * @return Streaming reader of {@code responseType}, or {@code null} if the body of {@code
+     * responseType} is not streamed.
+     */
+    @Nullable
+    public static StreamingResponse of(Type responseType) {
+        Type rawType = responseType instanceof ParameterizedType
+                ? ((ParameterizedType) responseType).getRawType()
+                : responseType;
+
+        if (rawType == InputStream.class) {
+            return new StreamingResponse(Kind.INPUT_STREAM, InputStream.class);
+        } else if (rawType == Stream.class) {
+            return new StreamingResponse(Kind.STREAM, StreamingResponse.getElementType(responseType));
+        } else if (rawType == Iterator.class) {
+            return new StreamingResponse(Kind.ITERATOR, StreamingResponse.getElementType(responseType));
+        }
+
+        return null;
+    }
+
+    /**
+     * Sends the request and returns as soon as the response status and headers are received.
+     *
+     * @param restTemplate Rest template which sends the request.
+     * @param method       Request method.
+     * @param uri          Uri of the request.
+     * @param entity       Request entity.
+     * @return Response entity with a body which reads the response while it is received.
+     * @throws RestClientException If request fails or the response has an error status.
+     */
+    @Override
+    public ResponseEntity<Object> exchange(RestTemplate restTemplate,
+                                           HttpMethod method,
+                                           URI uri,
+                                           HttpEntity<?> entity) {
+        ClientHttpResponse response = StreamingResponse.open(restTemplate, method, uri, entity,
+                this.kind == Kind.INPUT_STREAM ? null : this.elementType);
+
+        try {
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(response.getHeaders())
+                    .body(this.body(restTemplate, response));
+        } catch (IOException e) {
+            response.close();
+            throw new ResourceAccessException("I/O error reading response of " + method.name()
+                    + " request for \"" + uri + "\": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    private Object body(RestTemplate restTemplate, ClientHttpResponse response) throws IOException {
+        InputStream body = new ResponseInputStream(response);
+
+        if (this.kind == Kind.INPUT_STREAM) {
+            return body;
+        }
+
+        ObjectMapper objectMapper = StreamingResponse.getObjectMapper(restTemplate);
+        MappingIterator<Object> values = objectMapper.readerFor(objectMapper.constructType(this.elementType))
+                .readValues(body);
+        ResponseIterator<Object> iterator = new ResponseIterator<>(values, body);
+
+        if (this.kind == Kind.ITERATOR) {
+            return iterator;
+        }
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Sends the request through the {@link RestTemplate#getRequestFactory() request factory} of
+     * {@code restTemplate}, so interceptors are applied, and handles error responses with the
+     * {@link RestTemplate#getErrorHandler() error handler} of {@code restTemplate}. The response is
+     * not closed.
+     */
+    static ClientHttpResponse open(RestTemplate restTemplate,
+                                           HttpMethod method,
+                                           URI uri,
+                                           HttpEntity<?> entity,
+                                           Type acceptType) {
+        try {
+            ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(uri, method);
+            restTemplate.httpEntityCallback(entity, acceptType).doWithRequest(request);
+
+            ClientHttpResponse response = request.execute();
+
+            try {
+                ResponseErrorHandler errorHandler = restTemplate.getErrorHandler();
+
+                if (errorHandler.hasError(response)) {
+                    errorHandler.handleError(uri, method, response);
+                }
+            } catch (IOException | RuntimeException e) {
+                response.close();
+                throw e;
+            }
+
+            return response;
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method.name()
+                    + " request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
+    private static ObjectMapper getObjectMapper(RestTemplate restTemplate) {
+        for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+            if (converter instanceof MappingJackson2HttpMessageConverter) {
+                return ((MappingJackson2HttpMessageConverter) converter).getObjectMapper();
+            }
+        }
+
+        return DefaultObjectMapper.INSTANCE;
+    }
+
+    private static Type getElementType(Type responseType) {
+        if (!(responseType instanceof ParameterizedType)) {
+            return Object.class;
+        }
+
+        Type elementType = ((ParameterizedType) responseType).getActualTypeArguments()[0];
+
+        if (elementType instanceof WildcardType) {
+            return ((WildcardType) elementType).getUpperBounds()[0];
+        }
+
+        return elementType;
+    }
+
+    private enum Kind {
+        INPUT_STREAM,
+        STREAM,
+        ITERATOR
+    }
+
+    private static final class DefaultObjectMapper {
+        static final ObjectMapper INSTANCE = new ObjectMapper();
+    }
+
+    /**
+     * Body of the response, which releases the connection when closed.
+     */
+    private static final class ResponseInputStream extends FilterInputStream {
+        private final ClientHttpResponse response;
+
+        ResponseInputStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                this.response.close();
+            }
+        }
+    }
+
+    /**
+     * Iterator over elements of the response body, closed when all elements were read. Could also
+     * be closed early through {@link Closeable}.
+     */
+    private static final class ResponseIterator<T> implements Iterator<T>, Closeable {
+        private final MappingIterator<T> values;
+        private final InputStream body;
+        private boolean closed;
+
+        ResponseIterator(MappingIterator<T> values, InputStream body) {
+            this.values = values;
+            this.body = body;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.closed) {
+                return false;
+            }
+
+            try {
+                if (this.values.hasNextValue()) {
+                    return true;
+                }
+            } catch (IOException e) {
+                this.close();
+                throw new UncheckedIOException(e);
+            }
+
+            this.close();
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                return this.values.nextValue();
+            } catch (IOException e) {
+                this.close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+
+            try {
+                try {
+                    this.values.close();
+                } finally {
+                    this.body.close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -31,33 +31,59 @@ import com.github.jonathanxd.interoute.exception.RoutingException;
 import com.github.jonathanxd.interoute.route.AbstractRoute;
 import com.github.jonathanxd.interoute.route.Destination;
 import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.route.Route;
 import com.github.jonathanxd.interoute.route.SuppliedExecutorRoute;
 import com.github.jonathanxd.iutils.object.result.Result;
 
 import org.jetbrains.annotations.NotNull;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.util.concurrent.CompletableFuture;
 
 public class SuppliedExecutorSpringRoute<R> extends AbstractRoute<RouteRequestResponse<R>> implements SpringRoute<R> {
-    private final SuppliedExecutorRoute<ResponseEntity<R>> executorRoute;
+    // spring-webflux is optional, WebClientResponseException is only checked when it is present.
+    private static final boolean WEB_CLIENT_PRESENT = ClassUtils.isPresent(
+            "org.springframework.web.reactive.function.client.WebClientResponseException",
+            SuppliedExecutorSpringRoute.class.getClassLoader());
+
+    private final Route<ResponseEntity<R>> executorRoute;
 
     public SuppliedExecutorSpringRoute(
             @NotNull Origin origin,
             @NotNull Destination destination,
             @NotNull SuppliedExecutorRoute<ResponseEntity<R>> executorRoute) {
+        this(origin, destination, (Route<ResponseEntity<R>>) executorRoute);
+    }
+
+    public SuppliedExecutorSpringRoute(
+            @NotNull Origin origin,
+            @NotNull Destination destination,
+            @NotNull Route<ResponseEntity<R>> executorRoute) {
         super(origin, destination);
         this.executorRoute = executorRoute;
     }
 
     @Override
     public CompletableFuture<Result<RouteRequestResponse<R>, RoutingException>> execute() {
-        return this.executorRoute.execute().thenApply(rRoutingExceptionResult ->
-                rRoutingExceptionResult.flatMap(
-                        this::transformResult,
-                        this::transformException
-                ));
+        CompletableFuture<Result<ResponseEntity<R>, RoutingException>> execution = this.executorRoute.execute();
+        CompletableFuture<Result<RouteRequestResponse<R>, RoutingException>> result =
+                execution.thenApply(rRoutingExceptionResult ->
+                        rRoutingExceptionResult.flatMap(
+                                this::transformResult,
+                                this::transformException
+                        ));
+
+        // Cancelling the transformed future cancels the exchange.
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+
+        return result;
     }
 
     private Result<RouteRequestResponse<R>, RoutingException> transformResult(ResponseEntity<R> result) {
@@ -73,6 +99,13 @@ public class SuppliedExecutorSpringRoute<R> extends AbstractRoute<RouteRequestRe
                     statusCodeException.getResponseHeaders(),
                     statusCodeException.getStatusCode()
             ), routingException));
+        } else if (WEB_CLIENT_PRESENT && cause instanceof WebClientResponseException) {
+            WebClientResponseException responseException = (WebClientResponseException) cause;
+            return Result.ok(new RouteRequestResponse<>(new ResponseEntity<>(
+                    null,
+                    responseException.getHeaders(),
+                    responseException.getStatusCode()
+            ), routingException));
         } else {
             return Result.error(routingException);
         }
@@ -0,0 +1,102 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.route.AbstractRoute;
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.route.Route;
+import com.github.jonathanxd.interoute.spring.executor.RouteExecutors;
+import com.github.jonathanxd.iutils.object.result.Result;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route which cancels {@code route} if it does not complete within the timeout, and then
+ * completes with {@link RouteTimeoutException}. Cancelling the route also cancels {@code route}.
+ *
+ * @param <R> Result type.
+ */
+public class TimeoutRoute<R> extends AbstractRoute<R> {
+    private final Route<R> route;
+    private final long timeoutNanos;
+
+    /**
+     * @param origin       Route origin.
+     * @param destination  Route destination.
+     * @param route        Route with timeout.
+     * @param timeoutNanos Timeout of the route, in nanoseconds.
+     */
+    public TimeoutRoute(@NotNull Origin origin,
+                        @NotNull Destination destination,
+                        @NotNull Route<R> route,
+                        long timeoutNanos) {
+        super(origin, destination);
+        this.route = route;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    @Override
+    public CompletableFuture<Result<R, RoutingException>> execute() {
+        CompletableFuture<Result<R, RoutingException>> execution = this.route.execute();
+
+        if (execution.isDone()) {
+            return execution;
+        }
+
+        CompletableFuture<Result<R, RoutingException>> result = new CompletableFuture<>();
+        ScheduledFuture<?> timer = RouteExecutors.scheduler().schedule(() -> {
+            // Cancelled before the result completes, so the route is released when callers see the timeout.
+            if (RouteDeadline.expire(execution)) {
+                result.complete(Result.error(new RouteTimeoutException(this.timeoutNanos, false)));
+            }
+        }, this.timeoutNanos, TimeUnit.NANOSECONDS);
+
+        execution.whenComplete((value, throwable) -> {
+            timer.cancel(false);
+
+            if (!(throwable instanceof CancellationException && RouteDeadline.isExpiring())) {
+                result.complete(throwable == null ? value : Result.error(new RoutingException(throwable)));
+            }
+        });
+
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+
+        return result;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.URI;
+import java.util.Collections;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Request of a route backed by {@link WebClient}. The request is only sent when the {@link Mono}
+ * returned by {@link #exchange()} is subscribed.
+ *
+ * @param <T> Type of response body.
+ */
+public class WebClientExchange<T> {
+    private final WebClient webClient;
+    private final HttpMethod method;
+    private final String url;
+    private final URI uri;
+    private final HttpHeaders headers;
+    private final Object body;
+    private final ParameterizedTypeReference<T> responseType;
+
+    /**
+     * Creates an exchange with url template, the {@code url} is expanded by the {@link
+     * org.springframework.web.util.UriBuilderFactory} of {@link WebClient}.
+     */
+    public WebClientExchange(WebClient webClient,
+                             HttpMethod method,
+                             String url,
+                             HttpHeaders headers,
+                             Object body,
+                             ParameterizedTypeReference<T> responseType) {
+        this(webClient, method, url, null, headers, body, responseType);
+    }
+
+    /**
+     * Creates an exchange with an already encoded {@code uri}.
+     */
+    public WebClientExchange(WebClient webClient,
+                             HttpMethod method,
+                             URI uri,
+                             HttpHeaders headers,
+                             Object body,
+                             ParameterizedTypeReference<T> responseType) {
+        this(webClient, method, null, uri, headers, body, responseType);
+    }
+
+    private WebClientExchange(WebClient webClient,
+                              HttpMethod method,
+                              String url,
+                              URI uri,
+                              HttpHeaders headers,
+                              Object body,
+                              ParameterizedTypeReference<T> responseType) {
+        this.webClient = webClient;
+        this.method = method;
+        this.url = url;
+        this.uri = uri;
+        this.headers = headers;
+        this.body = body;
+        this.responseType = responseType;
+    }
+
+    /**
+     * Creates the {@link Mono} which sends the request when subscribed. Responses with error status
+     * are signaled as {@link org.springframework.web.reactive.function.client.WebClientResponseException}.
+     *
+     * @return {@link Mono} of the response.
+     */
+    public Mono<ResponseEntity<T>> exchange() {
+        return this.retrieve().toEntity(this.responseType);
+    }
+
+    /**
+     * Creates the {@link Mono} which sends the request when subscribed and decodes only the response
+     * body, without creating a {@link ResponseEntity}. Responses with error status are signaled as
+     * {@link org.springframework.web.reactive.function.client.WebClientResponseException}.
+     *
+     * @return {@link Mono} of the response body, empty if the response has no body.
+     */
+    public Mono<T> body() {
+        return this.retrieve().bodyToMono(this.responseType);
+    }
+
+    private WebClient.ResponseSpec retrieve() {
+        WebClient.RequestBodySpec spec = this.uri != null
+                ? this.webClient.method(this.method).uri(it -> UriEncodingUtil.resolve(it.build(), this.uri))
+                : this.webClient.method(this.method).uri(this.url, Collections.emptyMap());
+
+        if (this.headers != null && !this.headers.isEmpty()) {
+            spec = spec.headers(it -> it.addAll(this.headers));
+        }
+
+        WebClient.RequestHeadersSpec<?> request = this.body != null ? spec.syncBody(this.body) : spec;
+
+        return request.retrieve();
+    }
+
+    public HttpMethod getMethod() {
+        return this.method;
+    }
+
+    public ParameterizedTypeReference<T> getResponseType() {
+        return this.responseType;
+    }
+}
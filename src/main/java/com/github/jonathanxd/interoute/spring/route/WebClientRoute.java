@@ -0,0 +1,112 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.route;
+
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.route.AbstractRoute;
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.iutils.object.result.Result;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Route backed by {@link WebClientExchange}. The {@link CompletableFuture} returned by {@link
+ * #execute()} is completed by the event loop which receives the response, no thread is blocked
+ * while the request is in flight.
+ *
+ * @param <R> Result type.
+ */
+public class WebClientRoute<R> extends AbstractRoute<R> {
+    private final WebClientExchange<?> exchange;
+    private final boolean body;
+
+    private WebClientRoute(@NotNull Origin origin,
+                           @NotNull Destination destination,
+                           @NotNull WebClientExchange<?> exchange,
+                           boolean body) {
+        super(origin, destination);
+        this.exchange = exchange;
+        this.body = body;
+    }
+
+    /**
+     * Creates a route which results in the {@link ResponseEntity#getBody() response body}.
+     *
+     * @param origin      Route origin.
+     * @param destination Route destination.
+     * @param exchange    Request exchange.
+     * @param <R>         Result type.
+     * @return Route which results in the response body.
+     */
+    public static <R> WebClientRoute<R> body(@NotNull Origin origin,
+                                             @NotNull Destination destination,
+                                             @NotNull WebClientExchange<R> exchange) {
+        return new WebClientRoute<>(origin, destination, exchange, true);
+    }
+
+    /**
+     * Creates a route which results in the {@link ResponseEntity}.
+     *
+     * @param origin      Route origin.
+     * @param destination Route destination.
+     * @param exchange    Request exchange.
+     * @param <T>         Response body type.
+     * @return Route which results in the {@link ResponseEntity}.
+     */
+    public static <T> WebClientRoute<ResponseEntity<T>> entity(@NotNull Origin origin,
+                                                               @NotNull Destination destination,
+                                                               @NotNull WebClientExchange<T> exchange) {
+        return new WebClientRoute<>(origin, destination, exchange, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletableFuture<Result<R, RoutingException>> execute() {
+        Mono<Result<R, RoutingException>> result;
+
+        if (this.body) {
+            // Decodes only the body, without creating the ResponseEntity of the response.
+            result = this.exchange.body()
+                    .map(value -> Result.<R, RoutingException>ok((R) value))
+                    .defaultIfEmpty(Result.ok(null));
+        } else {
+            result = this.exchange.exchange()
+                    .map(entity -> Result.<R, RoutingException>ok((R) entity));
+        }
+
+        return result
+                .onErrorResume(throwable -> Mono.just(Result.<R, RoutingException>error(new RoutingException(throwable))))
+                .toFuture();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.uni;
+
+import com.github.jonathanxd.interoute.gen.AnnotationUnifier;
+import com.github.jonathanxd.interoute.spring.annotation.CacheResponse;
+import com.github.jonathanxd.interoute.spring.annotation.Invalidates;
+import com.github.jonathanxd.interoute.spring.cache.RouteCachePolicy;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.annotation.Annotation;
+
+public class CachePolicyUnifier implements AnnotationUnifier<Object> {
+    @Override
+    @NotNull
+    public Object unify(@NotNull Annotation annotation) {
+        if (annotation instanceof CacheResponse) {
+            CacheResponse cacheResponse = (CacheResponse) annotation;
+            RouteCachePolicy.Builder builder = RouteCachePolicy.builder().ttl(cacheResponse.ttl(), cacheResponse.unit());
+
+            for (String header : cacheResponse.headers()) {
+                builder.header(header);
+            }
+
+            return builder.build();
+        } else if (annotation instanceof Invalidates) {
+            RouteCachePolicy.Builder builder = RouteCachePolicy.builder();
+
+            for (String urlTemplate : ((Invalidates) annotation).value()) {
+                builder.invalidates(urlTemplate);
+            }
+
+            return builder.build();
+        }
+
+        return annotation;
+    }
+}
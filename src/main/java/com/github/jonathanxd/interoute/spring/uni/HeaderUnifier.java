@@ -44,10 +44,10 @@ public class HeaderUnifier implements AnnotationUnifier<Object> {
         return (annotation instanceof Header
                 ? Optional.of((Header) annotation)
                 : Optional.ofNullable(annotation.annotationType().getDeclaredAnnotation(Header.class))
-        ).<Object>map(it -> new HeadersProvider(() -> {
+        ).<Object>map(it -> {
             HttpHeaders httpHeaders = new HttpHeaders();
             httpHeaders.add(it.key(), it.value());
-            return httpHeaders;
-        })).orElse(annotation);
+            return HeadersProvider.ofStatic(httpHeaders);
+        }).orElse(annotation);
     }
 }
@@ -27,18 +27,70 @@
  */
 package com.github.jonathanxd.interoute.spring.uni;
 
+import com.github.jonathanxd.interoute.util.InstanceFactories;
+
 import org.springframework.http.HttpHeaders;
 
+import java.util.Optional;
 import java.util.function.Supplier;
 
 public class HeadersProvider {
     private final Supplier<HttpHeaders> headersSupplier;
+    private final HttpHeaders staticHeaders;
+    private final Class<? extends Supplier<HttpHeaders>> providerType;
 
     public HeadersProvider(Supplier<HttpHeaders> headersSupplier) {
+        this(headersSupplier, null, null);
+    }
+
+    private HeadersProvider(Supplier<HttpHeaders> headersSupplier,
+                            HttpHeaders staticHeaders,
+                            Class<? extends Supplier<HttpHeaders>> providerType) {
         this.headersSupplier = headersSupplier;
+        this.staticHeaders = staticHeaders;
+        this.providerType = providerType;
+    }
+
+    /**
+     * Creates a provider of headers known ahead of invocation.
+     *
+     * @param headers Static headers.
+     * @return Provider of static headers.
+     */
+    public static HeadersProvider ofStatic(HttpHeaders headers) {
+        HttpHeaders readOnly = HttpHeaders.readOnlyHttpHeaders(headers);
+        return new HeadersProvider(() -> readOnly, readOnly, null);
+    }
+
+    /**
+     * Creates a provider which delegates to an instance of {@code providerType}.
+     *
+     * @param providerType Type of headers provider.
+     * @return Provider which delegates to an instance of {@code providerType}.
+     */
+    public static HeadersProvider ofProvider(Class<? extends Supplier<HttpHeaders>> providerType) {
+        return new HeadersProvider(InstanceFactories.create(providerType), null, providerType);
     }
 
     public HttpHeaders get() {
         return this.headersSupplier.get();
     }
+
+    /**
+     * Gets the headers of this provider, if they are known ahead of invocation.
+     *
+     * @return Headers of this provider, if they are known ahead of invocation.
+     */
+    public Optional<HttpHeaders> getStaticHeaders() {
+        return Optional.ofNullable(this.staticHeaders);
+    }
+
+    /**
+     * Gets the type of the headers supplier, if this provider was created from a type.
+     *
+     * @return Type of the headers supplier, if this provider was created from a type.
+     */
+    public Optional<Class<? extends Supplier<HttpHeaders>>> getProviderType() {
+        return Optional.ofNullable(this.providerType);
+    }
 }
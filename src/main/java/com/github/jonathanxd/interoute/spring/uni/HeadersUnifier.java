@@ -28,12 +28,9 @@
 package com.github.jonathanxd.interoute.spring.uni;
 
 import com.github.jonathanxd.interoute.gen.AnnotationUnifier;
-import com.github.jonathanxd.interoute.spring.annotation.Header;
 import com.github.jonathanxd.interoute.spring.annotation.Headers;
-import com.github.jonathanxd.interoute.util.InstanceFactories;
 
 import org.jetbrains.annotations.NotNull;
-import org.springframework.http.HttpHeaders;
 
 import java.lang.annotation.Annotation;
 import java.util.Optional;
@@ -46,6 +43,6 @@ public class HeadersUnifier implements AnnotationUnifier<Object> {
         return (annotation instanceof Headers
                 ? Optional.of((Headers) annotation)
                 : Optional.ofNullable(annotation.annotationType().getDeclaredAnnotation(Headers.class))
-        ).<Object>map(it -> new HeadersProvider(InstanceFactories.create(it.value()))).orElse(annotation);
+        ).<Object>map(it -> HeadersProvider.ofProvider(it.value())).orElse(annotation);
     }
 }
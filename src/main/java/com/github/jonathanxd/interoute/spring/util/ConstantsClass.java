@@ -0,0 +1,107 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.util;
+
+import com.github.jonathanxd.interoute.gen.ClassGenerationUtil;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.base.ClassDeclaration;
+import com.github.jonathanxd.kores.base.FieldDeclaration;
+import com.github.jonathanxd.kores.base.KoresModifier;
+import com.github.jonathanxd.kores.factory.Factories;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator of classes which holds route-invariant values in {@code public static final} fields,
+ * those values are computed once, when the class is initialized, instead of on every route
+ * invocation.
+ */
+public class ConstantsClass {
+
+    private static final AtomicLong COUNT = new AtomicLong();
+    private final List<FieldDeclaration> fields = new ArrayList<>();
+
+    /**
+     * Adds a constant to the class.
+     *
+     * @param name  Name of the constant.
+     * @param type  Type of the constant.
+     * @param value Instruction which computes the value of the constant, it must not depend on
+     *              route parameters nor on the router instance.
+     * @return This generator.
+     */
+    public ConstantsClass constant(String name, Type type, Instruction value) {
+        this.fields.add(FieldDeclaration.Builder.builder()
+                .modifiers(KoresModifier.PUBLIC, KoresModifier.STATIC, KoresModifier.FINAL)
+                .type(type)
+                .name(name)
+                .value(value)
+                .build());
+        return this;
+    }
+
+    /**
+     * Returns whether no constant was added to the class.
+     *
+     * @return Whether no constant was added to the class.
+     */
+    public boolean isEmpty() {
+        return this.fields.isEmpty();
+    }
+
+    /**
+     * Generates and loads the class with all constants.
+     *
+     * @param loader Class loader to load the class.
+     * @return Constants class.
+     */
+    public Class<?> generate(ClassLoader loader) {
+        ClassDeclaration classDeclaration = ClassDeclaration.Builder.builder()
+                .modifiers(KoresModifier.PUBLIC, KoresModifier.FINAL)
+                .name("com.github.jonathanxd.interoute.route" + COUNT.getAndIncrement() + ".Constants")
+                .fields(this.fields)
+                .build();
+
+        return ClassGenerationUtil.load(ClassGenerationUtil.generate(classDeclaration), loader);
+    }
+
+    /**
+     * Accesses a constant of a class generated by {@link #generate(ClassLoader)}.
+     *
+     * @param constantsClass Constants class.
+     * @param name           Name of the constant.
+     * @param type           Type of the constant.
+     * @return Instruction which accesses the constant.
+     */
+    public static Instruction access(Class<?> constantsClass, String name, Type type) {
+        return Factories.accessStaticField(constantsClass, type, name);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.util;
+
+import com.github.jonathanxd.interoute.gen.GenerationUtil;
+import com.github.jonathanxd.interoute.gen.RouteSpec;
+import com.github.jonathanxd.interoute.gen.RouteSpecInfo;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.spring.destination.UrlDestination;
+import com.github.jonathanxd.interoute.spring.headers.RouteHeaders;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.literal.Literals;
+
+import java.util.List;
+
+/**
+ * Route-invariant values of a generated route, held by a {@link ConstantsClass}. Generated routes
+ * read those values from static fields instead of creating them on every invocation.
+ */
+public final class RouteConstants {
+
+    private static final String ORIGIN = "ORIGIN";
+    private static final String DESTINATION = "DESTINATION";
+    private static final String HEADERS = "HEADERS";
+    private static final String SLOT = "SLOT";
+
+    private final Class<?> constantsClass;
+
+    private RouteConstants(Class<?> constantsClass) {
+        this.constantsClass = constantsClass;
+    }
+
+    /**
+     * Generates the constants of the route of {@code routeSpec}.
+     *
+     * @param routeSpec          Specification of the route.
+     * @param routerSpecInfoList Specification information of the router interface.
+     * @param loader             Class loader to load the constants class.
+     * @return Constants of the route.
+     */
+    public static RouteConstants create(RouteSpec routeSpec,
+                                        List<? extends RouteSpecInfo<?>> routerSpecInfoList,
+                                        ClassLoader loader) {
+        Class<?> constantsClass = new ConstantsClass()
+                .constant(ORIGIN, Origin.class, GenerationUtil.createMethodTypeSpecOrigin(routeSpec))
+                .constant(DESTINATION, UrlDestination.class, SpringRestBackendUtil.createUrlDestination(routeSpec))
+                .constant(HEADERS, RouteHeaders.class,
+                        SpringRestBackendUtil.createRouteHeaders(routerSpecInfoList, routeSpec.getRouteSpecInfoList()))
+                .constant(SLOT, Integer.TYPE, Literals.INT(RouteSlots.allocate()))
+                .generate(loader);
+
+        return new RouteConstants(constantsClass);
+    }
+
+    /**
+     * Accesses the {@link Origin} of the route.
+     *
+     * @return Instruction which accesses the {@link Origin} of the route.
+     */
+    public Instruction origin() {
+        return ConstantsClass.access(this.constantsClass, ORIGIN, Origin.class);
+    }
+
+    /**
+     * Accesses the {@link UrlDestination} of the route.
+     *
+     * @return Instruction which accesses the {@link UrlDestination} of the route.
+     */
+    public Instruction destination() {
+        return ConstantsClass.access(this.constantsClass, DESTINATION, UrlDestination.class);
+    }
+
+    /**
+     * Accesses the {@link RouteHeaders} of the route.
+     *
+     * @return Instruction which accesses the {@link RouteHeaders} of the route.
+     */
+    public Instruction headers() {
+        return ConstantsClass.access(this.constantsClass, HEADERS, RouteHeaders.class);
+    }
+
+    /**
+     * Accesses the {@link RouteSlots#allocate() slot} of the route.
+     *
+     * @return Instruction which accesses the slot of the route.
+     */
+    public Instruction slot() {
+        return ConstantsClass.access(this.constantsClass, SLOT, Integer.TYPE);
+    }
+}
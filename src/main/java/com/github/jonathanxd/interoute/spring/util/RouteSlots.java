@@ -0,0 +1,93 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.util;
+
+import com.github.jonathanxd.interoute.route.Origin;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Cache of per-route values indexed by the slot of the route.
+ *
+ * Every generated route receives an unique slot number through {@link #allocate()}, which is stored
+ * as a constant of the route. Values looked up by {@link Origin} (such as providers in {@code
+ * Map<Origin, ?>} configurations) are then resolved once per route and read back with an array
+ * access, instead of hashing the {@link Origin} on every invocation.
+ *
+ * @param <T> Type of cached values.
+ */
+public final class RouteSlots<T> {
+
+    private static final AtomicInteger SLOTS = new AtomicInteger();
+    private static final Object ABSENT = new Object();
+    private static final Object[] EMPTY = new Object[0];
+
+    private volatile Object[] values = EMPTY;
+
+    /**
+     * Allocates a new route slot.
+     *
+     * @return Allocated slot.
+     */
+    public static int allocate() {
+        return SLOTS.getAndIncrement();
+    }
+
+    /**
+     * Gets the value cached in {@code slot}, resolving it with {@code resolver} if not cached yet.
+     *
+     * @param slot     Slot of the route.
+     * @param origin   Origin of the route, passed to {@code resolver}.
+     * @param resolver Resolver of the value, may return {@code null}.
+     * @return Value cached in {@code slot}, or {@code null} if resolver returned {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int slot, Origin origin, Function<Origin, ? extends T> resolver) {
+        Object[] values = this.values;
+
+        if (slot < values.length) {
+            Object value = values[slot];
+
+            if (value != null) {
+                return value == ABSENT ? null : (T) value;
+            }
+        }
+
+        T resolved = resolver.apply(origin);
+        this.store(slot, resolved == null ? ABSENT : resolved);
+        return resolved;
+    }
+
+    private synchronized void store(int slot, Object value) {
+        Object[] values = Arrays.copyOf(this.values, Math.max(this.values.length, Math.max(slot + 1, SLOTS.get())));
+        values[slot] = value;
+        this.values = values;
+    }
+}
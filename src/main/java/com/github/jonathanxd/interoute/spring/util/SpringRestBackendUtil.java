@@ -28,195 +28,200 @@
 package com.github.jonathanxd.interoute.spring.util;
 
 import com.github.jonathanxd.interoute.backend.InterouteBackendConfiguration;
-import com.github.jonathanxd.interoute.backend.def.DefaultBackendDestination;
 import com.github.jonathanxd.interoute.gen.GenerationUtil;
-import com.github.jonathanxd.interoute.gen.RouteGenerationUtil;
 import com.github.jonathanxd.interoute.gen.RouteSpec;
+import com.github.jonathanxd.interoute.gen.RouteSpecInfo;
 import com.github.jonathanxd.interoute.route.Destination;
 import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.route.Route;
 import com.github.jonathanxd.interoute.route.Router;
-import com.github.jonathanxd.interoute.route.SuppliedExecutorRoute;
-import com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration;
 import com.github.jonathanxd.interoute.spring.annotation.Body;
+import com.github.jonathanxd.interoute.spring.annotation.Target;
+import com.github.jonathanxd.interoute.spring.batch.BatchPolicy;
+import com.github.jonathanxd.interoute.spring.batch.RouteBatcher;
+import com.github.jonathanxd.interoute.spring.cache.RouteCachePolicy;
 import com.github.jonathanxd.interoute.spring.destination.UrlDestination;
+import com.github.jonathanxd.interoute.spring.headers.RouteHeaders;
+import com.github.jonathanxd.interoute.spring.hedge.HedgePolicy;
+import com.github.jonathanxd.interoute.spring.route.RestTemplateRouteBinding;
+import com.github.jonathanxd.interoute.spring.route.RoutePolicy;
 import com.github.jonathanxd.interoute.spring.route.SpringRoute;
 import com.github.jonathanxd.interoute.spring.route.SuppliedExecutorSpringRoute;
+import com.github.jonathanxd.interoute.spring.uni.HeadersProvider;
+import com.github.jonathanxd.interoute.util.InstanceFactories;
 import com.github.jonathanxd.iutils.collection.Collections3;
 import com.github.jonathanxd.kores.Instruction;
-import com.github.jonathanxd.kores.base.InvokeType;
-import com.github.jonathanxd.kores.common.MethodTypeSpec;
-import com.github.jonathanxd.kores.common.VariableRef;
+import com.github.jonathanxd.kores.InstructionsKt;
+import com.github.jonathanxd.kores.base.KoresParameter;
 import com.github.jonathanxd.kores.factory.Factories;
 import com.github.jonathanxd.kores.factory.InvocationFactory;
 import com.github.jonathanxd.kores.literal.Literals;
-import com.github.jonathanxd.kores.type.Generic;
 import com.github.jonathanxd.kores.type.ImplicitKoresType;
-import com.github.jonathanxd.kores.type.KoresType;
 import com.github.jonathanxd.kores.type.KoresTypes;
 import com.github.jonathanxd.kores.util.conversion.ConversionsKt;
 
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 
 import java.lang.reflect.Type;
+import java.net.URI;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class SpringRestBackendUtil {
     /**
-     * Invokes {@link SpringRestBackendConfiguration#getRestTemplate()}.
-     *
-     * @return Rest template instance.
-     */
-    public static Instruction invokeRestTemplate(Instruction restTemplate,
-                                                 Instruction url,
-                                                 Instruction origin,
-                                                 Instruction body,
-                                                 HttpMethod httpMethod,
-                                                 Type responseType,
-                                                 ClassLoader loader) {
-        return InvocationFactory.invokeVirtual(
-                RestTemplate.class,
-                restTemplate,
-                "exchange",
-                Factories.typeSpec(ResponseEntity.class, String.class, HttpMethod.class, HttpEntity.class, ParameterizedTypeReference.class, Map.class),
-                Collections3.listOf(
-                        url,
-                        Factories.accessStaticField(HttpMethod.class, HttpMethod.class, httpMethod.name()),
-                        SpringRestBackendUtil.createHttpEntity(origin, body),
-                        SpringRestBackendUtil.createParameterizedTypeReference(responseType, loader),
-                        InvocationFactory.invokeStatic(Collections.class, "emptyMap", Factories.typeSpec(Map.class), Collections.emptyList())
-                )
-        );
-    }
-
-    public static Instruction responseEntityToValue(Instruction responseEntity,
-                                                    Type responseType) {
-        if (ImplicitKoresType.is(responseType, ResponseEntity.class)) {
-            return responseEntity;
-        } else {
-            return InvocationFactory.invokeVirtual(
-                    ResponseEntity.class,
-                    responseEntity,
-                    "getBody",
-                    Factories.typeSpec(Object.class),
-                    Collections.emptyList()
-            );
-        }
-    }
-
-    public static Instruction createHttpEntity(Instruction origin,
-                                               Instruction body) {
-        if (body == null) {
-            return InvocationFactory.invokeConstructor(HttpEntity.class,
-                    Factories.constructorTypeSpec(MultiValueMap.class),
-                    Collections3.listOf(SpringRestBackendUtil.getHttpHeaders(origin))
-            );
-        } else {
-            return InvocationFactory.invokeConstructor(HttpEntity.class,
-                    Factories.constructorTypeSpec(Object.class, MultiValueMap.class),
-                    Collections3.listOf(body, SpringRestBackendUtil.getHttpHeaders(origin))
-            );
-        }
-    }
-
-    /**
-     * Invoke constructor of type reference class created by {@link TypeReferenceClass} generator.
+     * Accesses the shared instance of type reference class created by {@link TypeReferenceClass}
+     * generator. The type reference is created once per distinct type and class loader, instead of
+     * once per invocation.
      *
      * @param responseType Type.
      * @param loader       Class loader to load type reference class.
-     * @return Invocation of constructor of type reference helper.
+     * @return Access to the shared instance of type reference helper.
      */
     public static Instruction createParameterizedTypeReference(Type responseType,
                                                                ClassLoader loader) {
         if (KoresTypes.getAsGeneric(responseType).isWildcard()) {
-            return InvocationFactory.invokeConstructor(TypeReferenceClass.createTypeReferenceClass(Object.class, loader));
+            return TypeReferenceClass.accessInstance(TypeReferenceClass.getTypeReferenceClass(Object.class, loader));
         } else {
-            return InvocationFactory.invokeConstructor(TypeReferenceClass.createTypeReferenceClass(responseType, loader));
+            return TypeReferenceClass.accessInstance(TypeReferenceClass.getTypeReferenceClass(responseType, loader));
         }
     }
 
     /**
-     * Invokes {@link SpringRestBackendConfiguration#getRestTemplate()}.
+     * Invokes {@code getHttpHeaders(RouteHeaders, int, Origin)} of backend configuration of type
+     * {@code configurationType} with the constants of the route.
      *
-     * @return Rest template instance.
+     * @param configurationType Type of backend configuration.
+     * @param constants         Constants of the route.
+     * @return Http headers of the route.
      */
-    public static Instruction getRestTemplate() {
+    public static Instruction getRouteHttpHeaders(Type configurationType,
+                                                  RouteConstants constants) {
         return InvocationFactory.invoke(
                 InvokeType.INVOKE_VIRTUAL,
-                SpringRestBackendConfiguration.class,
-                SpringRestBackendUtil.invokeGetterAsSpringBackendConfiguration(),
-                "getRestTemplate",
-                Factories.typeSpec(RestTemplate.class),
-                Collections.emptyList()
+                configurationType,
+                SpringRestBackendUtil.invokeGetterAsBackendConfiguration(configurationType),
+                "getHttpHeaders",
+                Factories.typeSpec(HttpHeaders.class, RouteHeaders.class, Integer.TYPE, Origin.class),
+                Collections3.listOf(constants.headers(), constants.slot(), constants.origin())
         );
     }
 
     /**
-     * Invokes {@link SpringRestBackendConfiguration#getHttpHeaders(Origin)}.
+     * Creates instruction which builds the {@link RouteHeaders} of a route from {@link
+     * HeadersProvider headers providers} declared in the router interface and in the route method.
+     * Static headers are resolved now, headers of the route replaces headers of the router with the
+     * same key.
      *
-     * @return Rest template instance.
+     * @param routerSpecInfoList Specification information of the router interface.
+     * @param routeSpecInfoList  Specification information of the route.
+     * @return Instruction which builds the {@link RouteHeaders}.
      */
-    public static Instruction getHttpHeaders(Instruction origin) {
-        return Factories.cast(Object.class, HttpHeaders.class,
-                SpringRestBackendUtil.invokeOptionalGetOrElse(InvocationFactory.invoke(
-                        InvokeType.INVOKE_VIRTUAL,
-                        SpringRestBackendConfiguration.class,
-                        SpringRestBackendUtil.invokeGetterAsSpringBackendConfiguration(),
-                        "getHttpHeaders",
-                        Factories.typeSpec(Optional.class, Origin.class),
-                        Collections.singletonList(origin)
-                ), InvocationFactory.invokeConstructor(HttpHeaders.class))
+    public static Instruction createRouteHeaders(List<? extends RouteSpecInfo<?>> routerSpecInfoList,
+                                                 List<? extends RouteSpecInfo<?>> routeSpecInfoList) {
+        HttpHeaders staticHeaders = new HttpHeaders();
+        Set<Class<? extends Supplier<HttpHeaders>>> providerTypes = new LinkedHashSet<>();
+
+        Stream.concat(routerSpecInfoList.stream(), routeSpecInfoList.stream())
+                .map(RouteSpecInfo::getInstance)
+                .filter(it -> it instanceof HeadersProvider)
+                .map(it -> (HeadersProvider) it)
+                .forEach(provider -> {
+                    provider.getStaticHeaders().ifPresent(staticHeaders::putAll);
+                    provider.getProviderType().ifPresent(providerTypes::add);
+                });
+
+        Instruction builder = InvocationFactory.invokeStatic(
+                RouteHeaders.class,
+                "builder",
+                Factories.typeSpec(RouteHeaders.Builder.class),
+                Collections.emptyList()
+        );
+
+        for (Map.Entry<String, List<String>> header : staticHeaders.entrySet()) {
+            for (String value : header.getValue()) {
+                builder = InvocationFactory.invokeVirtual(
+                        RouteHeaders.Builder.class,
+                        builder,
+                        "header",
+                        Factories.typeSpec(RouteHeaders.Builder.class, String.class, String.class),
+                        Collections3.listOf(Literals.STRING(header.getKey()), Literals.STRING(value))
+                );
+            }
+        }
+
+        for (Class<? extends Supplier<HttpHeaders>> providerType : providerTypes) {
+            builder = InvocationFactory.invokeVirtual(
+                    RouteHeaders.Builder.class,
+                    builder,
+                    "provider",
+                    Factories.typeSpec(RouteHeaders.Builder.class, Supplier.class),
+                    Collections.singletonList(Factories.cast(Object.class, Supplier.class,
+                            InvocationFactory.invokeStatic(
+                                    InstanceFactories.class,
+                                    "create",
+                                    Factories.typeSpec(Object.class, Class.class),
+                                    Collections.singletonList(Literals.CLASS(providerType))
+                            )))
+            );
+        }
+
+        return InvocationFactory.invokeVirtual(
+                RouteHeaders.Builder.class,
+                builder,
+                "build",
+                Factories.typeSpec(RouteHeaders.class),
+                Collections.emptyList()
         );
     }
 
     /**
-     * Invokes {@link Router#getBackend()} and cast to {@link SpringRestBackendConfiguration}.
+     * Invokes {@link Router#getBackend()} and cast to {@code configurationType}.
      *
-     * @return Invocation of {@link Router#getBackend()} casted to {@link
-     * SpringRestBackendConfiguration}.
+     * @param configurationType Type of backend configuration.
+     * @return Invocation of {@link Router#getBackend()} casted to {@code configurationType}.
      */
-    public static Instruction invokeGetterAsSpringBackendConfiguration() {
+    public static Instruction invokeGetterAsBackendConfiguration(Type configurationType) {
         return Factories.cast(
                 InterouteBackendConfiguration.class,
-                SpringRestBackendConfiguration.class,
+                configurationType,
                 GenerationUtil
                         .invokeOptionalGet(GenerationUtil.invokeOptionalGetter(GenerationUtil.backendConfigurationProperty()))
         );
     }
 
     /**
-     * Creates instruction that constructs {@link DefaultBackendDestination}.
+     * Gets the request body from {@code routeSpec}.
      *
-     * @param destinationInstance Root destination instance.
-     * @param destinationMethod   Destination method.
-     * @return Instruction that constructs {@link DefaultBackendDestination}.
+     * @param routeSpec Specification of routing.
+     * @return Request body, if present.
      */
-    public static Instruction createDestination(Instruction destinationInstance,
-                                                MethodTypeSpec destinationMethod) {
-        return InvocationFactory.invokeConstructor(
-                DefaultBackendDestination.class,
-                Factories.constructorTypeSpec(Object.class, MethodTypeSpec.class),
-                Collections3.listOf(destinationInstance, GenerationUtil.createMethodTypeSpec(destinationMethod))
-        );
+    public static Optional<Instruction> getRequestBody(RouteSpec routeSpec) {
+        return routeSpec.getOriginParameterSpecs().stream()
+                .filter(it -> it.getRouteSpecInfos().stream().anyMatch(it2 -> it2.getAnnotationType() == Body.class))
+                .map(it -> ConversionsKt.getAccess(it.getParameter()))
+                .findFirst();
     }
 
     /**
-     * Gets the request body from {@code routeSpec}.
+     * Gets the {@link Target download target} from {@code routeSpec}.
      *
      * @param routeSpec Specification of routing.
-     * @return Request body, if present.
+     * @return Download target, if present.
      */
-    public static Optional<Instruction> getRequestBody(RouteSpec routeSpec) {
+    public static Optional<Instruction> getTarget(RouteSpec routeSpec) {
         return routeSpec.getOriginParameterSpecs().stream()
-                .filter(it -> it.getRouteSpecInfos().stream().anyMatch(it2 -> it2.getAnnotationType() == Body.class))
+                .filter(it -> it.getRouteSpecInfos().stream().anyMatch(it2 -> it2.getAnnotationType() == Target.class))
                 .map(it -> ConversionsKt.getAccess(it.getParameter()))
                 .findFirst();
     }
@@ -236,70 +241,459 @@ public class SpringRestBackendUtil {
     }
 
     /**
-     * Creates instruction which invokes {@link Optional#orElse(Object)}
+     * Gets the type of response body of the route. For routes which results in {@link
+     * ResponseEntity}, this is the type of the body of the entity. For {@link SpringRoute}, this is
+     * the type argument of the route.
+     *
+     * @param routeSpec Route specification.
+     * @return Type of response body.
+     */
+    public static Type getResponseBodyType(RouteSpec routeSpec) {
+        Type resultType = SpringRestBackendUtil.getResultType(routeSpec.getOrigin().getReturnType());
+        Type bodyType = ImplicitKoresType.is(ImplicitKoresType.getConcreteType(resultType), ResponseEntity.class)
+                ? SpringRestBackendUtil.getResultType(resultType)
+                : resultType;
+
+        if (ImplicitKoresType.is(bodyType, Void.TYPE)) {
+            return Void.class;
+        }
+
+        return bodyType;
+    }
+
+    /**
+     * Returns whether the route results in a {@link ResponseEntity} instead of only the response
+     * body. This is the case for {@link SpringRoute} and routes which declares {@link
+     * ResponseEntity} as result type.
+     *
+     * @param routeSpec Route specification.
+     * @return Whether the route results in a {@link ResponseEntity}.
+     */
+    public static boolean isResponseEntityResult(RouteSpec routeSpec) {
+        Type resultType = SpringRestBackendUtil.getResultType(routeSpec.getOrigin().getReturnType());
+        return SpringRestBackendUtil.isSpringRoute(routeSpec)
+                || ImplicitKoresType.is(ImplicitKoresType.getConcreteType(resultType), ResponseEntity.class);
+    }
+
+    /**
+     * Returns whether the route returns a {@link SpringRoute}.
+     *
+     * @param routeSpec Route specification.
+     * @return Whether the route returns a {@link SpringRoute}.
+     */
+    public static boolean isSpringRoute(RouteSpec routeSpec) {
+        return ImplicitKoresType.is(ImplicitKoresType.getConcreteType(routeSpec.getOrigin().getReturnType()), SpringRoute.class);
+    }
+
+    /**
+     * Creates instruction which constructs the {@link RestTemplateRouteBinding} of the route.
+     *
+     * @param routeSpec          Specification of the route.
+     * @param routerSpecInfoList Specification information of the router interface.
+     * @param loader             Class loader to load type reference class.
+     * @return Instruction which constructs the {@link RestTemplateRouteBinding}.
+     */
+    public static Instruction createRestTemplateRouteBinding(RouteSpec routeSpec,
+                                                             List<? extends RouteSpecInfo<?>> routerSpecInfoList,
+                                                             ClassLoader loader) {
+        HttpMethod httpMethod = RequestMethodUtil.getRequestMethod(routeSpec.getRouteSpecInfoList()).orElse(HttpMethod.GET);
+
+        return InvocationFactory.invokeConstructor(
+                RestTemplateRouteBinding.class,
+                Factories.constructorTypeSpec(Origin.class, Destination.class, RouteHeaders.class, HttpMethod.class,
+                        ParameterizedTypeReference.class, Boolean.TYPE, Boolean.TYPE, RoutePolicy.class),
+                Collections3.listOf(
+                        GenerationUtil.createMethodTypeSpecOrigin(routeSpec),
+                        SpringRestBackendUtil.createUrlDestination(routeSpec),
+                        SpringRestBackendUtil.createRouteHeaders(routerSpecInfoList, routeSpec.getRouteSpecInfoList()),
+                        Factories.accessStaticField(HttpMethod.class, HttpMethod.class, httpMethod.name()),
+                        SpringRestBackendUtil.createParameterizedTypeReference(
+                                SpringRestBackendUtil.getResponseBodyType(routeSpec), loader),
+                        Literals.BOOLEAN(SpringRestBackendUtil.isResponseEntityResult(routeSpec)),
+                        Literals.BOOLEAN(SpringRestBackendUtil.isSpringRoute(routeSpec)),
+                        SpringRestBackendUtil.createRoutePolicy(routeSpec.getRouteSpecInfoList())
+                )
+        );
+    }
+
+    /**
+     * Creates instruction which builds the {@link RoutePolicy} of a route from its caching, hedging
+     * and timeout annotations.
      *
-     * @param optionalInstance {@link Optional optional instance}.
-     * @param orElse           Alternative value.
-     * @return Instruction which invokes {@link Optional#orElse(Object)} .
+     * @param routeSpecInfoList Specification information of the route.
+     * @return Instruction which builds the {@link RoutePolicy}.
      */
-    public static Instruction invokeOptionalGetOrElse(Instruction optionalInstance, Instruction orElse) {
+    public static Instruction createRoutePolicy(List<? extends RouteSpecInfo<?>> routeSpecInfoList) {
+        Instruction builder = InvocationFactory.invokeStatic(
+                RoutePolicy.class,
+                "builder",
+                Factories.typeSpec(RoutePolicy.Builder.class),
+                Collections.emptyList()
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                RoutePolicy.Builder.class,
+                builder,
+                "cache",
+                Factories.typeSpec(RoutePolicy.Builder.class, RouteCachePolicy.class),
+                Collections.singletonList(SpringRestBackendUtil.createRouteCachePolicy(routeSpecInfoList))
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                RoutePolicy.Builder.class,
+                builder,
+                "hedge",
+                Factories.typeSpec(RoutePolicy.Builder.class, HedgePolicy.class),
+                Collections.singletonList(SpringRestBackendUtil.createHedgePolicy(routeSpecInfoList))
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                RoutePolicy.Builder.class,
+                builder,
+                "timeout",
+                Factories.typeSpec(RoutePolicy.Builder.class, Duration.class),
+                Collections.singletonList(SpringRestBackendUtil.createTimeout(routeSpecInfoList))
+        );
+
         return InvocationFactory.invokeVirtual(
-                Optional.class,
-                optionalInstance,
-                "orElse",
-                Factories.typeSpec(Generic.type("T"), Generic.type("T")),
-                Collections.singletonList(orElse)
+                RoutePolicy.Builder.class,
+                builder,
+                "build",
+                Factories.typeSpec(RoutePolicy.class),
+                Collections.emptyList()
         );
     }
 
-    public static Instruction createExecutorRoute(List<VariableRef> variables,
-                                                  Instruction routeTargetInvocation,
-                                                  Instruction destination,
-                                                  RouteSpec routeSpec) {
+    /**
+     * Creates instruction which builds the {@link RouteCachePolicy} of a route from {@link
+     * com.github.jonathanxd.interoute.spring.annotation.CacheResponse} and {@link
+     * com.github.jonathanxd.interoute.spring.annotation.Invalidates} of the route method.
+     *
+     * @param routeSpecInfoList Specification information of the route.
+     * @return Instruction which builds the {@link RouteCachePolicy}, or {@code null} literal if the
+     * route has no caching behavior.
+     */
+    public static Instruction createRouteCachePolicy(List<? extends RouteSpecInfo<?>> routeSpecInfoList) {
+        Optional<RouteCachePolicy> policy = routeSpecInfoList.stream()
+                .map(RouteSpecInfo::getInstance)
+                .filter(it -> it instanceof RouteCachePolicy)
+                .map(it -> (RouteCachePolicy) it)
+                .reduce(RouteCachePolicy::merge);
 
-        Instruction suppliedExecutorRoute = RouteGenerationUtil.createSuppliedExecutorRoute(
-                variables,
-                routeTargetInvocation,
-                destination,
-                routeSpec
+        if (!policy.isPresent()) {
+            return Literals.NULL;
+        }
+
+        Instruction builder = InvocationFactory.invokeStatic(
+                RouteCachePolicy.class,
+                "builder",
+                Factories.typeSpec(RouteCachePolicy.Builder.class),
+                Collections.emptyList()
         );
 
-        KoresType concreteType = ImplicitKoresType.getConcreteType(routeSpec.getOrigin().getReturnType());
+        builder = InvocationFactory.invokeVirtual(
+                RouteCachePolicy.Builder.class,
+                builder,
+                "ttl",
+                Factories.typeSpec(RouteCachePolicy.Builder.class, Long.TYPE, TimeUnit.class),
+                Collections3.listOf(Literals.LONG(policy.get().getTtlNanos()),
+                        Factories.accessStaticField(TimeUnit.class, TimeUnit.class, TimeUnit.NANOSECONDS.name()))
+        );
 
-        if (ImplicitKoresType.is(concreteType, SpringRoute.class)) {
-            return SpringRestBackendUtil.createSpringSuppliedExecutorRoute(
-                    suppliedExecutorRoute,
-                    destination,
-                    routeSpec
+        for (String header : policy.get().getHeaders()) {
+            builder = InvocationFactory.invokeVirtual(
+                    RouteCachePolicy.Builder.class,
+                    builder,
+                    "header",
+                    Factories.typeSpec(RouteCachePolicy.Builder.class, String.class),
+                    Collections.singletonList(Literals.STRING(header))
+            );
+        }
+
+        for (String urlTemplate : policy.get().getInvalidates()) {
+            builder = InvocationFactory.invokeVirtual(
+                    RouteCachePolicy.Builder.class,
+                    builder,
+                    "invalidates",
+                    Factories.typeSpec(RouteCachePolicy.Builder.class, String.class),
+                    Collections.singletonList(Literals.STRING(urlTemplate))
             );
-        } else {
-            return suppliedExecutorRoute;
         }
+
+        return InvocationFactory.invokeVirtual(
+                RouteCachePolicy.Builder.class,
+                builder,
+                "build",
+                Factories.typeSpec(RouteCachePolicy.class),
+                Collections.emptyList()
+        );
+    }
+
+    /**
+     * Creates instruction which builds the {@link HedgePolicy} of a route from {@link
+     * com.github.jonathanxd.interoute.spring.annotation.Hedge} of the route method.
+     *
+     * @param routeSpecInfoList Specification information of the route.
+     * @return Instruction which builds the {@link HedgePolicy}, or {@code null} literal if requests
+     * of the route are not hedged.
+     */
+    public static Instruction createHedgePolicy(List<? extends RouteSpecInfo<?>> routeSpecInfoList) {
+        Optional<HedgePolicy> policy = routeSpecInfoList.stream()
+                .map(RouteSpecInfo::getInstance)
+                .filter(it -> it instanceof HedgePolicy)
+                .map(it -> (HedgePolicy) it)
+                .findFirst();
+
+        if (!policy.isPresent()) {
+            return Literals.NULL;
+        }
+
+        Instruction builder = InvocationFactory.invokeStatic(
+                HedgePolicy.class,
+                "builder",
+                Factories.typeSpec(HedgePolicy.Builder.class),
+                Collections.emptyList()
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                HedgePolicy.Builder.class,
+                builder,
+                "delay",
+                Factories.typeSpec(HedgePolicy.Builder.class, Long.TYPE, TimeUnit.class),
+                Collections3.listOf(Literals.LONG(policy.get().getDelayNanos()),
+                        Factories.accessStaticField(TimeUnit.class, TimeUnit.class, TimeUnit.NANOSECONDS.name()))
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                HedgePolicy.Builder.class,
+                builder,
+                "percentile",
+                Factories.typeSpec(HedgePolicy.Builder.class, Double.TYPE),
+                Collections.singletonList(Literals.DOUBLE(policy.get().getPercentile()))
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                HedgePolicy.Builder.class,
+                builder,
+                "max",
+                Factories.typeSpec(HedgePolicy.Builder.class, Integer.TYPE),
+                Collections.singletonList(Literals.INT(policy.get().getMax()))
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                HedgePolicy.Builder.class,
+                builder,
+                "budget",
+                Factories.typeSpec(HedgePolicy.Builder.class, Double.TYPE),
+                Collections.singletonList(Literals.DOUBLE(policy.get().getBudget()))
+        );
+
+        return InvocationFactory.invokeVirtual(
+                HedgePolicy.Builder.class,
+                builder,
+                "build",
+                Factories.typeSpec(HedgePolicy.class),
+                Collections.emptyList()
+        );
     }
 
     /**
-     * Creates the {@link SuppliedExecutorSpringRoute} based on a {@link SuppliedExecutorRoute} to
-     * handle http status exceptions.
+     * Creates instruction which creates the {@link Duration} declared with {@link
+     * com.github.jonathanxd.interoute.spring.annotation.Timeout} in the route method.
      *
-     * @param suppliedExecutorRoute The normal {@link SuppliedExecutorRoute}.
-     * @param destination           {@link Destination} creation or retrieval instruction.
-     * @param routeSpec             Route specification.
-     * @return {@link SuppliedExecutorRoute} which will be returned by the routing method.
+     * @param routeSpecInfoList Specification information of the route.
+     * @return Instruction which creates the timeout, or {@code null} literal if the route uses the
+     * default timeout.
      */
-    public static Instruction createSpringSuppliedExecutorRoute(Instruction suppliedExecutorRoute,
-                                                                Instruction destination,
-                                                                RouteSpec routeSpec) {
+    public static Instruction createTimeout(List<? extends RouteSpecInfo<?>> routeSpecInfoList) {
+        return routeSpecInfoList.stream()
+                .map(RouteSpecInfo::getInstance)
+                .filter(it -> it instanceof Duration)
+                .map(it -> (Instruction) InvocationFactory.invokeStatic(
+                        Duration.class,
+                        "ofNanos",
+                        Factories.typeSpec(Duration.class, Long.TYPE),
+                        Collections.singletonList(Literals.LONG(((Duration) it).toNanos()))
+                ))
+                .findFirst()
+                .orElse(Literals.NULL);
+    }
+
+    /**
+     * Gets the {@link BatchPolicy} declared with {@link com.github.jonathanxd.interoute.spring.annotation.Batch}
+     * in the route method.
+     *
+     * @param routeSpecInfoList Specification information of the route.
+     * @return Batching behavior of the route, if the route is batched.
+     */
+    public static Optional<BatchPolicy> getBatchPolicy(List<? extends RouteSpecInfo<?>> routeSpecInfoList) {
+        return routeSpecInfoList.stream()
+                .map(RouteSpecInfo::getInstance)
+                .filter(it -> it instanceof BatchPolicy)
+                .map(it -> (BatchPolicy) it)
+                .findFirst();
+    }
+
+    /**
+     * Creates instruction which constructs the {@link RouteBatcher} of a batched route.
+     *
+     * @param routeSpec Specification of the route.
+     * @param policy    Batching behavior of the route.
+     * @return Instruction which constructs the {@link RouteBatcher}.
+     */
+    public static Instruction createRouteBatcher(RouteSpec routeSpec, BatchPolicy policy) {
+        Instruction builder = InvocationFactory.invokeStatic(
+                BatchPolicy.class,
+                "builder",
+                Factories.typeSpec(BatchPolicy.Builder.class),
+                Collections.emptyList()
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                BatchPolicy.Builder.class,
+                builder,
+                "route",
+                Factories.typeSpec(BatchPolicy.Builder.class, String.class),
+                Collections.singletonList(Literals.STRING(policy.getRoute()))
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                BatchPolicy.Builder.class,
+                builder,
+                "key",
+                Factories.typeSpec(BatchPolicy.Builder.class, String.class),
+                Collections.singletonList(Literals.STRING(policy.getKey()))
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                BatchPolicy.Builder.class,
+                builder,
+                "window",
+                Factories.typeSpec(BatchPolicy.Builder.class, Long.TYPE, TimeUnit.class),
+                Collections3.listOf(Literals.LONG(policy.getWindowNanos()),
+                        Factories.accessStaticField(TimeUnit.class, TimeUnit.class, TimeUnit.NANOSECONDS.name()))
+        );
+
+        builder = InvocationFactory.invokeVirtual(
+                BatchPolicy.Builder.class,
+                builder,
+                "maxSize",
+                Factories.typeSpec(BatchPolicy.Builder.class, Integer.TYPE),
+                Collections.singletonList(Literals.INT(policy.getMaxSize()))
+        );
+
         return InvocationFactory.invokeConstructor(
-                SuppliedExecutorSpringRoute.class,
-                Factories.constructorTypeSpec(Origin.class, Destination.class, SuppliedExecutorRoute.class),
+                RouteBatcher.class,
+                Factories.constructorTypeSpec(Origin.class, Destination.class, BatchPolicy.class),
                 Collections3.listOf(
                         GenerationUtil.createMethodTypeSpecOrigin(routeSpec),
-                        destination,
-                        suppliedExecutorRoute
+                        SpringRestBackendUtil.createUrlDestination(routeSpec),
+                        InvocationFactory.invokeVirtual(
+                                BatchPolicy.Builder.class,
+                                builder,
+                                "build",
+                                Factories.typeSpec(BatchPolicy.class),
+                                Collections.emptyList()
+                        )
                 )
         );
     }
 
+    /**
+     * Creates instruction which invokes {@link RouteBatcher#route(Object, Object)} with the first
+     * parameter of the route method, the key of the item.
+     *
+     * @param batcher   Instruction which evaluates to the {@link RouteBatcher}.
+     * @param routeSpec Specification of the route.
+     * @return Instruction which creates the route.
+     */
+    public static Instruction invokeRouteBatcher(Instruction batcher, RouteSpec routeSpec) {
+        KoresParameter key = routeSpec.getOrigin().getParameters().get(0);
+
+        return InvocationFactory.invokeVirtual(
+                RouteBatcher.class,
+                batcher,
+                "route",
+                Factories.typeSpec(Route.class, Object.class, Object.class),
+                Collections3.listOf(Factories.accessThis(), Factories.accessVariable(key.getType(), key.getName()))
+        );
+    }
+
+    /**
+     * Creates instruction which invokes {@link RestTemplateRouteBinding#route(Object, String,
+     * Object)} (or the {@link URI} overload) to create the route.
+     *
+     * @param binding Instruction which evaluates to the {@link RestTemplateRouteBinding}.
+     * @param url     Url of the route, {@link String} or {@link URI}.
+     * @param body    Request body, or {@code null} if there is no body.
+     * @return Instruction which creates the route.
+     */
+    public static Instruction invokeRestTemplateRouteBinding(Instruction binding,
+                                                             Instruction url,
+                                                             Instruction body) {
+        Type urlType = InstructionsKt.getLeaveType(url);
+        boolean uri = urlType != null && ImplicitKoresType.is(urlType, URI.class);
+
+        return InvocationFactory.invokeVirtual(
+                RestTemplateRouteBinding.class,
+                binding,
+                "route",
+                Factories.typeSpec(Route.class, Object.class, uri ? URI.class : String.class, Object.class),
+                Collections3.listOf(Factories.accessThis(), url, body == null ? Literals.NULL : body)
+        );
+    }
+
+    /**
+     * Creates instruction which invokes {@link RestTemplateRouteBinding#route(Object, String,
+     * Object, Object)} (or the {@link URI} overload) to create the route which writes the response
+     * body to {@code target}. Same as {@link #invokeRestTemplateRouteBinding(Instruction,
+     * Instruction, Instruction)} if {@code target} is {@code null}.
+     *
+     * @param binding Instruction which evaluates to the {@link RestTemplateRouteBinding}.
+     * @param url     Url of the route, {@link String} or {@link URI}.
+     * @param body    Request body, or {@code null} if there is no body.
+     * @param target  {@link Target Download target}, or {@code null} if there is no target.
+     * @return Instruction which creates the route.
+     */
+    public static Instruction invokeRestTemplateRouteBinding(Instruction binding,
+                                                             Instruction url,
+                                                             Instruction body,
+                                                             Instruction target) {
+        if (target == null) {
+            return SpringRestBackendUtil.invokeRestTemplateRouteBinding(binding, url, body);
+        }
+
+        Type urlType = InstructionsKt.getLeaveType(url);
+        boolean uri = urlType != null && ImplicitKoresType.is(urlType, URI.class);
+
+        return InvocationFactory.invokeVirtual(
+                RestTemplateRouteBinding.class,
+                binding,
+                "route",
+                Factories.typeSpec(Route.class, Object.class, uri ? URI.class : String.class, Object.class, Object.class),
+                Collections3.listOf(Factories.accessThis(), url, body == null ? Literals.NULL : body, target)
+        );
+    }
+
+    /**
+     * Creates instruction which constructs {@link SuppliedExecutorSpringRoute} to handle http
+     * status errors of {@code route}.
+     *
+     * @param origin      Origin of the route.
+     * @param destination Destination of the route.
+     * @param route       Route which results in {@link ResponseEntity}.
+     * @return Instruction which constructs {@link SuppliedExecutorSpringRoute}.
+     */
+    public static Instruction createSpringRoute(Instruction origin,
+                                                Instruction destination,
+                                                Instruction route) {
+        return InvocationFactory.invokeConstructor(
+                SuppliedExecutorSpringRoute.class,
+                Factories.constructorTypeSpec(Origin.class, Destination.class, Route.class),
+                Collections3.listOf(origin, destination, route)
+        );
+    }
+
     public static Instruction createUrlDestination(RouteSpec routeSpec) {
         return InvocationFactory.invokeConstructor(
                 UrlDestination.class,
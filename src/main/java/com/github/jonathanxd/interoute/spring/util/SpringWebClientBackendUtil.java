@@ -0,0 +1,128 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.util;
+
+import com.github.jonathanxd.interoute.route.Destination;
+import com.github.jonathanxd.interoute.route.Origin;
+import com.github.jonathanxd.interoute.spring.SpringWebClientBackendConfiguration;
+import com.github.jonathanxd.interoute.spring.route.WebClientExchange;
+import com.github.jonathanxd.interoute.spring.route.WebClientRoute;
+import com.github.jonathanxd.iutils.collection.Collections3;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.InstructionsKt;
+import com.github.jonathanxd.kores.base.InvokeType;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
+import com.github.jonathanxd.kores.type.ImplicitKoresType;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Collections;
+
+public class SpringWebClientBackendUtil {
+
+    /**
+     * Invokes {@link SpringWebClientBackendConfiguration#getWebClient()}.
+     *
+     * @return Web client instance.
+     */
+    public static Instruction getWebClient() {
+        return InvocationFactory.invoke(
+                InvokeType.INVOKE_VIRTUAL,
+                SpringWebClientBackendConfiguration.class,
+                SpringRestBackendUtil.invokeGetterAsBackendConfiguration(SpringWebClientBackendConfiguration.class),
+                "getWebClient",
+                Factories.typeSpec(WebClient.class),
+                Collections.emptyList()
+        );
+    }
+
+    /**
+     * Creates instruction which constructs {@link WebClientExchange}.
+     *
+     * @param webClient    Web client instance.
+     * @param url          Url of the route, {@link String} or {@link URI}.
+     * @param headers      Instruction which evaluates to the {@link HttpHeaders} of the request.
+     * @param body         Request body.
+     * @param httpMethod   Request method.
+     * @param responseType Type of response body.
+     * @param loader       Class loader to load type reference class.
+     * @return Instruction which constructs {@link WebClientExchange}.
+     */
+    public static Instruction createExchange(Instruction webClient,
+                                             Instruction url,
+                                             Instruction headers,
+                                             Instruction body,
+                                             HttpMethod httpMethod,
+                                             Type responseType,
+                                             ClassLoader loader) {
+        Type urlType = InstructionsKt.getLeaveType(url);
+        boolean uri = urlType != null && ImplicitKoresType.is(urlType, URI.class);
+
+        return InvocationFactory.invokeConstructor(
+                WebClientExchange.class,
+                Factories.constructorTypeSpec(WebClient.class, HttpMethod.class, uri ? URI.class : String.class,
+                        HttpHeaders.class, Object.class, ParameterizedTypeReference.class),
+                Collections3.listOf(
+                        webClient,
+                        Factories.accessStaticField(HttpMethod.class, HttpMethod.class, httpMethod.name()),
+                        url,
+                        headers,
+                        body,
+                        SpringRestBackendUtil.createParameterizedTypeReference(responseType, loader)
+                )
+        );
+    }
+
+    /**
+     * Creates instruction which constructs {@link WebClientRoute}.
+     *
+     * @param origin      Origin of the route.
+     * @param destination Destination of the route.
+     * @param exchange    {@link WebClientExchange} instance.
+     * @param entity      Whether the route results in {@link org.springframework.http.ResponseEntity}
+     *                    or in the response body.
+     * @return Instruction which constructs {@link WebClientRoute}.
+     */
+    public static Instruction createWebClientRoute(Instruction origin,
+                                                   Instruction destination,
+                                                   Instruction exchange,
+                                                   boolean entity) {
+        return InvocationFactory.invokeStatic(
+                WebClientRoute.class,
+                entity ? "entity" : "body",
+                Factories.typeSpec(WebClientRoute.class, Origin.class, Destination.class, WebClientExchange.class),
+                Collections3.listOf(origin, destination, exchange)
+        );
+    }
+}
@@ -28,27 +28,126 @@
 package com.github.jonathanxd.interoute.spring.util;
 
 import com.github.jonathanxd.interoute.gen.ClassGenerationUtil;
+import com.github.jonathanxd.kores.Instruction;
+import com.github.jonathanxd.kores.base.Alias;
 import com.github.jonathanxd.kores.base.ClassDeclaration;
+import com.github.jonathanxd.kores.base.FieldDeclaration;
+import com.github.jonathanxd.kores.base.KoresModifier;
+import com.github.jonathanxd.kores.factory.Factories;
+import com.github.jonathanxd.kores.factory.InvocationFactory;
 import com.github.jonathanxd.kores.type.Generic;
-import com.github.jonathanxd.kores.util.TypeVarUtil;
-import com.github.jonathanxd.kores.util.conversion.TypeStructureKt;
+import com.github.jonathanxd.kores.type.ImplicitKoresType;
 
 import org.springframework.core.ParameterizedTypeReference;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class TypeReferenceClass {
 
-    private static long COUNT = 0L;
+    /**
+     * Name of the static field which holds the shared instance of the type reference.
+     */
+    public static final String INSTANCE_FIELD = "INSTANCE";
 
+    private static final AtomicLong COUNT = new AtomicLong();
+
+    /**
+     * Generated type reference classes, per class loader and per {@link Type#getTypeName() type
+     * name}. Classes are weakly referenced, so the cache never keeps a loader alive.
+     */
+    private static final Map<ClassLoader, Map<String, List<CachedType>>> CACHE =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Gets the type reference class which captures {@code type} in {@code loader}, creating it
+     * through {@link #createTypeReferenceClass(Type, ClassLoader)} only if no equal type was
+     * captured before in the same loader.
+     *
+     * Routes which share the same response type also share the same type reference class, so
+     * generation time and metaspace usage grow with the number of distinct types rather than
+     * with the number of routes. Concurrent calls for the same type produce a single class.
+     *
+     * @param type   Type to capture.
+     * @param loader Class loader to load type reference class.
+     * @return Type reference class.
+     */
+    public static Class<?> getTypeReferenceClass(Type type, ClassLoader loader) {
+        Map<String, List<CachedType>> types = CACHE.computeIfAbsent(loader, it -> new ConcurrentHashMap<>());
+        List<CachedType> bucket = types.computeIfAbsent(type.getTypeName(), it -> new ArrayList<>());
+
+        synchronized (bucket) {
+            for (CachedType cached : bucket) {
+                Class<?> typeReferenceClass = cached.typeReferenceClass.get();
+
+                if (typeReferenceClass != null && ImplicitKoresType.is(cached.type, type)) {
+                    return typeReferenceClass;
+                }
+            }
+
+            bucket.removeIf(it -> it.typeReferenceClass.get() == null);
+
+            Class<?> typeReferenceClass = TypeReferenceClass.createTypeReferenceClass(type, loader);
+            bucket.add(new CachedType(type, typeReferenceClass));
+
+            return typeReferenceClass;
+        }
+    }
+
+    /**
+     * Creates a {@link ParameterizedTypeReference} subclass which captures {@code type}.
+     *
+     * The generated class holds a single instance of itself in the {@link #INSTANCE_FIELD static
+     * field}, so the {@link ParameterizedTypeReference#getType() type resolution} (which is made
+     * through reflection) happens only once, when the class is initialized.
+     *
+     * @param type   Type to capture.
+     * @param loader Class loader to load type reference class.
+     * @return Type reference class.
+     */
     public static Class<?> createTypeReferenceClass(Type type, ClassLoader loader) {
-        long cnt = COUNT++;
+        long cnt = COUNT.getAndIncrement();
         ClassDeclaration classDeclaration = ClassDeclaration.Builder.builder()
+                .modifiers(KoresModifier.PUBLIC)
                 .name("com.github.jonathanxd.interoute.type" + cnt + ".Type")
                 .superClass(Generic.type(ParameterizedTypeReference.class).of(type))
+                .fields(FieldDeclaration.Builder.builder()
+                        .modifiers(KoresModifier.PUBLIC, KoresModifier.STATIC, KoresModifier.FINAL)
+                        .type(ParameterizedTypeReference.class)
+                        .name(INSTANCE_FIELD)
+                        .value(InvocationFactory.invokeConstructor(Alias.THIS.INSTANCE))
+                        .build())
                 .build();
 
         return ClassGenerationUtil.load(ClassGenerationUtil.generate(classDeclaration), loader);
     }
 
+    /**
+     * Accesses the shared instance of a type reference class created by {@link
+     * #createTypeReferenceClass(Type, ClassLoader)}.
+     *
+     * @param typeReferenceClass Type reference class.
+     * @return Instruction which accesses the shared instance of {@code typeReferenceClass}.
+     */
+    public static Instruction accessInstance(Class<?> typeReferenceClass) {
+        return Factories.accessStaticField(typeReferenceClass, ParameterizedTypeReference.class, INSTANCE_FIELD);
+    }
+
+    private static final class CachedType {
+        private final Type type;
+        private final WeakReference<Class<?>> typeReferenceClass;
+
+        CachedType(Type type, Class<?> typeReferenceClass) {
+            this.type = type;
+            this.typeReferenceClass = new WeakReference<>(typeReferenceClass);
+        }
+    }
+
 }
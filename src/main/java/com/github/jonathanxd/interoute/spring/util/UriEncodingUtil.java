@@ -0,0 +1,281 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.util;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Percent-encoding used by {@link com.github.jonathanxd.interoute.spring.UriTemplateMode#COMPILED
+ * compiled url templates}.
+ *
+ * Literal parts of the template are encoded once, when the router is generated, with {@link
+ * #encodeLiteral(String, UriComponent)}, which keeps the delimiters of the uri structure. Values of
+ * parameters are encoded on every invocation, directly into the buffer which holds the url, with
+ * the {@code append*} methods, which only keeps unreserved characters.
+ */
+public final class UriEncodingUtil {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private UriEncodingUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Resolves the already encoded {@code uri} of a route against {@code root}, the encoded root
+     * of the uri template handler of the client, such as the {@code rootUri} of {@code
+     * RestTemplateBuilder} or the {@code baseUrl} of {@code WebClient}. Same as the root uri
+     * handler does with url templates, only relative uris starting with {@code /} are resolved. The
+     * uri is not encoded again.
+     *
+     * @param root Root of the uri template handler, empty or {@code /} if there is none.
+     * @param uri  Encoded uri of the route.
+     * @return {@code uri} resolved against {@code root}.
+     */
+    public static URI resolve(URI root, URI uri) {
+        String path = uri.toString();
+
+        if (uri.isAbsolute() || !path.startsWith("/")) {
+            return uri;
+        }
+
+        String base = root.toString();
+
+        if (base.endsWith("/")) {
+            base = base.substring(0, base.length() - 1);
+        }
+
+        return base.isEmpty() ? uri : URI.create(base + path);
+    }
+
+    /**
+     * Encodes the {@code literal} part of the template, starting in {@code component}. Characters
+     * that are not allowed in the component are percent-encoded, delimiters are kept.
+     *
+     * @param literal   Literal part of the template.
+     * @param component Component in which the literal starts.
+     * @return Encoded literal.
+     */
+    public static String encodeLiteral(String literal, UriComponent component) {
+        StringBuilder builder = new StringBuilder(literal.length());
+        UriComponent current = component;
+
+        for (int i = 0; i < literal.length(); ) {
+            int codePoint = literal.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (current.isLiteralAllowed(codePoint)) {
+                builder.append((char) codePoint);
+            } else {
+                UriEncodingUtil.appendEncoded(builder, codePoint);
+            }
+
+            current = current.next(codePoint);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Gets the component which the uri is in after the {@code literal} part.
+     *
+     * @param literal   Literal part of the template.
+     * @param component Component in which the literal starts.
+     * @return Component after the literal.
+     */
+    public static UriComponent componentAfter(String literal, UriComponent component) {
+        UriComponent current = component;
+
+        for (int i = 0; i < literal.length(); ++i) {
+            current = current.next(literal.charAt(i));
+        }
+
+        return current;
+    }
+
+    /**
+     * Appends {@code value} as a path segment, encoding everything except unreserved characters.
+     *
+     * @param builder Url buffer.
+     * @param value   Value to encode.
+     * @return {@code builder}.
+     */
+    public static StringBuilder appendPathSegment(StringBuilder builder, String value) {
+        return UriEncodingUtil.appendValue(builder, value);
+    }
+
+    /**
+     * Appends {@code value} as a query parameter value, encoding everything except unreserved
+     * characters.
+     *
+     * @param builder Url buffer.
+     * @param value   Value to encode.
+     * @return {@code builder}.
+     */
+    public static StringBuilder appendQueryParam(StringBuilder builder, String value) {
+        return UriEncodingUtil.appendValue(builder, value);
+    }
+
+    /**
+     * Appends {@code value} as fragment, encoding everything except unreserved characters.
+     *
+     * @param builder Url buffer.
+     * @param value   Value to encode.
+     * @return {@code builder}.
+     */
+    public static StringBuilder appendFragment(StringBuilder builder, String value) {
+        return UriEncodingUtil.appendValue(builder, value);
+    }
+
+    private static StringBuilder appendValue(StringBuilder builder, String value) {
+        if (value == null) {
+            return builder.append((String) null);
+        }
+
+        int length = value.length();
+        int i = 0;
+
+        // Fast path, most values does not need to be encoded.
+        while (i < length && UriEncodingUtil.isUnreserved(value.charAt(i))) {
+            ++i;
+        }
+
+        if (i == length) {
+            return builder.append(value);
+        }
+
+        builder.append(value, 0, i);
+
+        while (i < length) {
+            int codePoint = value.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (UriEncodingUtil.isUnreserved(codePoint)) {
+                builder.append((char) codePoint);
+            } else {
+                UriEncodingUtil.appendEncoded(builder, codePoint);
+            }
+        }
+
+        return builder;
+    }
+
+    private static void appendEncoded(StringBuilder builder, int codePoint) {
+        if (codePoint < 0x80) {
+            UriEncodingUtil.appendByte(builder, codePoint);
+        } else {
+            byte[] bytes = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+            for (byte b : bytes) {
+                UriEncodingUtil.appendByte(builder, b);
+            }
+        }
+    }
+
+    private static void appendByte(StringBuilder builder, int b) {
+        builder.append('%')
+                .append(HEX[(b >> 4) & 0xF])
+                .append(HEX[b & 0xF]);
+    }
+
+    static boolean isUnreserved(int c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    static boolean isSubDelimiter(int c) {
+        return c == '!' || c == '$' || c == '&' || c == '\'' || c == '(' || c == ')'
+                || c == '*' || c == '+' || c == ',' || c == ';' || c == '=';
+    }
+
+    static boolean isPathChar(int c) {
+        return UriEncodingUtil.isUnreserved(c) || UriEncodingUtil.isSubDelimiter(c) || c == ':' || c == '@';
+    }
+
+    /**
+     * Component of the uri.
+     */
+    public enum UriComponent {
+        /**
+         * Scheme, authority and path, until the {@code ?} delimiter.
+         */
+        PATH {
+            @Override
+            boolean isLiteralAllowed(int c) {
+                return UriEncodingUtil.isPathChar(c) || c == '/' || c == '?' || c == '#';
+            }
+
+            @Override
+            UriComponent next(int c) {
+                if (c == '?') {
+                    return QUERY;
+                } else if (c == '#') {
+                    return FRAGMENT;
+                } else {
+                    return this;
+                }
+            }
+        },
+
+        /**
+         * Query, until the {@code #} delimiter.
+         */
+        QUERY {
+            @Override
+            boolean isLiteralAllowed(int c) {
+                return UriEncodingUtil.isPathChar(c) || c == '/' || c == '?' || c == '#';
+            }
+
+            @Override
+            UriComponent next(int c) {
+                return c == '#' ? FRAGMENT : this;
+            }
+        },
+
+        /**
+         * Fragment.
+         */
+        FRAGMENT {
+            @Override
+            boolean isLiteralAllowed(int c) {
+                return UriEncodingUtil.isPathChar(c) || c == '/' || c == '?';
+            }
+
+            @Override
+            UriComponent next(int c) {
+                return this;
+            }
+        };
+
+        abstract boolean isLiteralAllowed(int c);
+
+        abstract UriComponent next(int c);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.test;
+
+import com.github.jonathanxd.interoute.backend.InterouteBackendConfigurer;
+import com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration;
+import com.github.jonathanxd.interoute.spring.cache.ResponseCache;
+import com.github.jonathanxd.interoute.spring.cache.RevalidationCache;
+import com.github.jonathanxd.interoute.spring.route.SingleFlight;
+
+import org.jetbrains.annotations.NotNull;
+
+public class CachingBackendConfigurer implements InterouteBackendConfigurer<SpringRestBackendConfiguration> {
+
+    static final ResponseCache RESPONSE_CACHE = new ResponseCache(100);
+    static final RevalidationCache REVALIDATION_CACHE = new RevalidationCache(100);
+    static final SingleFlight SINGLE_FLIGHT = new SingleFlight();
+
+    @NotNull
+    @Override
+    public SpringRestBackendConfiguration configure(@NotNull SpringRestBackendConfiguration configuration) {
+        return new SpringRestBackendConfigurer().configure(configuration).toBuilder()
+                .responseCache(RESPONSE_CACHE)
+                .revalidationCache(REVALIDATION_CACHE)
+                .singleFlight(SINGLE_FLIGHT)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.test;
+
+import com.github.jonathanxd.interoute.spring.limit.ConcurrencyLimiter;
+import com.github.jonathanxd.interoute.spring.limit.HostLimit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+public class ConcurrencyLimiterTest {
+
+    private final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+            .initialLimit(2)
+            .minLimit(1)
+            .maxLimit(10)
+            .build();
+
+    @Test
+    public void limitsByHostTest() {
+        HostLimit limit = this.limiter.get("http://user@test:80/user?name=test");
+
+        Assert.assertEquals("test:80", limit.getHost());
+        Assert.assertSame(limit, this.limiter.get("http://test:80/users"));
+        Assert.assertNotSame(limit, this.limiter.get("http://other:80/users"));
+    }
+
+    @Test
+    public void limitsRelativeUrlsByRootUriTest() {
+        HostLimit limit = this.limiter.get("/users", URI.create("http://test:80/api"));
+
+        Assert.assertEquals("test:80", limit.getHost());
+        Assert.assertSame(limit, this.limiter.get("http://test:80/users"));
+        Assert.assertNotSame(limit, this.limiter.get("/users", URI.create("/")));
+    }
+
+    @Test
+    public void countsQueuedRequestsTest() {
+        HostLimit limit = this.limiter.get("http://test:80/");
+        List<Runnable> tasks = new ArrayList<>();
+        Executor executor = limit.queue(tasks::add);
+
+        executor.execute(() -> Assert.assertEquals(1, limit.getQueued()));
+        executor.execute(() -> Assert.assertEquals(0, limit.getQueued()));
+        Assert.assertEquals(2, limit.getQueued());
+
+        tasks.forEach(Runnable::run);
+        Assert.assertEquals(0, limit.getQueued());
+    }
+
+    @Test
+    public void rejectsOverLimitTest() {
+        HostLimit limit = this.limiter.get("http://test:80/");
+
+        Assert.assertTrue(limit.tryAcquire());
+        Assert.assertTrue(limit.tryAcquire());
+        Assert.assertFalse(limit.tryAcquire());
+        Assert.assertEquals(2, limit.getInFlight());
+        Assert.assertEquals(1, limit.getRejectedCount());
+    }
+
+    @Test
+    public void adaptsLimitTest() {
+        HostLimit limit = this.limiter.get("http://test:80/");
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(limit.tryAcquire());
+            Assert.assertTrue(limit.tryAcquire());
+            limit.release(false);
+            limit.release(false);
+        }
+
+        Assert.assertTrue(limit.getLimit() > 2);
+
+        for (int i = 0; i < 50; i++) {
+            Assert.assertTrue(limit.tryAcquire());
+            limit.release(true);
+        }
+
+        Assert.assertEquals(1, limit.getLimit());
+        Assert.assertEquals(50, limit.getDroppedCount());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.test;
+
+import com.github.jonathanxd.interoute.spring.EnableInteroute;
+import com.github.jonathanxd.interoute.spring.precompiled.PrecompiledRouters;
+import com.github.jonathanxd.kores.bytecode.classloader.CodeClassLoader;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = EnableInterouteTest.Config.class)
+public class EnableInterouteTest {
+
+    @Autowired
+    private WebFetch webFetch;
+
+    @Autowired
+    private WebClientFetch webClientFetch;
+
+    @Autowired
+    private CachingWebFetch cachingWebFetch;
+
+    @Autowired
+    private PrecompiledFetch precompiledFetch;
+
+    @Test
+    public void routersRegisteredTest() {
+        Assert.assertNotNull(this.webFetch);
+        Assert.assertNotNull(this.webClientFetch);
+        Assert.assertTrue(this.precompiledFetch.getClass().getName().endsWith(PrecompiledRouters.SUFFIX));
+    }
+
+    @Test
+    public void routersShareClassLoaderTest() {
+        ClassLoader loader = this.webFetch.getClass().getClassLoader();
+
+        Assert.assertTrue(loader instanceof CodeClassLoader);
+        Assert.assertSame(loader, this.webClientFetch.getClass().getClassLoader());
+        Assert.assertSame(loader, this.cachingWebFetch.getClass().getClassLoader());
+    }
+
+    @Test
+    public void routersGeneratedOnBoundedPoolTest() {
+        Set<String> generationThreads = SpringRestBackendConfigurer.CONFIGURING_THREADS.stream()
+                .filter(it -> it.startsWith("interoute-generation-"))
+                .collect(Collectors.toSet());
+
+        Assert.assertFalse(generationThreads.isEmpty());
+        Assert.assertTrue(generationThreads.toString(), generationThreads.stream()
+                .allMatch(it -> it.equals("interoute-generation-1") || it.equals("interoute-generation-2")));
+    }
+
+    @Configuration
+    @EnableInteroute(basePackageClasses = WebFetch.class, parallelism = 2)
+    static class Config {
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.test;
+
+import com.github.jonathanxd.interoute.spring.http.HttpConnectionPool;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+public class HttpConnectionPoolTest {
+
+    private static final byte[] HELLO = "Hello world".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String root;
+
+    @Before
+    public void start() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/hello", exchange -> {
+            exchange.sendResponseHeaders(200, HELLO.length);
+
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(HELLO);
+            }
+        });
+        this.server.start();
+        this.root = "http://localhost:" + this.server.getAddress().getPort();
+    }
+
+    @After
+    public void stop() {
+        this.server.stop(0);
+    }
+
+    @Test
+    public void reusesConnectionsTest() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (HttpConnectionPool pool = HttpConnectionPool.builder().maxConnectionsPerHost(4).build()) {
+            pool.bindTo(registry);
+
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals("Hello world", pool.getRestTemplate().getForObject(this.root + "/hello", String.class));
+            }
+
+            // Sequential requests reuse the connection kept alive by the first one.
+            Assert.assertEquals(1, pool.getTotalStats().getAvailable());
+            Assert.assertEquals(0, pool.getTotalStats().getLeased());
+            Assert.assertEquals(3, registry.get(HttpConnectionPool.WAIT).timer().count());
+            Assert.assertEquals(4, registry.get(HttpConnectionPool.MAX).gauge().value(), 0.0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidLimitsTest() {
+        HttpConnectionPool.builder().maxConnections(2).maxConnectionsPerHost(4).build();
+    }
+}
@@ -41,6 +41,21 @@ public class InterouteConfig extends SpringInterouteConfiguration {
         return this.createRouter(WebFetch.class);
     }
 
+    @Bean
+    public CachingWebFetch cachingWebFetch() {
+        return this.createRouter(CachingWebFetch.class);
+    }
+
+    @Bean
+    public CompiledWebFetch compiledWebFetch() {
+        return this.createRouter(CompiledWebFetch.class);
+    }
+
+    @Bean
+    public LimitedWebFetch limitedWebFetch() {
+        return this.createRouter(LimitedWebFetch.class);
+    }
+
     @Bean
     public UserRepository userRepository() {
         return new UserRepositoryImpl();
@@ -0,0 +1,113 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.test;
+
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.spring.SpringRestBackend;
+import com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration;
+import com.github.jonathanxd.interoute.spring.precompiled.PrecompiledRouters;
+import com.github.jonathanxd.interoute.spring.route.RouteRequestResponse;
+import com.github.jonathanxd.iutils.object.result.Result;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+public class PrecompiledRouterTest {
+
+    private PrecompiledFetch fetch;
+
+    @Before
+    public void setup() {
+        SpringRestBackendConfigurer.setup("http://test:80/", new RestTemplateBuilder()
+                .interceptors((request, body, execution) -> {
+                    Assert.assertEquals("/hello/test", request.getURI().getPath());
+                    Assert.assertEquals("bearer X", request.getHeaders().getFirst("Authorization"));
+                    return new MockClientHttpResponse("Hello world".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+                })
+                .build());
+
+        this.fetch = PrecompiledRouters.create(PrecompiledFetch.class)
+                .orElseThrow(() -> new AssertionError("Router was not generated at build time."));
+    }
+
+    @Test
+    public void precompiledRouterTest() throws ExecutionException, InterruptedException {
+        Assert.assertEquals(PrecompiledFetch.class.getName() + PrecompiledRouters.SUFFIX, this.fetch.getClass().getName());
+
+        Result<String, RoutingException> result = this.fetch.hello("test").execute().get();
+
+        Assert.assertEquals("Hello world", this.expectResult(result));
+    }
+
+    @Test
+    public void precompiledSpringRouteTest() throws ExecutionException, InterruptedException {
+        Result<String, RoutingException> result = this.fetch.springHello("test").execute().get()
+                .map(RouteRequestResponse::getResult)
+                .map(Optional::get);
+
+        Assert.assertEquals("Hello world", this.expectResult(result));
+    }
+
+    @Test
+    public void precompiledRouterInstancesUseTheirOwnConfigurationTest() throws ExecutionException, InterruptedException {
+        PrecompiledFetch first = PrecompiledRouters.create(PrecompiledFetch.class, this.configuration("first"))
+                .orElseThrow(() -> new AssertionError("Router was not generated at build time."));
+        PrecompiledFetch second = PrecompiledRouters.create(PrecompiledFetch.class, this.configuration("second"))
+                .orElseThrow(() -> new AssertionError("Router was not generated at build time."));
+
+        Assert.assertEquals("first", this.expectResult(first.hello("test").execute().get()));
+        Assert.assertEquals("second", this.expectResult(second.hello("test").execute().get()));
+        Assert.assertEquals("first", this.expectResult(first.hello("test").execute().get()));
+    }
+
+    private SpringRestBackendConfiguration configuration(String response) {
+        return new SpringRestBackend().createConfiguration().toBuilder()
+                .rootInvocationPath(() -> "http://test:80/")
+                .restTemplate(() -> new RestTemplateBuilder()
+                        .interceptors((request, body, execution) ->
+                                new MockClientHttpResponse(response.getBytes(StandardCharsets.UTF_8), HttpStatus.OK))
+                        .build())
+                .build();
+    }
+
+    private <R, E extends RoutingException> R expectResult(Result<R, E> result) {
+        if (result.isError()) {
+            throw new RuntimeException(result.errorOrGet(() -> null));
+        } else {
+            return ((Result.Ok<R, E>) result).success();
+        }
+    }
+}
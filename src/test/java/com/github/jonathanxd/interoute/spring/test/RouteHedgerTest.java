@@ -0,0 +1,85 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.test;
+
+import com.github.jonathanxd.interoute.spring.hedge.HedgePolicy;
+import com.github.jonathanxd.interoute.spring.hedge.RouteHedger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RouteHedgerTest {
+
+    @Test
+    public void hedgesFirstExecutionTest() {
+        RouteHedger hedger = new RouteHedger(HedgePolicy.builder().budget(10).build());
+
+        hedger.execution();
+        Assert.assertTrue(hedger.tryHedge());
+        Assert.assertFalse(hedger.tryHedge());
+
+        for (int i = 1; i < 10; i++) {
+            hedger.execution();
+        }
+
+        Assert.assertFalse(hedger.tryHedge());
+
+        hedger.execution();
+        Assert.assertTrue(hedger.tryHedge());
+        Assert.assertEquals(2, hedger.getHedgeCount());
+    }
+
+    @Test
+    public void concurrentHedgesRespectBudgetTest() throws InterruptedException {
+        RouteHedger hedger = new RouteHedger(HedgePolicy.builder().budget(10).build());
+        AtomicInteger hedges = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 100; i++) {
+            hedger.execution();
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                if (hedger.tryHedge()) {
+                    hedges.incrementAndGet();
+                }
+            });
+        }
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals(10, hedges.get());
+        Assert.assertEquals(10, hedger.getHedgeCount());
+    }
+}
@@ -30,9 +30,18 @@ package com.github.jonathanxd.interoute.spring.test;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.spring.http.DeadlineClientHttpRequestFactory;
+import com.github.jonathanxd.interoute.spring.http.HttpConnectionPool;
+import com.github.jonathanxd.interoute.spring.limit.HostLimit;
+import com.github.jonathanxd.interoute.spring.metrics.RouteMetrics;
 import com.github.jonathanxd.interoute.spring.route.RouteRequestResponse;
+import com.github.jonathanxd.interoute.spring.route.RouteTimeoutException;
 import com.github.jonathanxd.interoute.spring.test.repo.UserRepository;
 import com.github.jonathanxd.iutils.object.result.Result;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -42,19 +51,37 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = InterouteConfig.class)
@@ -66,6 +93,15 @@ public class SimpleTest {
     @Autowired
     private WebFetch webFetch;
 
+    @Autowired
+    private CachingWebFetch cachingWebFetch;
+
+    @Autowired
+    private CompiledWebFetch compiledWebFetch;
+
+    @Autowired
+    private LimitedWebFetch limitedWebFetch;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -123,6 +159,57 @@ public class SimpleTest {
         Assert.assertEquals("test@domain.com", user.getEmail());
     }
 
+    @Test
+    public void compiledWebFetchResolvesRootUriTest() throws ExecutionException, InterruptedException {
+        List<String> uris = new ArrayList<>();
+
+        SpringRestBackendConfigurer.setup(this.root, new RestTemplateBuilder()
+                .rootUri("http://test:80/api")
+                .interceptors((request, body, execution) -> {
+                    uris.add(request.getURI().toString());
+                    return this.jsonResponse(new User("a/b", "ab@domain.com"), HttpStatus.OK);
+                })
+                .build()
+        );
+
+        Assert.assertEquals("a/b", this.expectResult(compiledWebFetch.userDetails("a/b").execute().get()).getName());
+        Assert.assertEquals("a/b", this.expectResult(compiledWebFetch.userDetails("a/b", "x&y z").execute().get()).getName());
+        Assert.assertEquals(Arrays.asList(
+                "http://test:80/api/user/a%2Fb",
+                "http://test:80/api/user/a%2Fb?context=x%26y%20z"
+        ), uris);
+    }
+
+    @Test
+    public void webFetchRunsInRouteExecutorTest() throws ExecutionException, InterruptedException {
+        SpringRestBackendConfigurer.setup(this.root,
+                this.userReqTemplate((request, body, execution) -> {
+                    Assert.assertTrue(Thread.currentThread().getName().startsWith("interoute-route-"));
+                    return execution.execute(request, body);
+                })
+        );
+
+        Result<User, RoutingException> result = webFetch.userDetails("test").execute().get();
+        User user = this.expectResult(result);
+
+        Assert.assertEquals("test", user.getName());
+    }
+
+    @Test
+    public void webFetchSendsRouterHeadersTest() throws ExecutionException, InterruptedException {
+        SpringRestBackendConfigurer.setup(this.root,
+                this.userReqTemplate((request, body, execution) -> {
+                    Assert.assertEquals("bearer X", request.getHeaders().getFirst("Authorization"));
+                    return execution.execute(request, body);
+                })
+        );
+
+        Result<User, RoutingException> result = webFetch.userDetails("test").execute().get();
+        User user = this.expectResult(result);
+
+        Assert.assertEquals("test", user.getName());
+    }
+
     @Test
     public void webFetchRegisterUserTest() throws ExecutionException, InterruptedException {
         SpringRestBackendConfigurer.setup(this.root,
@@ -163,6 +250,406 @@ public class SimpleTest {
         Assert.assertEquals(HttpStatus.CONFLICT, status);
     }
 
+    @Test
+    public void webFetchRecordsRouteMetricsTest() throws ExecutionException, InterruptedException {
+        SpringRestBackendConfigurer.setup(this.root, this.userReqTemplate());
+
+        Counter conflicts = SpringRestBackendConfigurer.METER_REGISTRY.counter(RouteMetrics.RESPONSES,
+                "uri", "/user", "method", "POST", "status", "409");
+        Timer latency = SpringRestBackendConfigurer.METER_REGISTRY.timer(RouteMetrics.REQUESTS,
+                "uri", "/user", "method", "POST");
+        double conflictCount = conflicts.count();
+        long requestCount = latency.count();
+
+        webFetch.registerUser(new User("test2", "test2@domain.com")).execute().get();
+
+        Assert.assertEquals(conflictCount + 1, conflicts.count(), 0.0);
+        Assert.assertEquals(requestCount + 1, latency.count());
+    }
+
+    @Test
+    public void webFetchStreamsUsersTest() throws ExecutionException, InterruptedException {
+        SpringRestBackendConfigurer.setup(this.root,
+                this.template("{\"name\":\"test\",\"email\":\"test@domain.com\"}\n"
+                        + "{\"name\":\"test2\",\"email\":\"test2@domain.com\"}\n", HttpStatus.OK)
+        );
+
+        try (Stream<User> users = this.expectResult(webFetch.users().execute().get())) {
+            Assert.assertEquals("test,test2", users.map(User::getName).collect(Collectors.joining(",")));
+        }
+    }
+
+    @Test
+    public void webFetchDownloadsToFileTest() throws ExecutionException, InterruptedException, IOException {
+        SpringRestBackendConfigurer.setup(this.root, this.template("Hello world", HttpStatus.OK));
+
+        Path target = Files.createTempFile("interoute-test", ".download");
+
+        try {
+            Path path = this.expectResult(webFetch.download(target).execute().get());
+
+            Assert.assertEquals(target, path);
+            Assert.assertEquals("Hello world", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void webFetchUploadsStreamTest() throws ExecutionException, InterruptedException, IOException {
+        this.assertStreamsUpload(new DeadlineClientHttpRequestFactory());
+
+        try (HttpConnectionPool pool = HttpConnectionPool.builder().build()) {
+            this.assertStreamsUpload(pool.getRequestFactory());
+        }
+    }
+
+    /**
+     * Uploads a body which only ends after the server received its first bytes, which never
+     * happens if {@code requestFactory} buffers the body before sending it.
+     */
+    private void assertStreamsUpload(ClientHttpRequestFactory requestFactory) throws ExecutionException, InterruptedException, IOException {
+        byte[] head = new byte[64 * 1024];
+        byte[] tail = "streamed body".getBytes(StandardCharsets.UTF_8);
+        CountDownLatch received = new CountDownLatch(1);
+        ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        server.createContext("/upload", exchange -> {
+            byte[] buffer = new byte[8192];
+            int read;
+
+            try (InputStream body = exchange.getRequestBody()) {
+                while ((read = body.read(buffer)) != -1) {
+                    uploaded.write(buffer, 0, read);
+                    received.countDown();
+                }
+            }
+
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        InputStream data = new InputStream() {
+            private final InputStream first = new ByteArrayInputStream(head);
+            private final InputStream second = new ByteArrayInputStream(tail);
+
+            @Override
+            public int read() throws IOException {
+                byte[] b = new byte[1];
+                return this.read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (this.first.available() > 0) {
+                    return this.first.read(b, off, len);
+                }
+
+                try {
+                    if (!received.await(5, TimeUnit.SECONDS)) {
+                        throw new IOException("Request body was buffered.");
+                    }
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+
+                return this.second.read(b, off, len);
+            }
+        };
+
+        try {
+            SpringRestBackendConfigurer.setup("http://localhost:" + server.getAddress().getPort() + "/",
+                    new RestTemplate(requestFactory));
+
+            Result<HttpStatus, RoutingException> result =
+                    webFetch.upload(data)
+                            .execute()
+                            .get()
+                            .flatMap(RouteRequestResponse::getStatusAsResult);
+
+            Assert.assertEquals(HttpStatus.OK, this.expectResult(result));
+            Assert.assertEquals(head.length + tail.length, uploaded.size());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void webFetchCachesResponsesTest() throws ExecutionException, InterruptedException {
+        AtomicInteger requests = new AtomicInteger();
+        Timer latency = SpringRestBackendConfigurer.METER_REGISTRY.timer(RouteMetrics.REQUESTS,
+                "uri", "/user/{0 name}", "method", "GET");
+        long requestCount = latency.count();
+        CachingBackendConfigurer.RESPONSE_CACHE.invalidateAll();
+        SpringRestBackendConfigurer.setup(this.root,
+                this.userReqTemplate((request, body, execution) -> {
+                    requests.incrementAndGet();
+                    return execution.execute(request, body);
+                })
+        );
+
+        Assert.assertEquals("test", this.expectResult(cachingWebFetch.cachedUserDetails("test").execute().get()).getName());
+        Assert.assertEquals("test", this.expectResult(cachingWebFetch.cachedUserDetails("test").execute().get()).getName());
+        Assert.assertEquals(1, requests.get());
+        Assert.assertEquals(requestCount + 1, latency.count());
+
+        cachingWebFetch.registerUserAndInvalidate(new User("test4", "test4@domain.com")).execute().get();
+        Assert.assertEquals(2, requests.get());
+
+        this.expectResult(cachingWebFetch.cachedUserDetails("test").execute().get());
+        Assert.assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void webFetchDoesNotCacheExpiredResponsesTest() throws ExecutionException, InterruptedException {
+        AtomicInteger requests = new AtomicInteger();
+        CachingBackendConfigurer.RESPONSE_CACHE.invalidateAll();
+        SpringRestBackendConfigurer.setup(this.root, new RestTemplateBuilder()
+                .interceptors((request, body, execution) -> {
+                    MockClientHttpResponse response =
+                            (MockClientHttpResponse) this.jsonResponse(new User("expired", "expired@domain.com"), HttpStatus.OK);
+                    response.getHeaders().set(HttpHeaders.EXPIRES, "0");
+                    requests.incrementAndGet();
+                    return response;
+                })
+                .build()
+        );
+
+        Assert.assertEquals("expired", this.expectResult(cachingWebFetch.cachedUserDetails("expired").execute().get()).getName());
+        Assert.assertEquals("expired", this.expectResult(cachingWebFetch.cachedUserDetails("expired").execute().get()).getName());
+        Assert.assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void webFetchRevalidatesResponsesTest() throws ExecutionException, InterruptedException, JsonProcessingException {
+        AtomicInteger requests = new AtomicInteger();
+        ClientHttpResponse notModified = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+        MockClientHttpResponse user = (MockClientHttpResponse) this.jsonResponse(new User("etag", "etag@domain.com"), HttpStatus.OK);
+        user.getHeaders().setETag("\"v1\"");
+        Counter notModifiedResponses = SpringRestBackendConfigurer.METER_REGISTRY.counter(RouteMetrics.RESPONSES,
+                "uri", "/user/{0 name}", "method", "GET", "status", "304");
+        double notModifiedCount = notModifiedResponses.count();
+
+        SpringRestBackendConfigurer.setup(this.root, new RestTemplateBuilder()
+                .interceptors((request, body, execution) -> {
+                    if (requests.getAndIncrement() == 0) {
+                        Assert.assertNull(request.getHeaders().getFirst("If-None-Match"));
+                        return user;
+                    }
+
+                    Assert.assertEquals("\"v1\"", request.getHeaders().getFirst("If-None-Match"));
+                    return notModified;
+                })
+                .build()
+        );
+
+        Assert.assertEquals("etag", this.expectResult(cachingWebFetch.userDetails("etag").execute().get()).getName());
+        Assert.assertEquals("etag", this.expectResult(cachingWebFetch.userDetails("etag").execute().get()).getName());
+        Assert.assertEquals(2, requests.get());
+        Assert.assertEquals(notModifiedCount + 1, notModifiedResponses.count(), 0.0);
+    }
+
+    @Test
+    public void webFetchDownloadsToFileWithoutRevalidationTest() throws ExecutionException, InterruptedException, IOException {
+        AtomicInteger requests = new AtomicInteger();
+
+        SpringRestBackendConfigurer.setup(this.root, new RestTemplateBuilder()
+                .interceptors((request, body, execution) -> {
+                    requests.incrementAndGet();
+
+                    if (request.getHeaders().getFirst("If-None-Match") != null) {
+                        return new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+                    }
+
+                    MockClientHttpResponse response =
+                            new MockClientHttpResponse("Hello world".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+                    response.getHeaders().setETag("\"v1\"");
+                    return response;
+                })
+                .build()
+        );
+
+        Path target = Files.createTempFile("interoute-test", ".download");
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                Path path = this.expectResult(cachingWebFetch.download(target).execute().get());
+
+                Assert.assertEquals("Hello world", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            }
+
+            Assert.assertEquals(2, requests.get());
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void webFetchCoalescesConcurrentRequestsTest() throws ExecutionException, InterruptedException, JsonProcessingException {
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch joined = new CountDownLatch(1);
+        ClientHttpResponse user = this.jsonResponse(new User("flight", "flight@domain.com"), HttpStatus.OK);
+
+        SpringRestBackendConfigurer.setup(this.root, new RestTemplateBuilder()
+                .interceptors((request, body, execution) -> {
+                    requests.incrementAndGet();
+
+                    try {
+                        joined.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    return user;
+                })
+                .build()
+        );
+
+        CompletableFuture<Result<User, RoutingException>> first = cachingWebFetch.userDetails("flight").execute();
+        CompletableFuture<Result<User, RoutingException>> second = cachingWebFetch.userDetails("flight").execute();
+        Assert.assertEquals(1, CachingBackendConfigurer.SINGLE_FLIGHT.getInFlightCount());
+        joined.countDown();
+
+        Assert.assertEquals("flight", this.expectResult(first.get()).getName());
+        Assert.assertEquals("flight", this.expectResult(second.get()).getName());
+        Assert.assertEquals(1, requests.get());
+        Assert.assertEquals(0, CachingBackendConfigurer.SINGLE_FLIGHT.getInFlightCount());
+    }
+
+    @Test
+    public void webFetchBatchesSingleItemRoutesTest() throws ExecutionException, InterruptedException, JsonProcessingException {
+        AtomicInteger requests = new AtomicInteger();
+
+        SpringRestBackendConfigurer.setup(this.root, new RestTemplateBuilder()
+                .interceptors((request, body, execution) -> {
+                    requests.incrementAndGet();
+                    Assert.assertEquals("/users/batch", request.getURI().getPath());
+
+                    return this.jsonResponse(Stream.of(this.as(body, String[].class))
+                            .map(this.userRepository::findByName)
+                            .filter(Optional::isPresent)
+                            .map(Optional::get)
+                            .collect(Collectors.toList()), HttpStatus.OK);
+                })
+                .build()
+        );
+
+        CompletableFuture<Result<User, RoutingException>> first = webFetch.batchedUserDetails("test").execute();
+        CompletableFuture<Result<User, RoutingException>> second = webFetch.batchedUserDetails("test2").execute();
+        CompletableFuture<Result<User, RoutingException>> repeated = webFetch.batchedUserDetails("test").execute();
+        CompletableFuture<Result<User, RoutingException>> missing = webFetch.batchedUserDetails("missing").execute();
+
+        Assert.assertEquals("test@domain.com", this.expectResult(first.get()).getEmail());
+        Assert.assertEquals("test2@domain.com", this.expectResult(second.get()).getEmail());
+        Assert.assertEquals("test@domain.com", this.expectResult(repeated.get()).getEmail());
+        Assert.assertTrue(missing.get().isError());
+        Assert.assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void webFetchHedgesSlowRequestsTest() throws ExecutionException, InterruptedException, JsonProcessingException {
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch hedged = new CountDownLatch(1);
+        ClientHttpResponse slow = this.jsonResponse(new User("slow", "slow@domain.com"), HttpStatus.OK);
+        ClientHttpResponse user = this.jsonResponse(new User("hedge", "hedge@domain.com"), HttpStatus.OK);
+        Counter wins = SpringRestBackendConfigurer.METER_REGISTRY.counter(RouteMetrics.HEDGE_WINS,
+                "uri", "/user/{0 name}/hedged", "method", "GET");
+        double won = wins.count();
+
+        // The first request only completes after the hedged request was sent.
+        SpringRestBackendConfigurer.setup(this.root, new RestTemplateBuilder()
+                .interceptors((request, body, execution) -> {
+                    if (requests.getAndIncrement() > 0) {
+                        hedged.countDown();
+                        return user;
+                    }
+
+                    try {
+                        hedged.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    return slow;
+                })
+                .build()
+        );
+
+        Assert.assertEquals("hedge", this.expectResult(webFetch.hedgedUserDetails("hedge").execute().get()).getName());
+        Assert.assertEquals(2, requests.get());
+        Assert.assertEquals(won + 1, wins.count(), 0.0);
+    }
+
+    @Test
+    public void webFetchTimesOutSlowRoutesTest() throws ExecutionException, InterruptedException {
+        CountDownLatch aborted = new CountDownLatch(1);
+
+        SpringRestBackendConfigurer.setup(this.root, new RestTemplateBuilder()
+                .interceptors(this.awaitAbort(new CountDownLatch(1), aborted))
+                .build()
+        );
+
+        Result<User, RoutingException> result = webFetch.slowUserDetails("slow").execute().get();
+
+        Assert.assertTrue(result.errorOrNull() instanceof RouteTimeoutException);
+        Assert.assertTrue(aborted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void limitedWebFetchDropsTimedOutRequestsTest() throws ExecutionException, InterruptedException {
+        CountDownLatch aborted = new CountDownLatch(1);
+        HostLimit limit = LimitedBackendConfigurer.CONCURRENCY_LIMITER.get("http://limited:80/");
+        long drops = limit.getDroppedCount();
+
+        SpringRestBackendConfigurer.setup(this.root, new RestTemplateBuilder()
+                .rootUri("http://limited:80")
+                .interceptors(this.awaitAbort(new CountDownLatch(1), aborted))
+                .build()
+        );
+
+        Result<User, RoutingException> result = limitedWebFetch.slowUserDetails("slow").execute().get();
+
+        Assert.assertTrue(result.errorOrNull() instanceof RouteTimeoutException);
+        Assert.assertEquals(drops + 1, limit.getDroppedCount());
+        Assert.assertEquals(0, limit.getInFlight());
+        Assert.assertTrue(aborted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void webFetchCancelAbortsExchangeTest() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch aborted = new CountDownLatch(1);
+
+        SpringRestBackendConfigurer.setup(this.root, new RestTemplateBuilder()
+                .interceptors(this.awaitAbort(started, aborted))
+                .build()
+        );
+
+        CompletableFuture<Result<User, RoutingException>> execution = webFetch.userDetails("cancel").execute();
+
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(execution.cancel(true));
+        Assert.assertTrue(aborted.await(5, TimeUnit.SECONDS));
+    }
+
+    // Never answers, the exchange only ends when its thread is interrupted.
+    private ClientHttpRequestInterceptor awaitAbort(CountDownLatch started, CountDownLatch aborted) {
+        return (request, body, execution) -> {
+            started.countDown();
+
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                aborted.countDown();
+                throw new IOException("Aborted", e);
+            }
+
+            throw new IllegalStateException();
+        };
+    }
+
     private <R, E extends RoutingException> R expectResult(Result<R, E> result) {
         if (result.isError()) {
             throw new RuntimeException(result.errorOrGet(() -> null));
@@ -28,26 +28,39 @@
 package com.github.jonathanxd.interoute.spring.test;
 
 import com.github.jonathanxd.interoute.backend.InterouteBackendConfigurer;
+import com.github.jonathanxd.interoute.spring.ConfigurationEpoch;
 import com.github.jonathanxd.interoute.spring.SpringRestBackendConfiguration;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import org.jetbrains.annotations.NotNull;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class SpringRestBackendConfigurer implements InterouteBackendConfigurer<SpringRestBackendConfiguration> {
 
+    static final SimpleMeterRegistry METER_REGISTRY = new SimpleMeterRegistry();
+    static final Set<String> CONFIGURING_THREADS = ConcurrentHashMap.newKeySet();
+
     private static String ROOT_INVOCATION_PATH;
     private static RestTemplate REST_TEMPLATE;
 
     static void setup(String root, RestTemplate restTemplate) {
         SpringRestBackendConfigurer.ROOT_INVOCATION_PATH = root;
         SpringRestBackendConfigurer.REST_TEMPLATE = restTemplate;
+        ConfigurationEpoch.bump();
     }
 
     @NotNull
     @Override
     public SpringRestBackendConfiguration configure(@NotNull SpringRestBackendConfiguration configuration) {
+        CONFIGURING_THREADS.add(Thread.currentThread().getName());
         return configuration.toBuilder()
                 .rootInvocationPath(() -> ROOT_INVOCATION_PATH)
-                .restTemplate(() -> REST_TEMPLATE).build();
+                .restTemplate(() -> REST_TEMPLATE)
+                .meterRegistry(METER_REGISTRY)
+                .build();
     }
 }
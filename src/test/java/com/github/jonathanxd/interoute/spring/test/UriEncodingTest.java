@@ -0,0 +1,63 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.test;
+
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil;
+import com.github.jonathanxd.interoute.spring.util.UriEncodingUtil.UriComponent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UriEncodingTest {
+
+    @Test
+    public void literalKeepsDelimitersTest() {
+        Assert.assertEquals("http://test:80/user/?context=a&b=c#top",
+                UriEncodingUtil.encodeLiteral("http://test:80/user/?context=a&b=c#top", UriComponent.PATH));
+        Assert.assertEquals("/user%20list/", UriEncodingUtil.encodeLiteral("/user list/", UriComponent.PATH));
+    }
+
+    @Test
+    public void componentAfterLiteralTest() {
+        Assert.assertEquals(UriComponent.PATH, UriEncodingUtil.componentAfter("/user/", UriComponent.PATH));
+        Assert.assertEquals(UriComponent.QUERY, UriEncodingUtil.componentAfter("/user?context=", UriComponent.PATH));
+        Assert.assertEquals(UriComponent.FRAGMENT, UriEncodingUtil.componentAfter("&x=1#", UriComponent.QUERY));
+    }
+
+    @Test
+    public void valuesAreEncodedTest() {
+        Assert.assertEquals("/user/test",
+                UriEncodingUtil.appendPathSegment(new StringBuilder("/user/"), "test").toString());
+        Assert.assertEquals("/user/a%2Fb%20c",
+                UriEncodingUtil.appendPathSegment(new StringBuilder("/user/"), "a/b c").toString());
+        Assert.assertEquals("?q=a%26b%3Dc",
+                UriEncodingUtil.appendQueryParam(new StringBuilder("?q="), "a&b=c").toString());
+        Assert.assertEquals("?q=%C3%A1%F0%9F%98%80",
+                UriEncodingUtil.appendQueryParam(new StringBuilder("?q="), "á😀").toString());
+    }
+}
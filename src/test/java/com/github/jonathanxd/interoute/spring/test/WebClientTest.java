@@ -0,0 +1,123 @@
+/*
+ *      InterouteSpring -  <https://github.com/JonathanxD/InterouteSpring>
+ *
+ *         The MIT License (MIT)
+ *
+ *      Copyright (c) 2019 TheRealBuggy/JonathanxD (https://github.com/JonathanxD/) <jonathan.scripter@programmer.net>
+ *      Copyright (c) contributors
+ *
+ *
+ *      Permission is hereby granted, free of charge, to any person obtaining a copy
+ *      of this software and associated documentation files (the "Software"), to deal
+ *      in the Software without restriction, including without limitation the rights
+ *      to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *      copies of the Software, and to permit persons to whom the Software is
+ *      furnished to do so, subject to the following conditions:
+ *
+ *      The above copyright notice and this permission notice shall be included in
+ *      all copies or substantial portions of the Software.
+ *
+ *      THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *      IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *      FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *      AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *      LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *      OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *      THE SOFTWARE.
+ */
+package com.github.jonathanxd.interoute.spring.test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.jonathanxd.interoute.Interoute;
+import com.github.jonathanxd.interoute.exception.RouterCreationException;
+import com.github.jonathanxd.interoute.exception.RoutingException;
+import com.github.jonathanxd.interoute.spring.route.RouteRequestResponse;
+import com.github.jonathanxd.iutils.object.result.Result;
+import com.github.jonathanxd.kores.bytecode.classloader.CodeClassLoader;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.ExecutionException;
+
+import reactor.core.publisher.Mono;
+
+public class WebClientTest {
+
+    private WebClientFetch webClientFetch;
+
+    @Before
+    public void createRouter() {
+        Result<? extends WebClientFetch, RouterCreationException> router =
+                Interoute.createRouter(WebClientFetch.class, new CodeClassLoader());
+
+        this.webClientFetch = this.expectRouter(router);
+    }
+
+    @Test
+    public void userDetailsTest() throws ExecutionException, InterruptedException {
+        SpringWebClientBackendConfigurer.setup("http://test:80/", WebClient.builder()
+                .exchangeFunction(request -> {
+                    Assert.assertEquals(HttpMethod.GET, request.method());
+                    Assert.assertEquals("/user/test", request.url().getPath());
+                    return this.jsonResponse(new User("test", "test@domain.com"), HttpStatus.OK);
+                })
+                .build());
+
+        Result<User, RoutingException> result = this.webClientFetch.userDetails("test").execute().get();
+        User user = this.expectResult(result);
+
+        Assert.assertEquals("test", user.getName());
+        Assert.assertEquals("test@domain.com", user.getEmail());
+    }
+
+    @Test
+    public void registerExistingUserTest() throws ExecutionException, InterruptedException {
+        SpringWebClientBackendConfigurer.setup("http://test:80/", WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.CONFLICT).build()))
+                .build());
+
+        Result<HttpStatus, RoutingException> result =
+                this.webClientFetch.registerUser(new User("test", "test@domain.com"))
+                        .execute()
+                        .get()
+                        .flatMap(RouteRequestResponse::getStatusAsResult);
+
+        Assert.assertEquals(HttpStatus.CONFLICT, this.expectResult(result));
+    }
+
+    private <R> R expectRouter(Result<? extends R, RouterCreationException> result) {
+        if (result.isError()) {
+            throw new RuntimeException(result.errorOrNull());
+        } else {
+            return ((Result.Ok<? extends R, RouterCreationException>) result).success();
+        }
+    }
+
+    private <R, E extends RoutingException> R expectResult(Result<R, E> result) {
+        if (result.isError()) {
+            throw new RuntimeException(result.errorOrGet(() -> null));
+        } else {
+            return ((Result.Ok<R, E>) result).success();
+        }
+    }
+
+    private Mono<ClientResponse> jsonResponse(Object body, HttpStatus status) {
+        try {
+            return Mono.just(ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(new ObjectMapper().writeValueAsString(body))
+                    .build());
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+}
@@ -32,12 +32,21 @@ import com.github.jonathanxd.interoute.annotation.RouteTo;
 import com.github.jonathanxd.interoute.annotation.RouterInterface;
 import com.github.jonathanxd.interoute.route.Route;
 import com.github.jonathanxd.interoute.spring.SpringRestBackend;
+import com.github.jonathanxd.interoute.spring.annotation.Batch;
 import com.github.jonathanxd.interoute.spring.annotation.Body;
 import com.github.jonathanxd.interoute.spring.annotation.Get;
 import com.github.jonathanxd.interoute.spring.annotation.Headers;
+import com.github.jonathanxd.interoute.spring.annotation.Hedge;
 import com.github.jonathanxd.interoute.spring.annotation.Post;
+import com.github.jonathanxd.interoute.spring.annotation.Target;
+import com.github.jonathanxd.interoute.spring.annotation.Timeout;
 import com.github.jonathanxd.interoute.spring.route.SpringRoute;
 
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
 @RouterInterface(SpringRestBackend.class)
 @BackendConfigurer(SpringRestBackendConfigurer.class)
 @Headers(AuthHeaders.class)
@@ -58,4 +67,35 @@ public interface WebFetch {
     @RouteTo("/user")
     @Post
     SpringRoute<Void> registerUser(@Body User user);
+
+    @RouteTo("/users")
+    @Get
+    Route<Stream<User>> users();
+
+    @RouteTo("/hello")
+    @Get
+    Route<Path> download(@Target Path target);
+
+    @RouteTo("/upload")
+    @Post
+    SpringRoute<Void> upload(@Body InputStream data);
+
+    @RouteTo("/user/{0 name}")
+    @Get
+    @Batch(value = "usersByName", key = "name", window = 50)
+    Route<User> batchedUserDetails(String name);
+
+    @RouteTo("/users/batch")
+    @Post
+    Route<List<User>> usersByName(@Body List<String> names);
+
+    @RouteTo("/user/{0 name}/hedged")
+    @Get
+    @Hedge(delay = 50, budget = 100)
+    Route<User> hedgedUserDetails(String name);
+
+    @RouteTo("/user/{0 name}/slow")
+    @Get
+    @Timeout(100)
+    Route<User> slowUserDetails(String name);
 }